@@ -0,0 +1,278 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.CourseTable;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Participant totals read from the participant sums kept by the analyzer
+ * against the former seed-then-add loops over boxed {@link HashMap} values
+ * and concatenated keys, the scaling of the first aggregation query, which
+ * computes those sums, over 1 to 8 threads, the same queries answered from
+ * the result cache, and appending
+ * {@code resources/local.csv} to a generated dataset of a million rows
+ * against loading that dataset, which shows whether extending the instructor
+ * index re-sorts its 125,000 titles. Run with the GC profiler to compare
+ * allocation rates, from the Assignment1 directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AggregationBenchmark {
+    @Param({"1000"})
+    private int scale;
+
+    private static final long SEED = 209;
+
+    private OnlineCoursesAnalyzer analyzer;
+    private OnlineCoursesAnalyzer cached;
+    private CourseTable table;
+
+    /**
+     * Loads the scaled dataset.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Path dataset = Datasets.scaledLocalCsv(scale);
+        try {
+            analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+            table = analyzer.getTable();
+            cached = new OnlineCoursesAnalyzer(dataset.toString());
+            cached.setCacheCapacity(1_000_000);
+        } finally {
+            Files.deleteIfExists(dataset);
+        }
+    }
+
+    /**
+     * A generated dataset of a million rows.
+     */
+    @State(Scope.Benchmark)
+    public static class Generated {
+        private Path dataset;
+
+        /**
+         * Writes the dataset unless it is already there.
+         *
+         * @throws IOException the io exception
+         */
+        @Setup
+        public void setUp() throws IOException {
+            dataset = Datasets.syntheticCsv(1_000_000, SEED);
+        }
+    }
+
+    /**
+     * An analyzer of the generated dataset, loaded again before every call.
+     */
+    @State(Scope.Thread)
+    public static class Loaded {
+        private OnlineCoursesAnalyzer analyzer;
+
+        /**
+         * Loads the dataset.
+         *
+         * @param generated the generated dataset
+         */
+        @Setup(Level.Invocation)
+        public void load(Generated generated) {
+            analyzer = new OnlineCoursesAnalyzer(generated.dataset.toString());
+        }
+
+        /**
+         * Drops the analyzer.
+         */
+        @TearDown(Level.Invocation)
+        public void unload() {
+            analyzer = null;
+        }
+    }
+
+    /**
+     * Participants by institution, from the participant sums.
+     *
+     * @return the totals
+     */
+    @Benchmark
+    public Map<String, Integer> byInst() {
+        return analyzer.getPtcpCountByInst();
+    }
+
+    /**
+     * Participants by institution and subject, from the participant sums.
+     *
+     * @return the totals
+     */
+    @Benchmark
+    public Map<String, Integer> byInstAndSubject() {
+        return analyzer.getPtcpCountByInstAndSubject();
+    }
+
+    /**
+     * The first participants by institution of a loaded analyzer, which sums
+     * the participants by institution and subject on {@code pool.parallelism}
+     * threads.
+     *
+     * @param pool   the pool
+     * @param loaded the loaded analyzer
+     * @return the totals
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, Integer> parallelByInst(PoolState pool, Loaded loaded) {
+        loaded.analyzer.setExecutionPool(pool.pool);
+        return loaded.analyzer.getPtcpCountByInst();
+    }
+
+    /**
+     * Course lists of every instructor, read from the instructor index.
+     *
+     * @return the course lists
+     */
+    @Benchmark
+    public Map<String, List<List<String>>> courseListOfInstructor() {
+        return analyzer.getCourseListOfInstructor();
+    }
+
+    /**
+     * Course lists of one instructor, read from the instructor index.
+     *
+     * @return the course lists
+     */
+    @Benchmark
+    public List<List<String>> courseListOfOneInstructor() {
+        return analyzer.getCourseListOfInstructor("Anant Agarwal");
+    }
+
+    /**
+     * Participants by institution from the result cache.
+     *
+     * @return the totals
+     */
+    @Benchmark
+    public Map<String, Integer> cachedByInst() {
+        return cached.getPtcpCountByInst();
+    }
+
+    /**
+     * Course lists of every instructor from the result cache.
+     *
+     * @return the course lists
+     */
+    @Benchmark
+    public Map<String, List<List<String>>> cachedCourseListOfInstructor() {
+        return cached.getCourseListOfInstructor();
+    }
+
+    /**
+     * Appends the 288 rows of {@code resources/local.csv} to a loaded
+     * analyzer, extending its subject and instructor indexes.
+     *
+     * @param loaded the loaded analyzer
+     * @return the number of courses added
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int appendCourses(Loaded loaded) throws IOException {
+        return loaded.analyzer.addCourses("resources/local.csv");
+    }
+
+    /**
+     * Loads the generated dataset, building its subject and instructor
+     * indexes: the cost an append would have if it rebuilt them.
+     *
+     * @param generated the generated dataset
+     * @return the analyzer
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public OnlineCoursesAnalyzer loadCourses(Generated generated) {
+        return new OnlineCoursesAnalyzer(generated.dataset.toString());
+    }
+
+    /**
+     * The former two-pass loop by institution.
+     *
+     * @return the totals
+     */
+    @Benchmark
+    public Map<String, Integer> legacyByInst() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            counts.put(table.getText(TextColumn.INSTITUTION, row), 0);
+        }
+        for (int row = 0; row < table.size(); row++) {
+            String key = table.getText(TextColumn.INSTITUTION, row);
+            counts.put(key, counts.get(key) + table.getInt(IntColumn.PARTICIPANTS, row));
+        }
+        return counts;
+    }
+
+    /**
+     * The former two-pass loop by institution and subject.
+     *
+     * @return the totals
+     */
+    @Benchmark
+    public Map<String, Integer> legacyByInstAndSubject() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            counts.put(table.getText(TextColumn.INSTITUTION, row) + '-' + table.getText(TextColumn.SUBJECT, row), 0);
+        }
+        for (int row = 0; row < table.size(); row++) {
+            String institution = table.getText(TextColumn.INSTITUTION, row);
+            String subject = table.getText(TextColumn.SUBJECT, row);
+            counts.put(institution + '-' + subject,
+                    counts.get(institution + '-' + subject) + table.getInt(IntColumn.PARTICIPANTS, row));
+        }
+        return counts;
+    }
+
+    /**
+     * Runs this benchmark with the GC profiler.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AggregationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
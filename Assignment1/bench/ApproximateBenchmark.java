@@ -0,0 +1,159 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.ApproximateCourseReport;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same report, exact and approximate, from a generated dataset of 1 or
+ * 10 million rows: distinct titles and instructors, the top institutions by
+ * participants and instructors by courses, and the quartiles of
+ * {@code totalHours}, {@code medianAge} and {@code percentAudited}. The
+ * exact report loads the analyzer and keeps a set of every title and
+ * instructor and every value of the three columns; the approximate one
+ * streams the file into {@link ApproximateCourseReport}. {@link #main} adds
+ * the GC profiler, whose allocation per operation is the memory to compare.
+ * Run from the Assignment1 directory.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class ApproximateBenchmark {
+    private static final long SEED = 209;
+    private static final int TOP = 10;
+    private static final double[] QUANTILES = {0.25, 0.5, 0.75};
+    private static final DoubleColumn[] QUANTILE_COLUMNS = {
+            DoubleColumn.TOTAL_HOURS, DoubleColumn.MEDIAN_AGE, DoubleColumn.PERCENT_AUDITED
+    };
+
+    /**
+     * A generated dataset.
+     */
+    @State(Scope.Benchmark)
+    public static class Dataset {
+        @Param({"1000000", "10000000"})
+        private int rows;
+
+        private Path path;
+
+        /**
+         * Writes the dataset unless it is already there.
+         *
+         * @throws IOException the io exception
+         */
+        @Setup
+        public void setUp() throws IOException {
+            path = Datasets.syntheticCsv(rows, SEED);
+        }
+    }
+
+    /**
+     * The exact report.
+     *
+     * @param dataset the dataset
+     * @param bh      the blackhole
+     */
+    @Benchmark
+    public void exact(Dataset dataset, Blackhole bh) {
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(dataset.path.toString());
+        CourseTable table = analyzer.getTable();
+        Set<String> titles = new HashSet<>();
+        Set<String> instructors = new HashSet<>();
+        Map<String, Long> instructorCourses = new HashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            titles.add(table.getText(TextColumn.TITLE, row));
+            for (String instructor : table.getText(TextColumn.INSTRUCTORS, row).split(", ")) {
+                instructors.add(instructor);
+                instructorCourses.merge(instructor, 1L, Long::sum);
+            }
+        }
+        bh.consume(titles.size());
+        bh.consume(instructors.size());
+        bh.consume(top(analyzer.getPtcpCountByInst()));
+        bh.consume(top(instructorCourses));
+        for (DoubleColumn column : QUANTILE_COLUMNS) {
+            double[] values = new double[table.size()];
+            for (int row = 0; row < values.length; row++) {
+                values[row] = table.getDouble(column, row);
+            }
+            Arrays.sort(values);
+            for (double q : QUANTILES) {
+                bh.consume(values[(int) Math.min(values.length - 1, q * values.length)]);
+            }
+        }
+    }
+
+    /**
+     * The approximate report.
+     *
+     * @param dataset the dataset
+     * @param bh      the blackhole
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    public void approximate(Dataset dataset, Blackhole bh) throws IOException {
+        ApproximateCourseReport report = ApproximateCourseReport.read(dataset.path.toString());
+        bh.consume(report.getDistinctTitles());
+        bh.consume(report.getDistinctInstructors());
+        bh.consume(report.getTopInstitutions(TOP));
+        bh.consume(report.getTopInstructors(TOP));
+        for (DoubleColumn column : QUANTILE_COLUMNS) {
+            for (double q : QUANTILES) {
+                bh.consume(report.getQuantile(column, q));
+            }
+        }
+    }
+
+    private static <V extends Comparable<V>> Object[] top(Map<String, V> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, V>comparingByValue().reversed())
+                .limit(TOP)
+                .toArray();
+    }
+
+    /**
+     * Runs this benchmark with the GC profiler and writes the results as
+     * JSON, to {@code ApproximateBenchmark.json} or the given path.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ApproximateBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 0 ? args[0] : ApproximateBenchmark.class.getSimpleName() + ".json")
+                .build()).run();
+    }
+}
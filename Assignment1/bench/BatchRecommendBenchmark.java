@@ -0,0 +1,107 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.OnlineCoursesAnalyzer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to recommend courses to 10k and 100k profiles with
+ * {@code recommendCoursesBatch}, on the calling thread and on pools, against
+ * one {@code recommendCourses} call per profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class BatchRecommendBenchmark {
+    @Param({"10000", "100000"})
+    private int profiles;
+
+    private OnlineCoursesAnalyzer analyzer;
+    private int[] ages;
+    private int[] genders;
+    private int[] degrees;
+
+    /**
+     * Loads the courses and generates the profiles.
+     */
+    @Setup
+    public void setUp() {
+        analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+        Random random = new Random(1);
+        ages = new int[profiles];
+        genders = new int[profiles];
+        degrees = new int[profiles];
+        for (int i = 0; i < profiles; i++) {
+            ages[i] = 15 + random.nextInt(60);
+            genders[i] = random.nextInt(2);
+            degrees[i] = random.nextInt(2);
+        }
+    }
+
+    /**
+     * The batch on the calling thread.
+     *
+     * @return the recommendations
+     */
+    @Benchmark
+    public List<List<String>> batch() {
+        analyzer.setExecutionPool(null);
+        return analyzer.recommendCoursesBatch(ages, genders, degrees);
+    }
+
+    /**
+     * The batch split across {@code pool.parallelism} workers.
+     *
+     * @param pool the pool
+     * @return the recommendations
+     */
+    @Benchmark
+    public List<List<String>> batchParallel(PoolState pool) {
+        analyzer.setExecutionPool(pool.pool);
+        return analyzer.recommendCoursesBatch(ages, genders, degrees);
+    }
+
+    /**
+     * One call per profile.
+     *
+     * @return the recommendations
+     */
+    @Benchmark
+    public List<List<String>> singleCalls() {
+        List<List<String>> result = new ArrayList<>(profiles);
+        for (int i = 0; i < profiles; i++) {
+            result.add(analyzer.recommendCourses(ages[i], genders[i], degrees[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BatchRecommendBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the six queries on one analyzer shared by every benchmark
+ * thread, with the result cache on or off. Run with {@code -t} to vary the
+ * number of threads; it defaults to the number of processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ConcurrentReadBenchmark {
+    @Param({"100"})
+    private int scale;
+
+    @Param({"0", "1000000"})
+    private long cacheCapacity;
+
+    private OnlineCoursesAnalyzer analyzer;
+
+    /**
+     * Loads the scaled dataset.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Path dataset = Datasets.scaledLocalCsv(scale);
+        try {
+            analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        } finally {
+            Files.deleteIfExists(dataset);
+        }
+        analyzer.setCacheCapacity(cacheCapacity);
+    }
+
+    /**
+     * Q1-Q6 once each.
+     *
+     * @param bh the bh
+     */
+    @Benchmark
+    public void allQueries(Blackhole bh) {
+        bh.consume(analyzer.getPtcpCountByInst());
+        bh.consume(analyzer.getPtcpCountByInstAndSubject());
+        bh.consume(analyzer.getCourseListOfInstructor());
+        bh.consume(analyzer.getCourses(10, "hours"));
+        bh.consume(analyzer.searchCourses("computer", 20.0, 700));
+        bh.consume(analyzer.recommendCourses(25, 1, 1));
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConcurrentReadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
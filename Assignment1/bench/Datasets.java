@@ -0,0 +1,206 @@
+package bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Datasets for the benchmarks. Paths are relative to the Assignment1 directory.
+ */
+final class Datasets {
+    private static final String[] INSTITUTIONS = {
+            "MITx", "HarvardX", "BerkeleyX", "DelftX", "UBCx", "ColumbiaX", "GeorgetownX", "MichiganX",
+            "UTAustinX", "EPFLx", "KyotoUx", "TsinghuaX", "IIMBx", "AdelaideX", "WellesleyX", "CaltechX",
+            "RiceX", "UQx", "ANUx", "HKUSTx", "CornellX", "PennX", "ETHx", "KULeuvenX"
+    };
+    private static final String[] SUBJECTS = {
+            "Computer Science",
+            "Science, Technology, Engineering, and Mathematics",
+            "Humanities, History, Design, Religion, and Education",
+            "Government, Health, and Social Science",
+            "Business and Management",
+            "Data Analysis and Statistics",
+            "Language and Literature",
+            "Art and Music"
+    };
+    private static final String[] TITLE_PREFIXES = {
+            "Introduction to", "Principles of", "Foundations of", "Advanced", "Applied", "Topics in",
+            "The Science of", "Fundamentals of", "Case Studies in", "Modern"
+    };
+    private static final String[] TITLE_TOPICS = {
+            "Computer Science", "Programming", "Circuits and Electronics", "Biology", "Genomics", "Chemistry",
+            "Statistics", "Machine Learning", "Economics", "Public Health", "Ancient Greek Heroes", "Justice",
+            "Poetry", "Global History", "Data Science", "Linear Algebra", "Probability", "Architecture",
+            "Entrepreneurship", "Climate Change", "Neuroscience", "Music Theory", "Philosophy", "Supply Chains"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Anant", "Eric", "John", "Chris", "Gregory", "Michael", "David", "Sarah", "Maria", "Wei", "Priya",
+            "Ahmed", "Elena", "James", "Laura", "Kenji", "Fatima", "Daniel", "Olga", "Samuel", "Grace", "Ravi",
+            "Julia", "Thomas", "Amina", "Lucas", "Hannah", "Diego", "Mei", "Peter"
+    };
+    private static final String[] LAST_NAMES = {
+            "Agarwal", "Grimson", "Guttag", "Terman", "Nagy", "Sandel", "Malan", "Lander", "Chen", "Garcia",
+            "Smith", "Kumar", "Nguyen", "Okafor", "Rossi", "Tanaka", "Ivanova", "Cohen", "Silva", "Haddad",
+            "Muller", "Kowalski", "Andersson", "Dubois", "Park", "Singh", "Lopez", "Brown", "Wang", "Novak",
+            "Fischer", "Moreau", "Yamamoto", "Costa", "Petrov", "Reyes", "Walsh", "Berg", "Ali", "Khan"
+    };
+    private static final DateTimeFormatter LAUNCH_DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy", Locale.ROOT);
+
+    private Datasets() {
+    }
+
+    /**
+     * Writes {@code resources/local.csv} with its rows repeated {@code scale} times
+     * to a temporary file.
+     *
+     * @param scale the scale
+     * @return the path of the temporary file
+     * @throws IOException the io exception
+     */
+    static Path scaledLocalCsv(int scale) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get("resources", "local.csv"), StandardCharsets.UTF_8);
+        Path dataset = Files.createTempFile("courses-x" + scale, ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(dataset, StandardCharsets.UTF_8)) {
+            writer.write(lines.get(0));
+            writer.newLine();
+            for (int i = 0; i < scale; i++) {
+                for (String line : lines.subList(1, lines.size())) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+        return dataset;
+    }
+
+    /**
+     * Gets a generated course CSV of {@code rows} rows with the header of
+     * {@code resources/local.csv}. There are 24 institutions and 8 subjects
+     * drawn with a skew towards the first ones, one course per 8 rows that
+     * is rerun with the same number, title and instructors, and one
+     * instructor per 4 courses, teaching alone on 60% of the courses and in
+     * teams of two to four otherwise. The numeric columns are drawn around
+     * the ranges of the real data. The same arguments give the same file,
+     * which is kept in the temporary directory and reused, since writing
+     * ten million rows takes longer than most benchmarks.
+     *
+     * @param rows the rows
+     * @param seed the seed
+     * @return the path of the file
+     * @throws IOException the io exception
+     */
+    static Path syntheticCsv(int rows, long seed) throws IOException {
+        Path dataset = Paths.get(System.getProperty("java.io.tmpdir"), "courses-synthetic-" + rows + "-" + seed + ".csv");
+        if (Files.isRegularFile(dataset)) {
+            return dataset;
+        }
+        String header = Files.readAllLines(Paths.get("resources", "local.csv"), StandardCharsets.UTF_8).get(0);
+        Random random = new Random(seed);
+        int courses = Math.max(1, rows / 8);
+        int instructors = Math.max(8, courses / 4);
+        String[][] courseColumns = new String[courses][];
+        for (int course = 0; course < courses; course++) {
+            courseColumns[course] = courseColumns(course, instructors, random);
+        }
+        Path partial = Files.createTempFile("courses-synthetic-" + rows, ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            writer.write(header);
+            writer.newLine();
+            StringBuilder line = new StringBuilder(256);
+            for (int row = 0; row < rows; row++) {
+                line.setLength(0);
+                writeRow(line, courseColumns[random.nextInt(courses)], random);
+                writer.append(line);
+                writer.newLine();
+            }
+        }
+        Files.move(partial, dataset, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return dataset;
+    }
+
+    /**
+     * Gets the columns of a course as they are written before and after its
+     * launch date: the institution and number, then the title, instructors
+     * and subject.
+     */
+    private static String[] courseColumns(int course, int instructors, Random random) {
+        String institution = INSTITUTIONS[skewed(random, INSTITUTIONS.length)];
+        String subject = SUBJECTS[skewed(random, SUBJECTS.length)];
+        String title = TITLE_PREFIXES[random.nextInt(TITLE_PREFIXES.length)] + " "
+                + TITLE_TOPICS[random.nextInt(TITLE_TOPICS.length)] + " " + (course + 1);
+        double teamRoll = random.nextDouble();
+        int team = teamRoll < 0.6 ? 1 : teamRoll < 0.85 ? 2 : 3 + random.nextInt(2);
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < team; i++) {
+            if (i > 0) {
+                names.append(", ");
+            }
+            names.append(instructorName(skewed(random, instructors)));
+        }
+        return new String[]{
+                institution + "," + institution.substring(0, 2).toUpperCase(Locale.ROOT) + (course + 1) + "x",
+                title + "," + quoted(names.toString()) + "," + quoted(subject)
+        };
+    }
+
+    private static void writeRow(StringBuilder line, String[] courseColumns, Random random) {
+        LocalDate launch = LocalDate.of(2012, 7, 1).plusDays(random.nextInt(8 * 365));
+        int participants = (int) Math.min(300_000, Math.exp(5 + random.nextDouble() * 7));
+        double percentAudited = round(random.nextDouble() * 40);
+        int audited = (int) (participants * percentAudited / 100);
+        double percentCertified = round(random.nextDouble() * percentAudited);
+        int certified = (int) (participants * percentCertified / 100);
+        double percentMale = round(30 + random.nextDouble() * 60);
+        line.append(courseColumns[0])
+                .append(',').append(LAUNCH_DATE.format(launch))
+                .append(',').append(courseColumns[1])
+                .append(',').append(launch.getYear() - 2011)
+                .append(',').append(random.nextInt(2))
+                .append(',').append(participants)
+                .append(',').append(audited)
+                .append(',').append(certified)
+                .append(',').append(percentAudited)
+                .append(',').append(percentCertified)
+                .append(',').append(audited == 0 ? 0.0 : round(100.0 * certified / audited))
+                .append(',').append(round(40 + random.nextDouble() * 55))
+                .append(',').append(round(random.nextDouble() * 20))
+                .append(',').append(round(random.nextDouble() * 60))
+                .append(',').append(round(participants * (0.5 + random.nextDouble() * 40) / 1000))
+                .append(',').append(round(random.nextDouble() * 150))
+                .append(',').append(20 + random.nextInt(26))
+                .append(',').append(percentMale)
+                .append(',').append(round(100 - percentMale))
+                .append(',').append(round(30 + random.nextDouble() * 50));
+    }
+
+    /**
+     * Gets an index below {@code n}, the lower ones more likely, about as
+     * often as {@code 1 / (index + 1)}.
+     */
+    private static int skewed(Random random, int n) {
+        return Math.min(n - 1, (int) Math.floor(Math.exp(random.nextDouble() * Math.log(n + 1)) - 1));
+    }
+
+    private static String instructorName(int id) {
+        String name = FIRST_NAMES[id % FIRST_NAMES.length] + " " + LAST_NAMES[id / FIRST_NAMES.length % LAST_NAMES.length];
+        int generation = id / (FIRST_NAMES.length * LAST_NAMES.length);
+        return generation == 0 ? name : name + " " + (generation + 1);
+    }
+
+    private static String quoted(String value) {
+        return value.indexOf(',') < 0 ? value : "\"" + value + "\"";
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,137 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.CourseFilter;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+import src.RowBitmap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A selective and a broad {@link CourseFilter} evaluated into row bitmaps
+ * against testing the same predicates on every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FilterBenchmark {
+    @Param({"1000"})
+    private int scale;
+
+    private OnlineCoursesAnalyzer analyzer;
+    private CourseTable table;
+    private CourseFilter selective;
+    private CourseFilter broad;
+    private int harvard;
+
+    /**
+     * Loads the scaled dataset and builds the indexes the filters use.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Path dataset = Datasets.scaledLocalCsv(scale);
+        try {
+            analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        } finally {
+            Files.deleteIfExists(dataset);
+        }
+        table = analyzer.getTable();
+        harvard = table.dictionary(TextColumn.INSTITUTION).find("HarvardX");
+        selective = CourseFilter.subjectContains("computer").and(CourseFilter.year(2016, 2016))
+                .and(CourseFilter.atLeast("percentAudited", 20.0));
+        broad = CourseFilter.institution("HarvardX").or(CourseFilter.honorCode(1))
+                .and(CourseFilter.atMost("hours", 400));
+        analyzer.filter(selective);
+        analyzer.filter(broad);
+    }
+
+    /**
+     * The selective filter on the indexes.
+     *
+     * @return the rows
+     */
+    @Benchmark
+    public RowBitmap selectiveFilter() {
+        return analyzer.filter(selective);
+    }
+
+    /**
+     * The selective predicates on every row.
+     *
+     * @return the number of matching rows
+     */
+    @Benchmark
+    public int selectiveScan() {
+        int count = 0;
+        for (int row = 0; row < table.size(); row++) {
+            if (table.getText(TextColumn.SUBJECT, row).toLowerCase().contains("computer")
+                    && table.getInt(IntColumn.YEAR, row) == 2016
+                    && table.getDouble(DoubleColumn.PERCENT_AUDITED, row) >= 20.0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The broad filter on the indexes.
+     *
+     * @return the rows
+     */
+    @Benchmark
+    public RowBitmap broadFilter() {
+        return analyzer.filter(broad);
+    }
+
+    /**
+     * The broad predicates on every row.
+     *
+     * @return the number of matching rows
+     */
+    @Benchmark
+    public int broadScan() {
+        int count = 0;
+        for (int row = 0; row < table.size(); row++) {
+            if ((table.getId(TextColumn.INSTITUTION, row) == harvard || table.getInt(IntColumn.HONOR_CODE, row) == 1)
+                    && table.getDouble(DoubleColumn.TOTAL_HOURS, row) <= 400) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
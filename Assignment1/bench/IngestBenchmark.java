@@ -0,0 +1,128 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adding a day of courses, {@code resources/local.csv}, to an analyzer of
+ * {@code resources/local.csv} repeated {@code scale} times whose indexes are
+ * built, against loading the concatenated file again. Both then answer Q4-Q6,
+ * so the append pays for extending the indexes and the reload for building
+ * them. Run from the Assignment1 directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class IngestBenchmark {
+    @Param({"1000"})
+    private int scale;
+
+    private Path base;
+    private Path delta;
+    private Path full;
+    private OnlineCoursesAnalyzer analyzer;
+
+    /**
+     * Writes the base, delta and concatenated datasets.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        base = Datasets.scaledLocalCsv(scale);
+        delta = Paths.get("resources", "local.csv");
+        full = Datasets.scaledLocalCsv(scale);
+        List<String> lines = Files.readAllLines(delta);
+        Files.write(full, lines.subList(1, lines.size()), StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Loads the base dataset and builds its indexes.
+     */
+    @Setup(Level.Invocation)
+    public void loadBase() {
+        analyzer = new OnlineCoursesAnalyzer(base.toString());
+        query(analyzer, null);
+    }
+
+    /**
+     * Removes the datasets.
+     *
+     * @throws IOException the io exception
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(base);
+        Files.deleteIfExists(full);
+    }
+
+    /**
+     * Appends the delta and queries.
+     *
+     * @param bh the bh
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    public void append(Blackhole bh) throws IOException {
+        analyzer.addCourses(delta.toString());
+        query(analyzer, bh);
+    }
+
+    /**
+     * Loads the concatenated file and queries.
+     *
+     * @param bh the bh
+     */
+    @Benchmark
+    public void reload(Blackhole bh) {
+        query(new OnlineCoursesAnalyzer(full.toString()), bh);
+    }
+
+    private static void query(OnlineCoursesAnalyzer analyzer, Blackhole bh) {
+        List<String> hours = analyzer.getCourses(10, "hours");
+        List<String> search = analyzer.searchCourses("computer", 20.0, 700);
+        List<String> recommended = analyzer.recommendCourses(25, 1, 1);
+        if (bh != null) {
+            bh.consume(hours);
+            bh.consume(search);
+            bh.consume(recommended);
+        }
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IngestBenchmark.class.getSimpleName()).build()).run();
+    }
+}
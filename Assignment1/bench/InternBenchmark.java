@@ -0,0 +1,153 @@
+package bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Parsing a generated dataset of 1 or 5 million rows into course rows, with
+ * the text fields interned as the loaders parse them and with every text
+ * field copied into a new string as they were parsed before. {@link #parse}
+ * keeps the rows; {@link #main} adds the GC profiler, whose allocation per
+ * operation is the garbage of the parse. {@link #retained} reports the heap
+ * the kept rows still hold after a full collection as the
+ * {@code retainedMegabytes} counter. The parser is package-private, so it is
+ * reached reflectively once per trial. Run from the Assignment1 directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class InternBenchmark {
+    private static final long SEED = 209;
+
+    @Param({"1000000", "5000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean intern;
+
+    private Path dataset;
+    private Constructor<?> parser;
+    private Method parse;
+
+    /**
+     * The heap held by the rows of one parse.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        /**
+         * The retained megabytes.
+         */
+        public long retainedMegabytes;
+
+        /**
+         * Clears the counter.
+         */
+        @Setup(Level.Iteration)
+        public void clear() {
+            retainedMegabytes = 0;
+        }
+    }
+
+    /**
+     * Writes the dataset unless it is already there and looks up the parser.
+     *
+     * @throws IOException                  the io exception
+     * @throws ReflectiveOperationException the reflective operation exception
+     */
+    @Setup
+    public void setUp() throws IOException, ReflectiveOperationException {
+        dataset = Datasets.syntheticCsv(rows, SEED);
+        Class<?> type = Class.forName("src.CourseCsvParser");
+        parser = type.getDeclaredConstructor(Reader.class, boolean.class);
+        parser.setAccessible(true);
+        parse = type.getDeclaredMethod("parse", Consumer.class);
+        parse.setAccessible(true);
+    }
+
+    /**
+     * Parses the dataset into rows.
+     *
+     * @return the rows
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public List<Object> parse() throws Exception {
+        List<Object> courses = new ArrayList<>(rows);
+        try (Reader reader = new FileReader(dataset.toString(), StandardCharsets.UTF_8)) {
+            Consumer<Object> add = courses::add;
+            parse.invoke(parser.newInstance(reader, intern), add);
+        }
+        return courses;
+    }
+
+    /**
+     * Parses the dataset into rows and measures the heap they hold. The time
+     * includes two full collections and is not comparable with {@link #parse}.
+     *
+     * @param footprint the footprint
+     * @return the rows
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public List<Object> retained(Footprint footprint) throws Exception {
+        long before = usedAfterGc();
+        List<Object> courses = parse();
+        footprint.retainedMegabytes = (usedAfterGc() - before) >> 20;
+        return courses;
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Runs this benchmark with the GC profiler and writes the results as
+     * JSON, to {@code InternBenchmark.json} or the given path.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InternBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 0 ? args[0] : InternBenchmark.class.getSimpleName() + ".json")
+                .build()).run();
+    }
+}
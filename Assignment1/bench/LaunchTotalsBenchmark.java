@@ -0,0 +1,132 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.CourseTable;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.LaunchTotals;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The launch rollups on a generated dataset of a million rows, read from the
+ * cells of the rollup cube, against the month series of one institution
+ * summed over every row. The cube is built during setup and the result
+ * cache is off, so every call reads the cells. Run from the Assignment1
+ * directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class LaunchTotalsBenchmark {
+    private static final long SEED = 209;
+    private static final String INSTITUTION = "HarvardX";
+
+    @Param({"1000000"})
+    private int rows;
+
+    private OnlineCoursesAnalyzer analyzer;
+    private CourseTable table;
+
+    /**
+     * Loads the dataset and builds the rollup cube.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        analyzer = new OnlineCoursesAnalyzer(Datasets.syntheticCsv(rows, SEED).toString());
+        table = analyzer.getTable();
+        analyzer.getLaunchTotalsByMonth(null, null);
+    }
+
+    /**
+     * The month series of one institution.
+     *
+     * @return the totals
+     */
+    @Benchmark
+    public Map<YearMonth, LaunchTotals> byMonthOfInstitution() {
+        return analyzer.getLaunchTotalsByMonth(INSTITUTION, null);
+    }
+
+    /**
+     * The year series of one institution and subject.
+     *
+     * @return the totals
+     */
+    @Benchmark
+    public Map<Integer, LaunchTotals> byYearOfInstitutionAndSubject() {
+        return analyzer.getLaunchTotalsByYear(INSTITUTION, "Computer Science");
+    }
+
+    /**
+     * Every subject over two years of launches.
+     *
+     * @return the totals
+     */
+    @Benchmark
+    public Map<String, LaunchTotals> bySubject() {
+        return analyzer.getLaunchTotalsBy(TextColumn.SUBJECT, YearMonth.of(2014, 1), YearMonth.of(2015, 12));
+    }
+
+    /**
+     * The month series of one institution, summed over every row.
+     *
+     * @return the totals
+     */
+    @Benchmark
+    public Map<YearMonth, LaunchTotals> scanByMonthOfInstitution() {
+        Map<YearMonth, long[]> sums = new TreeMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            if (INSTITUTION.equals(table.getText(TextColumn.INSTITUTION, row))) {
+                long[] s = sums.computeIfAbsent(
+                        YearMonth.from(LocalDate.ofEpochDay(table.getInt(IntColumn.LAUNCH_DAY, row))),
+                        key -> new long[4]);
+                s[0]++;
+                s[1] += table.getInt(IntColumn.PARTICIPANTS, row);
+                s[2] += table.getInt(IntColumn.AUDITED, row);
+                s[3] += table.getInt(IntColumn.CERTIFIED, row);
+            }
+        }
+        Map<YearMonth, LaunchTotals> totals = new TreeMap<>();
+        sums.forEach((month, s) -> totals.put(month, new LaunchTotals(s[0], s[1], s[2], s[3])));
+        return totals;
+    }
+
+    /**
+     * Runs this benchmark with the GC profiler.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LaunchTotalsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loader throughput of {@link OnlineCoursesAnalyzer#OnlineCoursesAnalyzer(String)}
+ * and of the parallel memory-mapped loader against the regex split they
+ * replaced, on {@code resources/local.csv} repeated {@code scale} times.
+ * Run from the Assignment1 directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoaderBenchmark {
+    @Param({"1000"})
+    private int scale;
+
+    private Path dataset;
+
+    /**
+     * Writes the scaled dataset.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        dataset = Datasets.scaledLocalCsv(scale);
+    }
+
+    /**
+     * Removes the scaled dataset.
+     *
+     * @throws IOException the io exception
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dataset);
+    }
+
+    /**
+     * The single-pass tokenizer behind the analyzer constructor.
+     *
+     * @return the analyzer
+     */
+    @Benchmark
+    public OnlineCoursesAnalyzer tokenizer() {
+        return new OnlineCoursesAnalyzer(dataset.toString());
+    }
+
+    /**
+     * The memory-mapped loader parsing chunks on {@code pool.parallelism} threads.
+     *
+     * @param pool the pool
+     * @return the analyzer
+     */
+    @Benchmark
+    public OnlineCoursesAnalyzer mappedParallel(PoolState pool) {
+        return new OnlineCoursesAnalyzer(dataset.toString(), pool.pool);
+    }
+
+    /**
+     * The former per-line regex split with the same column conversions.
+     *
+     * @param bh the bh
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public void regexSplit(Blackhole bh) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(dataset.toString(), StandardCharsets.UTF_8))) {
+            br.readLine();
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] info = line.split(",(?=([^\\\"]*\\\"[^\\\"]*\\\")*[^\\\"]*$)", -1);
+                bh.consume(new Date(info[2]));
+                for (int i = 6; i <= 10; i++) {
+                    bh.consume(Integer.parseInt(info[i]));
+                }
+                for (int i = 11; i <= 22; i++) {
+                    bh.consume(Double.parseDouble(info[i]));
+                }
+                bh.consume(info);
+            }
+        }
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoaderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
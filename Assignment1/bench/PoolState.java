@@ -0,0 +1,39 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A fork-join pool of 1, 2, 4 or 8 threads for scaling benchmarks.
+ */
+@State(Scope.Benchmark)
+public class PoolState {
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    /**
+     * The pool.
+     */
+    ForkJoinPool pool;
+
+    /**
+     * Starts the pool.
+     */
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Stops the pool.
+     */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+}
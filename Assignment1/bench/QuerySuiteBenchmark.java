@@ -0,0 +1,178 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The analyzer constructor and the six queries on generated datasets of
+ * 10 thousand, 1 million and 10 million rows, as throughput and as sampled
+ * latency, the baseline to compare a change against. The result cache is
+ * off. {@link #main} adds the GC profiler for allocation rates and writes
+ * the results as JSON. The datasets are written by
+ * {@link Datasets#syntheticCsv} on first use and kept; the largest is about
+ * 2 GB and needs the heap given to the fork. Run from the Assignment1
+ * directory.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class QuerySuiteBenchmark {
+    private static final long SEED = 209;
+
+    /**
+     * A generated dataset.
+     */
+    @State(Scope.Benchmark)
+    public static class Dataset {
+        @Param({"10000", "1000000", "10000000"})
+        private int rows;
+
+        private Path path;
+
+        /**
+         * Writes the dataset unless it is already there.
+         *
+         * @throws IOException the io exception
+         */
+        @Setup
+        public void setUp() throws IOException {
+            path = Datasets.syntheticCsv(rows, SEED);
+        }
+    }
+
+    /**
+     * An analyzer of the generated dataset.
+     */
+    @State(Scope.Benchmark)
+    public static class Loaded {
+        private OnlineCoursesAnalyzer analyzer;
+
+        /**
+         * Loads the dataset.
+         *
+         * @param dataset the dataset
+         */
+        @Setup
+        public void setUp(Dataset dataset) {
+            analyzer = new OnlineCoursesAnalyzer(dataset.path.toString());
+        }
+    }
+
+    /**
+     * The constructor, parsing the CSV and building the load-time indexes.
+     *
+     * @param dataset the dataset
+     * @return the analyzer
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Measurement(iterations = 5)
+    public OnlineCoursesAnalyzer load(Dataset dataset) {
+        return new OnlineCoursesAnalyzer(dataset.path.toString());
+    }
+
+    /**
+     * Q1.
+     *
+     * @param loaded the loaded
+     * @return the totals
+     */
+    @Benchmark
+    public Map<String, Integer> ptcpCountByInst(Loaded loaded) {
+        return loaded.analyzer.getPtcpCountByInst();
+    }
+
+    /**
+     * Q2.
+     *
+     * @param loaded the loaded
+     * @return the totals
+     */
+    @Benchmark
+    public Map<String, Integer> ptcpCountByInstAndSubject(Loaded loaded) {
+        return loaded.analyzer.getPtcpCountByInstAndSubject();
+    }
+
+    /**
+     * Q3.
+     *
+     * @param loaded the loaded
+     * @return the course lists
+     */
+    @Benchmark
+    public Map<String, List<List<String>>> courseListOfInstructor(Loaded loaded) {
+        return loaded.analyzer.getCourseListOfInstructor();
+    }
+
+    /**
+     * Q4.
+     *
+     * @param loaded the loaded
+     * @return the courses
+     */
+    @Benchmark
+    public List<String> courses(Loaded loaded) {
+        return loaded.analyzer.getCourses(10, "hours");
+    }
+
+    /**
+     * Q5.
+     *
+     * @param loaded the loaded
+     * @return the courses
+     */
+    @Benchmark
+    public List<String> searchCourses(Loaded loaded) {
+        return loaded.analyzer.searchCourses("computer", 20.0, 700);
+    }
+
+    /**
+     * Q6.
+     *
+     * @param loaded the loaded
+     * @return the courses
+     */
+    @Benchmark
+    public List<String> recommendCourses(Loaded loaded) {
+        return loaded.analyzer.recommendCourses(25, 1, 1);
+    }
+
+    /**
+     * Runs this benchmark with the GC profiler and writes the results as
+     * JSON, to {@code QuerySuiteBenchmark.json} or the given path.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QuerySuiteBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 0 ? args[0] : QuerySuiteBenchmark.class.getSimpleName() + ".json")
+                .build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getCourses} latency with a cold sorted index (first query on a
+ * freshly opened snapshot) and a warm one, against sorting every row per
+ * call as the analyzer used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RankingBenchmark {
+    @Param({"1000"})
+    private int scale;
+
+    @Param({"10", "100", "1000"})
+    private int topK;
+
+    private OnlineCoursesAnalyzer analyzer;
+    private CourseTable table;
+    private Path snapshot;
+
+    /**
+     * Loads the scaled dataset and writes it as a snapshot.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Path dataset = Datasets.scaledLocalCsv(scale);
+        try {
+            analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        } finally {
+            Files.deleteIfExists(dataset);
+        }
+        table = analyzer.getTable();
+        snapshot = Files.createTempFile("courses-x" + scale, ".snapshot");
+        analyzer.writeSnapshot(snapshot.toString());
+    }
+
+    /**
+     * Removes the snapshot.
+     *
+     * @throws IOException the io exception
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    /**
+     * A query that has to build the index first.
+     *
+     * @return the titles
+     */
+    @Benchmark
+    public List<String> coldIndex() {
+        return new OnlineCoursesAnalyzer(snapshot.toString()).getCourses(topK, "hours");
+    }
+
+    /**
+     * A query on an index built by earlier calls.
+     *
+     * @return the titles
+     */
+    @Benchmark
+    public List<String> warmIndex() {
+        return analyzer.getCourses(topK, "hours");
+    }
+
+    /**
+     * A stable sort of every row per call.
+     *
+     * @return the titles
+     */
+    @Benchmark
+    public List<String> fullSort() {
+        Integer[] rows = new Integer[table.size()];
+        Arrays.setAll(rows, row -> row);
+        Arrays.sort(rows, Comparator.comparingDouble(
+                (Integer row) -> table.getDouble(DoubleColumn.TOTAL_HOURS, row)).reversed());
+        List<String> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < rows.length && result.size() < topK; i++) {
+            String title = table.getText(TextColumn.TITLE, rows[i]);
+            if (seen.add(title)) {
+                result.add(title);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RankingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,142 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+import src.QueryMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code recommendCourses} on the precomputed course profiles, with and
+ * without a metrics listener, against regrouping the rows by number and
+ * sorting every group per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RecommendBenchmark {
+    @Param({"1000"})
+    private int scale;
+
+    private OnlineCoursesAnalyzer analyzer;
+    private CourseTable table;
+    private QueryMetrics lastMetrics;
+
+    /**
+     * Loads the scaled dataset.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Path dataset = Datasets.scaledLocalCsv(scale);
+        try {
+            analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        } finally {
+            Files.deleteIfExists(dataset);
+        }
+        table = analyzer.getTable();
+    }
+
+    /**
+     * A query on the precomputed profiles.
+     *
+     * @return the titles
+     */
+    @Benchmark
+    public List<String> profiles() {
+        return analyzer.recommendCourses(25, 1, 1);
+    }
+
+    /**
+     * A query reporting its metrics to a listener.
+     *
+     * @return the titles
+     */
+    @Benchmark
+    public List<String> profilesWithMetrics() {
+        analyzer.setMetricsListener(metrics -> lastMetrics = metrics);
+        try {
+            return analyzer.recommendCourses(25, 1, 1);
+        } finally {
+            analyzer.setMetricsListener(null);
+        }
+    }
+
+    /**
+     * The former per-call regrouping and full sort.
+     *
+     * @return the titles
+     */
+    @Benchmark
+    public List<String> regroup() {
+        Map<String, double[]> groups = new HashMap<>();
+        Map<String, String> titles = new HashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            String number = table.getText(TextColumn.NUMBER, row);
+            double[] group = groups.computeIfAbsent(number, key -> new double[5]);
+            int launchDay = table.getInt(IntColumn.LAUNCH_DAY, row);
+            if (group[0] == 0 || launchDay > group[1]) {
+                group[1] = launchDay;
+                titles.put(number, table.getText(TextColumn.TITLE, row));
+            }
+            group[2] = (group[2] * group[0] + table.getDouble(DoubleColumn.MEDIAN_AGE, row)) / (group[0] + 1);
+            group[3] = (group[3] * group[0] + table.getDouble(DoubleColumn.PERCENT_MALE, row)) / (group[0] + 1);
+            group[4] = (group[4] * group[0] + table.getDouble(DoubleColumn.PERCENT_DEGREE, row)) / (group[0] + 1);
+            group[0]++;
+        }
+        List<Map.Entry<String, Double>> scored = new ArrayList<>();
+        groups.forEach((number, group) -> scored.add(Map.entry(titles.get(number),
+                Math.pow(25.0 - group[2], 2) + Math.pow(100 - group[3], 2) + Math.pow(100 - group[4], 2))));
+        scored.sort(Map.Entry.<String, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())));
+        List<String> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < scored.size() && result.size() < 10; i++) {
+            if (seen.add(scored.get(i).getKey())) {
+                result.add(scored.get(i).getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RecommendBenchmark.class.getSimpleName()).build()).run();
+    }
+}
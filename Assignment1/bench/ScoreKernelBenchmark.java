@@ -0,0 +1,122 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.ScoreKernel;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring throughput of one recommendation profile against {@code courses}
+ * feature vectors: the vector kernel, the scalar kernel, and the
+ * {@code Math.pow} loop over per-course objects that it replaces. The fork
+ * adds the vector module; without it the vector case measures the scalar
+ * fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ScoreKernelBenchmark {
+    @Param({"300", "10000", "1000000"})
+    private int courses;
+
+    private double[] features;
+    private double[] scores;
+    private Audience[] audiences;
+
+    /**
+     * Generates random course features.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        features = new double[3 * courses];
+        audiences = new Audience[courses];
+        for (int course = 0; course < courses; course++) {
+            features[course] = 15 + random.nextDouble() * 40;
+            features[courses + course] = random.nextDouble() * 100;
+            features[2 * courses + course] = random.nextDouble() * 100;
+            audiences[course] = new Audience(features[course], features[courses + course],
+                    features[2 * courses + course]);
+        }
+        scores = new double[courses];
+    }
+
+    /**
+     * The preferred kernel, on vector lanes when the module is present.
+     *
+     * @return the scores
+     */
+    @Benchmark
+    public double[] vector() {
+        ScoreKernel.preferred().score(features, courses, 25, 100, 100, scores);
+        return scores;
+    }
+
+    /**
+     * The scalar kernel.
+     *
+     * @return the scores
+     */
+    @Benchmark
+    public double[] scalar() {
+        ScoreKernel.scalar().score(features, courses, 25, 100, 100, scores);
+        return scores;
+    }
+
+    /**
+     * {@code Math.pow} through the fields of one object per course.
+     *
+     * @return the scores
+     */
+    @Benchmark
+    public double[] powObjects() {
+        for (int course = 0; course < courses; course++) {
+            Audience audience = audiences[course];
+            scores[course] = Math.pow((double) 25 - audience.medianAge, 2)
+                    + Math.pow(100 - audience.male, 2) + Math.pow(100 - audience.bachelor, 2);
+        }
+        return scores;
+    }
+
+    /**
+     * The per-course means as the former recommendation objects held them.
+     */
+    private static final class Audience {
+        final double medianAge;
+        final double male;
+        final double bachelor;
+
+        Audience(double medianAge, double male, double bachelor) {
+            this.medianAge = medianAge;
+            this.male = male;
+            this.bachelor = bachelor;
+        }
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ScoreKernelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code searchCourses} through the subject index against lowercasing and
+ * matching the subject of every row, as the analyzer used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({"1000"})
+    private int scale;
+
+    @Param({"computer", "SCIENCE", "sc"})
+    private String subject;
+
+    private OnlineCoursesAnalyzer analyzer;
+    private CourseTable table;
+
+    /**
+     * Loads the scaled dataset.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Path dataset = Datasets.scaledLocalCsv(scale);
+        try {
+            analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        } finally {
+            Files.deleteIfExists(dataset);
+        }
+        table = analyzer.getTable();
+    }
+
+    /**
+     * The indexed search.
+     *
+     * @return the titles
+     */
+    @Benchmark
+    public List<String> indexed() {
+        return analyzer.searchCourses(subject, 20.0, 700);
+    }
+
+    /**
+     * A lowercased {@code contains} per row.
+     *
+     * @return the titles
+     */
+    @Benchmark
+    public List<String> scan() {
+        String query = subject.toLowerCase();
+        Set<String> titles = new HashSet<>();
+        for (int row = 0; row < table.size(); row++) {
+            if (table.getText(TextColumn.SUBJECT, row).toLowerCase().contains(query)
+                    && table.getDouble(DoubleColumn.PERCENT_AUDITED, row) >= 20.0
+                    && table.getDouble(DoubleColumn.TOTAL_HOURS, row) <= 700) {
+                titles.add(table.getText(TextColumn.TITLE, row));
+            }
+        }
+        return titles.stream().sorted(String::compareTo).toList();
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args the input arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
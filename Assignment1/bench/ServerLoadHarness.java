@@ -0,0 +1,124 @@
+package bench;
+
+import src.CourseQueryServer;
+import src.LatencyHistogram;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a {@link CourseQueryServer} over localhost with many concurrent
+ * clients, each sending its next request as soon as the previous one is
+ * answered, and reports throughput and client-side and server-side
+ * latency percentiles. The requests cycle through the six queries with
+ * varying parameters.
+ * <p>
+ * Arguments: {@code [clients] [seconds] [scale] [cacheCapacity]}, by default
+ * 2000 clients for 20 seconds on {@code resources/local.csv} repeated 100
+ * times without a result cache. Thousands of clients need as many sockets,
+ * so raise {@code ulimit -n} first.
+ */
+public final class ServerLoadHarness {
+    private static final String[] SUBJECTS = {"computer", "science", "history", "data", "engineering"};
+    private static final String[] SORT_KEYS = {"hours", "participants"};
+
+    private ServerLoadHarness() {
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the input arguments
+     * @throws IOException the io exception
+     */
+    public static void main(String[] args) throws IOException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int scale = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        long cacheCapacity = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+        Path dataset = Datasets.scaledLocalCsv(scale);
+        OnlineCoursesAnalyzer analyzer;
+        try {
+            analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        } finally {
+            Files.deleteIfExists(dataset);
+        }
+        analyzer.setCacheCapacity(cacheCapacity);
+
+        try (CourseQueryServer server = CourseQueryServer.start(analyzer,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+            String base = "http://localhost:" + server.getPort();
+            System.out.println(clients + " clients, " + seconds + " s, " + analyzer.getTable().size() + " courses, "
+                    + (server.usesVirtualThreads() ? "virtual" : "platform") + " request threads");
+
+            LatencyHistogram latency = new LatencyHistogram();
+            LongAdder failures = new LongAdder();
+            long warmupEnd = System.nanoTime() + Duration.ofSeconds(Math.min(5, seconds / 4 + 1)).toNanos();
+            long end = warmupEnd + Duration.ofSeconds(seconds).toNanos();
+            CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+            for (int i = 0; i < clients; i++) {
+                loops[i] = loop(client, base, warmupEnd, end, latency, failures);
+            }
+            CompletableFuture.allOf(loops).join();
+
+            System.out.printf("throughput %.0f requests/s, %d failed%n",
+                    latency.getCount() / (double) seconds, failures.sum());
+            System.out.println("client: " + latency);
+            for (Map.Entry<String, LatencyHistogram> entry : server.getLatencies().entrySet()) {
+                if (entry.getValue().getCount() > 0) {
+                    System.out.println("server " + entry.getKey() + ": " + entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static CompletableFuture<Void> loop(HttpClient client, String base, long warmupEnd, long end,
+                                                LatencyHistogram latency, LongAdder failures) {
+        long start = System.nanoTime();
+        if (start >= end) {
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + nextPath())).build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (start >= warmupEnd) {
+                        if (error != null || response.statusCode() != 200) {
+                            failures.increment();
+                        } else {
+                            latency.record(System.nanoTime() - start);
+                        }
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(client, base, warmupEnd, end, latency, failures));
+    }
+
+    private static String nextPath() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (random.nextInt(6)) {
+            case 0 -> "/ptcpCountByInst";
+            case 1 -> "/ptcpCountByInstAndSubject";
+            case 2 -> "/courseListOfInstructor";
+            case 3 -> "/courses?topK=" + (1 + random.nextInt(20)) + "&by=" + SORT_KEYS[random.nextInt(2)];
+            case 4 -> "/searchCourses?subject=" + SUBJECTS[random.nextInt(SUBJECTS.length)]
+                    + "&percentAudited=" + random.nextInt(40) + "&totalHours=" + (100 + random.nextInt(900));
+            default -> "/recommendCourses?age=" + (18 + random.nextInt(50)) + "&gender=" + random.nextInt(2)
+                    + "&degree=" + random.nextInt(2);
+        };
+    }
+}
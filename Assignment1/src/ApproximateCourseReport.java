@@ -0,0 +1,200 @@
+package src;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import src.CourseTable.DoubleColumn;
+
+/**
+ * Approximate answers for a course CSV too large for the exact ones, read
+ * in one streaming pass into sketches whose size does not depend on the
+ * number of rows: about 400 KB in all, where the exact answers need a set
+ * of every title and instructor and every value of the percentile columns.
+ * This is the opt-in approximate mode; {@link OnlineCoursesAnalyzer} and
+ * {@link CourseReport} stay exact. The bounds below hold for any input,
+ * with the stated probability where one is given.
+ * <ul>
+ * <li>Distinct titles and instructors, from a {@link HyperLogLog}: within
+ * 2.5% of the true count in more than 99% of cases.</li>
+ * <li>Participants by institution and courses by instructor, from a
+ * {@link SpaceSaving} summary of {@value #HEAVY_HITTERS} counters for the
+ * heaviest and a {@link CountMinSketch} for any one: every institution
+ * with more than 1/{@value #HEAVY_HITTERS} of all participants is among
+ * the top ones, whose counts are over by at most that share, and a single
+ * estimate is never below the truth and is over by more than 0.07% of the
+ * total with probability below 0.7%.</li>
+ * <li>Quantiles of {@code totalHours}, {@code medianAge} and
+ * {@code percentAudited}, from a {@link TDigest}: off in rank by less than
+ * 0.005, plus half the share of a value repeated on many rows.</li>
+ * </ul>
+ */
+public final class ApproximateCourseReport {
+    /**
+     * The number of heavy-hitter counters kept for institutions and for
+     * instructors.
+     */
+    public static final int HEAVY_HITTERS = 256;
+
+    private static final String SEPARATOR = ", ";
+    private static final DoubleColumn[] QUANTILE_COLUMNS = {
+            DoubleColumn.TOTAL_HOURS, DoubleColumn.MEDIAN_AGE, DoubleColumn.PERCENT_AUDITED
+    };
+
+    private long rows;
+    private final HyperLogLog titles = new HyperLogLog();
+    private final HyperLogLog instructors = new HyperLogLog();
+    private final SpaceSaving topInstitutions = new SpaceSaving(HEAVY_HITTERS);
+    private final CountMinSketch institutionParticipants = new CountMinSketch();
+    private final SpaceSaving topInstructors = new SpaceSaving(HEAVY_HITTERS);
+    private final CountMinSketch instructorCourses = new CountMinSketch();
+    private final Map<DoubleColumn, TDigest> digests = new EnumMap<>(DoubleColumn.class);
+
+    private ApproximateCourseReport() {
+        for (DoubleColumn column : QUANTILE_COLUMNS) {
+            digests.put(column, new TDigest());
+        }
+    }
+
+    /**
+     * Reads a course CSV.
+     *
+     * @param datasetPath the dataset path
+     * @return the report
+     * @throws IOException the io exception
+     */
+    public static ApproximateCourseReport read(String datasetPath) throws IOException {
+        ApproximateCourseReport report = new ApproximateCourseReport();
+        try (Reader reader = new FileReader(datasetPath, StandardCharsets.UTF_8)) {
+            new CourseCsvParser(reader).parse(report::add);
+        }
+        return report;
+    }
+
+    private void add(Course course) {
+        rows++;
+        titles.add(course.title);
+        topInstitutions.add(course.institution, course.participants);
+        institutionParticipants.add(course.institution, course.participants);
+        String[] names = course.instructors.split(SEPARATOR);
+        for (int i = 0; i < names.length; i++) {
+            if (!repeats(names, i)) {
+                instructors.add(names[i]);
+                topInstructors.add(names[i], 1);
+                instructorCourses.add(names[i], 1);
+            }
+        }
+        digests.get(DoubleColumn.TOTAL_HOURS).add(course.totalHours);
+        digests.get(DoubleColumn.MEDIAN_AGE).add(course.medianAge);
+        digests.get(DoubleColumn.PERCENT_AUDITED).add(course.percentAudited);
+    }
+
+    /**
+     * Tells whether a name appeared earlier in the same instructors value,
+     * which counts each instructor once per course.
+     */
+    private static boolean repeats(String[] names, int index) {
+        for (int i = 0; i < index; i++) {
+            if (names[i].equals(names[index])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of rows read.
+     *
+     * @return the rows
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the estimated number of distinct titles.
+     *
+     * @return the estimate
+     */
+    public long getDistinctTitles() {
+        return titles.estimate();
+    }
+
+    /**
+     * Gets the estimated number of distinct instructors.
+     *
+     * @return the estimate
+     */
+    public long getDistinctInstructors() {
+        return instructors.estimate();
+    }
+
+    /**
+     * Gets the institutions with the most participants and their counts,
+     * each at least the true total and over by at most the total
+     * participants divided by {@value #HEAVY_HITTERS}.
+     *
+     * @param k the number of institutions, at most {@value #HEAVY_HITTERS}
+     * @return the counts, highest first
+     */
+    public Map<String, Long> getTopInstitutions(int k) {
+        return topInstitutions.top(checkTop(k));
+    }
+
+    /**
+     * Gets the estimated participants of one institution.
+     *
+     * @param institution the institution
+     * @return the estimate, at least the true total
+     */
+    public long estimateParticipants(String institution) {
+        return institutionParticipants.estimate(institution);
+    }
+
+    /**
+     * Gets the instructors of the most courses and their course counts,
+     * each at least the true count and over by at most the total of course
+     * instructors divided by {@value #HEAVY_HITTERS}.
+     *
+     * @param k the number of instructors, at most {@value #HEAVY_HITTERS}
+     * @return the counts, highest first
+     */
+    public Map<String, Long> getTopInstructors(int k) {
+        return topInstructors.top(checkTop(k));
+    }
+
+    /**
+     * Gets the estimated number of courses of one instructor, counting every row.
+     *
+     * @param instructor the instructor
+     * @return the estimate, at least the true count
+     */
+    public long estimateCourses(String instructor) {
+        return instructorCourses.estimate(instructor);
+    }
+
+    /**
+     * Gets the estimated value of a column at a quantile.
+     *
+     * @param column {@code TOTAL_HOURS}, {@code MEDIAN_AGE} or {@code PERCENT_AUDITED}
+     * @param q      the quantile, from 0 to 1
+     * @return the value, NaN if no row was read
+     */
+    public double getQuantile(DoubleColumn column, double q) {
+        TDigest digest = digests.get(column);
+        if (digest == null) {
+            throw new IllegalArgumentException("No quantiles are kept for " + column);
+        }
+        return digest.quantile(q);
+    }
+
+    private static int checkTop(int k) {
+        if (k < 0 || k > HEAVY_HITTERS) {
+            throw new IllegalArgumentException("At most " + HEAVY_HITTERS + " heavy hitters are kept: " + k);
+        }
+        return k;
+    }
+}
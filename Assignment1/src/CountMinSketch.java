@@ -0,0 +1,118 @@
+package src;
+
+/**
+ * An estimate of the total weight added for every string, in a fixed
+ * {@code depth x width} table of counters however many strings there are.
+ * Each row adds the weight to one counter picked by its own hash of the
+ * string, and the estimate is the smallest of those counters.
+ * <p>
+ * With {@code N} the total weight added, an estimate is never below the
+ * true weight, and exceeds it by more than {@code (e / width) * N} with
+ * probability at most {@code e^-depth}. The default 5 x 4096 table, 160 KB,
+ * overestimates by more than 0.07% of the total for fewer than 1 string
+ * in 148.
+ */
+public final class CountMinSketch {
+    /**
+     * The default width.
+     */
+    public static final int DEFAULT_WIDTH = 4096;
+    /**
+     * The default depth.
+     */
+    public static final int DEFAULT_DEPTH = 5;
+
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+
+    /**
+     * Instantiates a new Count min sketch of the default size.
+     */
+    public CountMinSketch() {
+        this(DEFAULT_WIDTH, DEFAULT_DEPTH);
+    }
+
+    /**
+     * Instantiates a new Count min sketch.
+     *
+     * @param width the counters per row, a power of two
+     * @param depth the rows
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Width must be a power of two: " + width);
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be positive: " + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new long[width * depth];
+    }
+
+    /**
+     * Adds a weight to a value.
+     *
+     * @param value  the value
+     * @param weight the weight, not negative
+     */
+    public void add(CharSequence value, long weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative: " + weight);
+        }
+        long hash = StringHash.hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + ((h1 + row * h2) & (width - 1))] += weight;
+        }
+        total += weight;
+    }
+
+    /**
+     * Gets the estimated weight of a value.
+     *
+     * @param value the value
+     * @return the estimate, at least the true weight
+     */
+    public long estimate(CharSequence value) {
+        long hash = StringHash.hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + ((h1 + row * h2) & (width - 1))]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Gets the total weight added.
+     *
+     * @return the total
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the most an estimate exceeds the true weight with probability
+     * {@code 1 - e^-depth}.
+     *
+     * @return the error bound
+     */
+    public double errorBound() {
+        return Math.E / width * total;
+    }
+
+    /**
+     * Gets the size of the counters.
+     *
+     * @return the bytes
+     */
+    public int sizeInBytes() {
+        return counters.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,241 @@
+package src;
+
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * The type Course.
+ */
+class Course {
+    /**
+     * The Institution.
+     */
+    String institution;
+    /**
+     * The Number.
+     */
+    String number;
+    /**
+     * The Launch day, in days since 1970-01-01.
+     */
+    int launchDay;
+    /**
+     * The Title.
+     */
+    String title;
+    /**
+     * The Instructors.
+     */
+    String instructors;
+    /**
+     * The Subject.
+     */
+    String subject;
+    /**
+     * The Year.
+     */
+    int year;
+    /**
+     * The Honor code.
+     */
+    int honorCode;
+    /**
+     * The Participants.
+     */
+    int participants;
+    /**
+     * The Audited.
+     */
+    int audited;
+    /**
+     * The Certified.
+     */
+    int certified;
+    /**
+     * The Percent audited.
+     */
+    double percentAudited;
+    /**
+     * The Percent certified.
+     */
+    double percentCertified;
+    /**
+     * The Percent certified 50.
+     */
+    double percentCertified50;
+    /**
+     * The Percent video.
+     */
+    double percentVideo;
+    /**
+     * The Percent forum.
+     */
+    double percentForum;
+    /**
+     * The Grade higher zero.
+     */
+    double gradeHigherZero;
+    /**
+     * The Total hours.
+     */
+    double totalHours;
+    /**
+     * The Median hours certification.
+     */
+    double medianHoursCertification;
+    /**
+     * The Median age.
+     */
+    double medianAge;
+    /**
+     * The Percent male.
+     */
+    double percentMale;
+    /**
+     * The Percent female.
+     */
+    double percentFemale;
+    /**
+     * The Percent degree.
+     */
+    double percentDegree;
+
+    /**
+     * Instantiates a new Course.
+     *
+     * @param institution              the institution
+     * @param number                   the number
+     * @param launchDate               the launch date
+     * @param title                    the title
+     * @param instructors              the instructors
+     * @param subject                  the subject
+     * @param year                     the year
+     * @param honorCode                the honor code
+     * @param participants             the participants
+     * @param audited                  the audited
+     * @param certified                the certified
+     * @param percentAudited           the percent audited
+     * @param percentCertified         the percent certified
+     * @param percentCertified50       the percent certified 50
+     * @param percentVideo             the percent video
+     * @param percentForum             the percent forum
+     * @param gradeHigherZero          the grade higher zero
+     * @param totalHours               the total hours
+     * @param medianHoursCertification the median hours certification
+     * @param medianAge                the median age
+     * @param percentMale              the percent male
+     * @param percentFemale            the percent female
+     * @param percentDegree            the percent degree
+     */
+    public Course(String institution, String number, Date launchDate,
+                  String title, String instructors, String subject,
+                  int year, int honorCode, int participants,
+                  int audited, int certified, double percentAudited,
+                  double percentCertified, double percentCertified50,
+                  double percentVideo, double percentForum, double gradeHigherZero,
+                  double totalHours, double medianHoursCertification,
+                  double medianAge, double percentMale, double percentFemale,
+                  double percentDegree) {
+        assign(institution, number, epochDay(launchDate), unquote(title), unquote(instructors), unquote(subject), year,
+                honorCode, participants, audited, certified, percentAudited, percentCertified, percentCertified50,
+                percentVideo, percentForum, gradeHigherZero, totalHours, medianHoursCertification, medianAge,
+                percentMale, percentFemale, percentDegree);
+    }
+
+    private Course() {
+    }
+
+    /**
+     * Creates a course from values that the public constructor would take,
+     * except that the launch date is an epoch day and the title, instructors
+     * and subject are already unquoted, as {@link CourseCsvParser} reads
+     * them. They are kept as given instead of being stripped and copied again.
+     *
+     * @return the course
+     */
+    static Course unquoted(String institution, String number, int launchDay,
+                          String title, String instructors, String subject,
+                          int year, int honorCode, int participants,
+                          int audited, int certified, double percentAudited,
+                          double percentCertified, double percentCertified50,
+                          double percentVideo, double percentForum, double gradeHigherZero,
+                          double totalHours, double medianHoursCertification,
+                          double medianAge, double percentMale, double percentFemale,
+                          double percentDegree) {
+        Course course = new Course();
+        course.assign(institution, number, launchDay, title, instructors, subject, year, honorCode, participants,
+                audited, certified, percentAudited, percentCertified, percentCertified50, percentVideo,
+                percentForum, gradeHigherZero, totalHours, medianHoursCertification, medianAge, percentMale,
+                percentFemale, percentDegree);
+        return course;
+    }
+
+    private void assign(String institution, String number, int launchDay,
+                        String title, String instructors, String subject,
+                        int year, int honorCode, int participants,
+                        int audited, int certified, double percentAudited,
+                        double percentCertified, double percentCertified50,
+                        double percentVideo, double percentForum, double gradeHigherZero,
+                        double totalHours, double medianHoursCertification,
+                        double medianAge, double percentMale, double percentFemale,
+                        double percentDegree) {
+        this.institution = institution;
+        this.number = number;
+        this.launchDay = launchDay;
+        this.title = title;
+        this.instructors = instructors;
+        this.subject = subject;
+        this.year = year;
+        this.honorCode = honorCode;
+        this.participants = participants;
+        this.audited = audited;
+        this.certified = certified;
+        this.percentAudited = percentAudited;
+        this.percentCertified = percentCertified;
+        this.percentCertified50 = percentCertified50;
+        this.percentVideo = percentVideo;
+        this.percentForum = percentForum;
+        this.gradeHigherZero = gradeHigherZero;
+        this.totalHours = totalHours;
+        this.medianHoursCertification = medianHoursCertification;
+        this.medianAge = medianAge;
+        this.percentMale = percentMale;
+        this.percentFemale = percentFemale;
+        this.percentDegree = percentDegree;
+    }
+
+    /**
+     * Gets the local calendar day of a date as an epoch day. Launch dates
+     * used to be parsed as local midnight, so this is the day they named.
+     *
+     * @param date the date
+     * @return the epoch day
+     */
+    static int epochDay(Date date) {
+        return (int) date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    private static String unquote(String value) {
+        if (value.startsWith("\"")) value = value.substring(1);
+        if (value.endsWith("\"")) value = value.substring(0, value.length() - 1);
+        return value;
+    }
+
+    /**
+     * Get total hours double.
+     *
+     * @return the double
+     */
+    public double getTotalHours(){
+        return totalHours;
+    }
+
+    /**
+     * Get participants int.
+     *
+     * @return the int
+     */
+    public int getParticipants(){
+        return participants;
+    }
+}
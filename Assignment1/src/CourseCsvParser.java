@@ -0,0 +1,362 @@
+package src;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Date;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass, quote-aware tokenizer for the course CSV format.
+ * Every record is scanned once by a small state machine over a char buffer;
+ * the numeric columns are decoded straight from the buffer. The text
+ * columns are interned from the buffer and have their enclosing quotes
+ * dropped there, so a value repeated on many rows, such as an institution
+ * or a subject, is one string and reading it again allocates nothing.
+ * Launch dates in the {@code MM/dd/yyyy} form of the dataset are decoded
+ * straight to epoch days as well.
+ */
+class CourseCsvParser {
+    /**
+     * The number of columns of a course row.
+     */
+    static final int FIELD_COUNT = 23;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MIN_FAST_YEAR = 1900;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private final Reader reader;
+    private char[] buf = new char[DEFAULT_BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private final int[] starts = new int[FIELD_COUNT];
+    private final int[] ends = new int[FIELD_COUNT];
+    private final StringInterner strings;
+    private int fieldCount;
+    private long line;
+
+    /**
+     * Instantiates a new Course csv parser.
+     *
+     * @param reader the reader, it is read in large blocks so it needs no extra buffering
+     */
+    CourseCsvParser(Reader reader) {
+        this(reader, true);
+    }
+
+    /**
+     * Instantiates a new Course csv parser that interns the text fields or,
+     * to measure what interning saves, copies every one into a new string.
+     *
+     * @param reader the reader, it is read in large blocks so it needs no extra buffering
+     * @param intern whether to intern the text fields
+     */
+    CourseCsvParser(Reader reader, boolean intern) {
+        this.reader = reader;
+        this.strings = intern ? new StringInterner() : null;
+    }
+
+    private CourseCsvParser(char[] buf, int from, int to) {
+        this.reader = null;
+        this.strings = new StringInterner();
+        this.buf = buf;
+        this.pos = from;
+        this.limit = to;
+        this.eof = true;
+    }
+
+    /**
+     * Parses every row after the header line.
+     *
+     * @param consumer receives the courses in file order
+     * @throws IOException if the reader fails
+     */
+    void parse(Consumer<Course> consumer) throws IOException {
+        if (nextRecord()) {
+            parseRows(consumer);
+        }
+    }
+
+    /**
+     * Parses the header-less rows held in {@code buf[from, to)}.
+     *
+     * @param buf      the buf
+     * @param from     the first char of the first row
+     * @param to       the end of the last row
+     * @param consumer receives the courses in buffer order
+     */
+    static void parse(char[] buf, int from, int to, Consumer<Course> consumer) {
+        try {
+            new CourseCsvParser(buf, from, to).parseRows(consumer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void parseRows(Consumer<Course> consumer) throws IOException {
+        while (nextRecord()) {
+            if (fieldCount == 1 && starts[0] == ends[0]) {
+                continue;
+            }
+            if (fieldCount < FIELD_COUNT) {
+                throw new IllegalArgumentException("Expected " + FIELD_COUNT + " columns but found "
+                        + fieldCount + " at line " + line);
+            }
+            consumer.accept(toCourse());
+        }
+    }
+
+    private Course toCourse() {
+        return Course.unquoted(string(0), string(1), parseEpochDay(2), unquoted(3), unquoted(4), unquoted(5),
+                parseInt(6), parseInt(7), parseInt(8), parseInt(9), parseInt(10),
+                parseDouble(11), parseDouble(12), parseDouble(13), parseDouble(14),
+                parseDouble(15), parseDouble(16), parseDouble(17), parseDouble(18),
+                parseDouble(19), parseDouble(20), parseDouble(21), parseDouble(22));
+    }
+
+    /**
+     * Tokenizes the next record into {@link #starts}/{@link #ends}.
+     * A record that runs past the end of the buffer is moved to the front and
+     * scanned again once more input has been read.
+     */
+    private boolean nextRecord() throws IOException {
+        while (true) {
+            if (pos >= limit && !fill()) {
+                return false;
+            }
+            int end = scanRecord();
+            if (end >= 0) {
+                pos = end;
+                line++;
+                return true;
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Moves the unread tail of the buffer to the front and reads more chars.
+     *
+     * @return false when the input is exhausted
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int remaining = limit - pos;
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, remaining);
+        } else if (remaining == buf.length) {
+            char[] grown = new char[buf.length * 2];
+            System.arraycopy(buf, 0, grown, 0, remaining);
+            buf = grown;
+        }
+        pos = 0;
+        limit = remaining;
+        int n = reader.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+            return limit > 0;
+        }
+        limit += n;
+        return true;
+    }
+
+    /**
+     * Scans one record starting at {@link #pos}.
+     *
+     * @return the index after the line terminator, or -1 if more input is needed
+     */
+    private int scanRecord() {
+        int state = FIELD_START;
+        int field = 0;
+        starts[0] = pos;
+        for (int i = pos; i < limit; i++) {
+            char c = buf[i];
+            switch (state) {
+                case QUOTED:
+                    if (c == '"') {
+                        state = QUOTE_IN_QUOTED;
+                    }
+                    break;
+                default:
+                    if (c == '"' && state == FIELD_START) {
+                        state = QUOTED;
+                    } else if (c == ',') {
+                        field = endField(field, i);
+                        state = FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        if (c == '\r' && i + 1 >= limit && !eof) {
+                            return -1;
+                        }
+                        endField(field, i);
+                        fieldCount = Math.min(field + 1, FIELD_COUNT);
+                        return c == '\r' && i + 1 < limit && buf[i + 1] == '\n' ? i + 2 : i + 1;
+                    } else {
+                        state = c == '"' && state == QUOTE_IN_QUOTED ? QUOTED : UNQUOTED;
+                    }
+                    break;
+            }
+        }
+        if (!eof) {
+            return -1;
+        }
+        if (state == QUOTED) {
+            throw new IllegalArgumentException("Unterminated quoted field at line " + (line + 1));
+        }
+        endField(field, limit);
+        fieldCount = Math.min(field + 1, FIELD_COUNT);
+        return limit;
+    }
+
+    private int endField(int field, int end) {
+        if (field < FIELD_COUNT) {
+            ends[field] = end;
+        }
+        field++;
+        if (field < FIELD_COUNT) {
+            starts[field] = end + 1;
+        }
+        return field;
+    }
+
+    private String text(int field) {
+        return new String(buf, starts[field], ends[field] - starts[field]);
+    }
+
+    private String string(int field) {
+        return span(starts[field], ends[field]);
+    }
+
+    /**
+     * Interns a field without one leading and one trailing quote, the way
+     * the public {@link Course} constructor strips them.
+     */
+    private String unquoted(int field) {
+        int from = starts[field];
+        int to = ends[field];
+        if (from < to && buf[from] == '"') {
+            from++;
+        }
+        if (from < to && buf[to - 1] == '"') {
+            to--;
+        }
+        return span(from, to);
+    }
+
+    private String span(int from, int to) {
+        return strings == null ? new String(buf, from, to - from) : strings.intern(buf, from, to);
+    }
+
+    /**
+     * Decodes a {@code M/d/yyyy} date, with one or two digits for the month
+     * and day, to its epoch day. Anything else, such as another format, a
+     * day past the end of its month or a year before {@value #MIN_FAST_YEAR},
+     * which that parser reads as two digits or in the Julian calendar, takes
+     * the lenient {@link Date#Date(String)} path the dates were once parsed with.
+     */
+    @SuppressWarnings("deprecation")
+    private int parseEpochDay(int field) {
+        int i = starts[field];
+        int end = ends[field];
+        int month = 0;
+        int monthDigits = 0;
+        for (; i < end && monthDigits < 3 && buf[i] >= '0' && buf[i] <= '9'; i++, monthDigits++) {
+            month = month * 10 + buf[i] - '0';
+        }
+        int day = 0;
+        int dayDigits = 0;
+        if (i < end && buf[i] == '/') {
+            for (i++; i < end && dayDigits < 3 && buf[i] >= '0' && buf[i] <= '9'; i++, dayDigits++) {
+                day = day * 10 + buf[i] - '0';
+            }
+        }
+        int year = 0;
+        int yearDigits = 0;
+        if (i < end && buf[i] == '/') {
+            for (i++; i < end && yearDigits < 5 && buf[i] >= '0' && buf[i] <= '9'; i++, yearDigits++) {
+                year = year * 10 + buf[i] - '0';
+            }
+        }
+        if (i != end || monthDigits < 1 || monthDigits > 2 || dayDigits < 1 || dayDigits > 2
+                || yearDigits != 4 || year < MIN_FAST_YEAR || month < 1 || month > 12 || day < 1
+                || day > EpochDays.lengthOfMonth(year, month)) {
+            return Course.epochDay(new Date(text(field)));
+        }
+        return EpochDays.of(year, month, day);
+    }
+
+    private int parseInt(int field) {
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        if (i == end || end - i > 9) {
+            return Integer.parseInt(text(field));
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(text(field));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodes plain decimals such as {@code 15.04} exactly: a mantissa below
+     * 2^53 divided by an exact power of ten rounds the same way as
+     * {@link Double#parseDouble}. Anything else takes that slow path.
+     */
+    private double parseDouble(int field) {
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            char c = buf[i];
+            if (c == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                return Double.parseDouble(text(field));
+            }
+            mantissa = mantissa * 10 + digit;
+            digits++;
+            if (scale >= 0) {
+                scale++;
+            }
+            if (mantissa >= MAX_EXACT_MANTISSA || scale >= POWERS_OF_TEN.length) {
+                return Double.parseDouble(text(field));
+            }
+        }
+        if (digits == 0) {
+            return Double.parseDouble(text(field));
+        }
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+}
@@ -0,0 +1,242 @@
+package src;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import src.CourseTable.IntColumn;
+import src.CourseTable.NumericColumn;
+import src.CourseTable.TextColumn;
+
+/**
+ * One published version of the courses of an {@link OnlineCoursesAnalyzer}:
+ * a table that never changes, and the indexes, sums and course profiles
+ * derived from it. A query reads a single dataset from start to end, so it
+ * sees the courses as they were when it started however many are added
+ * meanwhile.
+ * The derived views are built on first use, once per dataset even when
+ * several threads ask at the same time, and are read without locking
+ * afterwards. Adding courses publishes a new dataset whose views are the
+ * views of this one {@link #extend extended} by the new rows.
+ */
+final class CourseDataset {
+    private final CourseTable table;
+    private final long version;
+    private final Map<NumericColumn, SortedIndex> sortedIndexes = new ConcurrentHashMap<>();
+    private final Map<TextColumn, SubstringIndex> textIndexes = new ConcurrentHashMap<>();
+    private volatile CourseProfiles courseProfiles;
+    private volatile InstructorIndex instructorIndex;
+    private volatile LaunchIndex launchIndex;
+    private volatile RollupCube rollupCube;
+    private volatile GroupByAggregator participantTotals;
+
+    /**
+     * Instantiates a new Course dataset.
+     *
+     * @param table   the table, which must not change any more
+     * @param version the version
+     */
+    CourseDataset(CourseTable table, long version) {
+        this.table = table;
+        this.version = version;
+    }
+
+    /**
+     * Gets the table.
+     *
+     * @return the table
+     */
+    CourseTable table() {
+        return table;
+    }
+
+    /**
+     * Gets the version, raised by one for every batch of added courses.
+     *
+     * @return the version
+     */
+    long version() {
+        return version;
+    }
+
+    /**
+     * Gets the dataset of a larger table holding the rows of this one as its
+     * first rows, with every view built so far extended by the new rows.
+     *
+     * @param larger the larger table
+     * @return the dataset
+     */
+    CourseDataset extend(CourseTable larger) {
+        CourseDataset next = new CourseDataset(larger, version + 1);
+        int added = larger.size() - table.size();
+        sortedIndexes.forEach((column, index) -> {
+            next.sortedIndexes.put(column, index.extend(larger, column));
+            QueryTimer.indexed(added, 0);
+        });
+        textIndexes.forEach((column, index) -> {
+            next.textIndexes.put(column, index.extend(larger, column));
+            QueryTimer.indexed(added, 0);
+        });
+        InstructorIndex instructors = instructorIndex;
+        if (instructors != null) {
+            next.instructorIndex = instructors.extend(larger);
+            QueryTimer.indexed(added, next.instructorIndex.instructorCount() - instructors.instructorCount());
+        }
+        LaunchIndex launches = launchIndex;
+        if (launches != null) {
+            next.launchIndex = launches.extend(larger);
+            QueryTimer.indexed(added, next.launchIndex.monthCount() - launches.monthCount());
+        }
+        RollupCube cube = rollupCube;
+        if (cube != null) {
+            next.rollupCube = cube.extend(larger);
+            QueryTimer.indexed(added, next.rollupCube.cellCount() - cube.cellCount());
+        }
+        GroupByAggregator totals = participantTotals;
+        if (totals != null) {
+            next.participantTotals = totals.extend(larger, table.size(), larger.size());
+            QueryTimer.indexed(added, next.participantTotals.groupCount() - totals.groupCount());
+        }
+        CourseProfiles profiles = courseProfiles;
+        if (profiles != null) {
+            next.courseProfiles = profiles.extend(larger);
+            QueryTimer.indexed(added, next.courseProfiles.courseCount() - profiles.courseCount());
+        }
+        return next;
+    }
+
+    /**
+     * Gets the sorted index of a column, building it on first use.
+     *
+     * @param column the column
+     * @return the index
+     */
+    SortedIndex sortedIndex(NumericColumn column) {
+        SortedIndex index = sortedIndexes.get(column);
+        return index != null ? index : sortedIndexes.computeIfAbsent(column, key -> {
+            QueryTimer.indexed(table.size(), 0);
+            return SortedIndex.build(table, key);
+        });
+    }
+
+    /**
+     * Gets the value index of a text column, building it on first use.
+     *
+     * @param column the column
+     * @return the index
+     */
+    SubstringIndex textIndex(TextColumn column) {
+        SubstringIndex index = textIndexes.get(column);
+        return index != null ? index : textIndexes.computeIfAbsent(column, key -> {
+            QueryTimer.indexed(table.size(), 0);
+            return SubstringIndex.build(table, key);
+        });
+    }
+
+    /**
+     * Gets the participant sums by institution and subject, computing them
+     * on first use. The rows are split among the workers of the pool, when
+     * one is given, and the sums of the ranges merged in row order.
+     *
+     * @param pool the pool, or null to compute them on the calling thread
+     * @return the sums, grouped by institution id and subject id
+     */
+    GroupByAggregator participantTotals(ForkJoinPool pool) {
+        GroupByAggregator totals = participantTotals;
+        if (totals == null) {
+            synchronized (this) {
+                totals = participantTotals;
+                if (totals == null) {
+                    totals = GroupByAggregator.accumulate(table, pool,
+                            IntColumn.PARTICIPANTS, TextColumn.INSTITUTION, TextColumn.SUBJECT);
+                    QueryTimer.indexed(table.size(), totals.groupCount());
+                    participantTotals = totals;
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Gets the per-course audience means, computing them on first use.
+     *
+     * @return the course profiles
+     */
+    CourseProfiles courseProfiles() {
+        CourseProfiles profiles = courseProfiles;
+        if (profiles == null) {
+            synchronized (this) {
+                profiles = courseProfiles;
+                if (profiles == null) {
+                    profiles = CourseProfiles.build(table);
+                    QueryTimer.indexed(table.size(), profiles.courseCount());
+                    courseProfiles = profiles;
+                }
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Gets the courses of every instructor, building the index on first use,
+     * on the pool when one is given.
+     *
+     * @param pool the pool, or null to build it on the calling thread
+     * @return the instructor index
+     */
+    InstructorIndex instructorIndex(ForkJoinPool pool) {
+        InstructorIndex index = instructorIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = instructorIndex;
+                if (index == null) {
+                    index = InstructorIndex.build(table, pool);
+                    QueryTimer.indexed(table.size(), index.instructorCount());
+                    instructorIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the rows bucketed by launch month, building the index on first use.
+     *
+     * @return the launch index
+     */
+    LaunchIndex launchIndex() {
+        LaunchIndex index = launchIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = launchIndex;
+                if (index == null) {
+                    index = LaunchIndex.build(table);
+                    QueryTimer.indexed(table.size(), index.monthCount());
+                    launchIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the sums by launch month, institution and subject, computing them
+     * on first use.
+     *
+     * @return the rollup cube
+     */
+    RollupCube rollupCube() {
+        RollupCube cube = rollupCube;
+        if (cube == null) {
+            synchronized (this) {
+                cube = rollupCube;
+                if (cube == null) {
+                    cube = RollupCube.build(table);
+                    QueryTimer.indexed(table.size(), cube.cellCount());
+                    rollupCube = cube;
+                }
+            }
+        }
+        return cube;
+    }
+}
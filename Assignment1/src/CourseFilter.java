@@ -0,0 +1,298 @@
+package src;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import src.CourseTable.IntColumn;
+import src.CourseTable.NumericColumn;
+import src.CourseTable.TextColumn;
+
+/**
+ * An immutable predicate over courses, evaluated by
+ * {@link OnlineCoursesAnalyzer#filter(CourseFilter)} into a {@link RowBitmap}.
+ * Text predicates are answered from the per-column value index and range
+ * predicates from the sorted index of their column, so every leaf yields
+ * only its matching rows; {@link #and} and {@link #or} combine the leaves
+ * with bitmap operations. When the rows that are left to an {@code and} are
+ * fewer than the rows of its next predicate, that predicate is checked on
+ * those rows instead of being looked up, so a selective query never
+ * expands the larger operands. Two filters are equal when they describe the
+ * same predicate.
+ */
+public final class CourseFilter {
+    private static final CourseFilter ALL = new CourseFilter("all",
+            dataset -> RowBitmap.range(0, dataset.table().size()));
+
+    private final String description;
+    private final Function<CourseDataset, RowBitmap> evaluator;
+    private final BiFunction<CourseDataset, RowBitmap, RowBitmap> refiner;
+
+    private CourseFilter(String description, Function<CourseDataset, RowBitmap> evaluator) {
+        this(description, evaluator, (dataset, rows) -> rows.and(evaluator.apply(dataset)));
+    }
+
+    private CourseFilter(String description, Function<CourseDataset, RowBitmap> evaluator,
+                         BiFunction<CourseDataset, RowBitmap, RowBitmap> refiner) {
+        this.description = description;
+        this.evaluator = evaluator;
+        this.refiner = refiner;
+    }
+
+    /**
+     * Matches every course.
+     *
+     * @return the course filter
+     */
+    public static CourseFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Matches the courses whose value of a text column is one of the given values.
+     *
+     * @param column the column
+     * @param values the values
+     * @return the course filter
+     */
+    public static CourseFilter is(TextColumn column, String... values) {
+        StringBuilder description = new StringBuilder().append(column).append(" in {");
+        for (int i = 0; i < values.length; i++) {
+            description.append(i == 0 ? "" : ", ").append(quote(values[i]));
+        }
+        Function<CourseDataset, BitSet> ids = dataset -> {
+            StringDictionary dictionary = dataset.table().dictionary(column);
+            BitSet found = new BitSet();
+            for (String value : values) {
+                int id = dictionary.find(value);
+                if (id >= 0) {
+                    found.set(id);
+                }
+            }
+            return found;
+        };
+        return text(description.append('}').toString(), column, ids);
+    }
+
+    /**
+     * Matches the courses whose value of a text column contains a string,
+     * ignoring case.
+     *
+     * @param column the column
+     * @param query  the query
+     * @return the course filter
+     */
+    public static CourseFilter contains(TextColumn column, String query) {
+        return text(column + " ~ " + quote(query), column,
+                dataset -> dataset.textIndex(column).matchingValues(query));
+    }
+
+    private static CourseFilter text(String description, TextColumn column,
+                                     Function<CourseDataset, BitSet> ids) {
+        return new CourseFilter(description,
+                dataset -> dataset.textIndex(column).rowsOf(ids.apply(dataset)),
+                (dataset, rows) -> {
+                    BitSet matching = ids.apply(dataset);
+                    SubstringIndex index = dataset.textIndex(column);
+                    if (rows.cardinality() >= index.rowCount(matching)) {
+                        return rows.and(index.rowsOf(matching));
+                    }
+                    CourseTable table = dataset.table();
+                    return rows.filter(row -> matching.get(table.getId(column, row)));
+                });
+    }
+
+    /**
+     * Matches the courses of one of the given institutions.
+     *
+     * @param institutions the institutions
+     * @return the course filter
+     */
+    public static CourseFilter institution(String... institutions) {
+        return is(TextColumn.INSTITUTION, institutions);
+    }
+
+    /**
+     * Matches the courses whose subject contains a string, ignoring case.
+     *
+     * @param subject the subject
+     * @return the course filter
+     */
+    public static CourseFilter subjectContains(String subject) {
+        return contains(TextColumn.SUBJECT, subject);
+    }
+
+    /**
+     * Matches the courses of the years in {@code [from, to]}.
+     *
+     * @param from the from
+     * @param to   the to
+     * @return the course filter
+     */
+    public static CourseFilter year(int from, int to) {
+        return between(IntColumn.YEAR, from, to);
+    }
+
+    /**
+     * Matches the courses with the given honor code flag.
+     *
+     * @param honorCode the honor code
+     * @return the course filter
+     */
+    public static CourseFilter honorCode(int honorCode) {
+        return between(IntColumn.HONOR_CODE, honorCode, honorCode);
+    }
+
+    /**
+     * Matches the courses launched on a day in {@code [from, to]}, looked up
+     * in the month buckets of the launch index.
+     *
+     * @param from the from
+     * @param to   the to
+     * @return the course filter
+     */
+    public static CourseFilter launchedBetween(LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        return new CourseFilter(IntColumn.LAUNCH_DAY + " in [" + from + ", " + to + "]",
+                dataset -> dataset.launchIndex().rowsBetween(first, last),
+                (dataset, rows) -> {
+                    LaunchIndex index = dataset.launchIndex();
+                    if (rows.cardinality() >= index.countBetween(first, last)) {
+                        return rows.and(index.rowsBetween(first, last));
+                    }
+                    CourseTable table = dataset.table();
+                    return rows.filter(row -> {
+                        int day = table.getInt(IntColumn.LAUNCH_DAY, row);
+                        return day >= first && day <= last;
+                    });
+                });
+    }
+
+    /**
+     * Matches the courses whose value of a numeric column lies in {@code [min, max]}.
+     * The column is named as for {@link OnlineCoursesAnalyzer#getCourses}.
+     *
+     * @param column the column
+     * @param min    the min
+     * @param max    the max
+     * @return the course filter
+     */
+    public static CourseFilter between(String column, double min, double max) {
+        NumericColumn numericColumn = CourseTable.numericColumn(column);
+        if (numericColumn == null) {
+            throw new IllegalArgumentException("Unknown column: " + column);
+        }
+        return between(numericColumn, min, max);
+    }
+
+    /**
+     * Matches the courses whose value of a numeric column is at least {@code min}.
+     *
+     * @param column the column
+     * @param min    the min
+     * @return the course filter
+     */
+    public static CourseFilter atLeast(String column, double min) {
+        return between(column, min, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Matches the courses whose value of a numeric column is at most {@code max}.
+     *
+     * @param column the column
+     * @param max    the max
+     * @return the course filter
+     */
+    public static CourseFilter atMost(String column, double max) {
+        return between(column, Double.NEGATIVE_INFINITY, max);
+    }
+
+    /**
+     * Matches the courses whose value of a numeric column lies in {@code [min, max]}.
+     *
+     * @param column the column
+     * @param min    the min
+     * @param max    the max
+     * @return the course filter
+     */
+    public static CourseFilter between(NumericColumn column, double min, double max) {
+        return new CourseFilter(column + " in [" + min + ", " + max + "]",
+                dataset -> dataset.sortedIndex(column).rowsBetween(min, max),
+                (dataset, rows) -> {
+                    SortedIndex index = dataset.sortedIndex(column);
+                    if (rows.cardinality() >= index.countBetween(min, max)) {
+                        return rows.and(index.rowsBetween(min, max));
+                    }
+                    CourseTable table = dataset.table();
+                    return rows.filter(row -> {
+                        double value = column.value(table, row);
+                        return value >= min && value <= max;
+                    });
+                });
+    }
+
+    /**
+     * Matches the courses matched by this filter and another one.
+     *
+     * @param other the other
+     * @return the course filter
+     */
+    public CourseFilter and(CourseFilter other) {
+        return new CourseFilter("(" + description + " AND " + other.description + ")",
+                dataset -> other.refine(dataset, evaluate(dataset)),
+                (dataset, rows) -> other.refine(dataset, refine(dataset, rows)));
+    }
+
+    /**
+     * Matches the courses matched by this filter or another one.
+     *
+     * @param other the other
+     * @return the course filter
+     */
+    public CourseFilter or(CourseFilter other) {
+        return new CourseFilter("(" + description + " OR " + other.description + ")",
+                dataset -> evaluate(dataset).or(other.evaluate(dataset)));
+    }
+
+    /**
+     * Gets the rows of a dataset that match this filter.
+     *
+     * @param dataset the dataset
+     * @return the rows
+     */
+    RowBitmap evaluate(CourseDataset dataset) {
+        return evaluator.apply(dataset);
+    }
+
+    /**
+     * Gets the rows of a candidate set that match this filter.
+     *
+     * @param dataset the dataset
+     * @param rows    the candidate rows
+     * @return the rows
+     */
+    RowBitmap refine(CourseDataset dataset, RowBitmap rows) {
+        return rows.isEmpty() ? rows : refiner.apply(dataset, rows);
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof CourseFilter other && description.equals(other.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return description.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,376 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+
+/**
+ * The audience of every course number, precomputed for {@code recommendCourses}:
+ * the running means of median age, percent male and percent degree over the
+ * rows of the number, and the title of its latest launch. The means are kept
+ * in one packed {@code double[]}, one block of {@link #courseCount()} values
+ * per feature, so scoring a profile is a single pass over three contiguous
+ * arrays. Course titles are stored as their rank in alphabetical order,
+ * which makes the title tie-break an int comparison.
+ * The profiles cover the rows that existed when they were built, and
+ * {@link #extend} folds in the rows appended since.
+ */
+final class CourseProfiles {
+    /**
+     * The number of features per course.
+     */
+    static final int FEATURES = 3;
+
+    private static final int PROFILE_BLOCK = 64;
+    private static final int COURSE_TILE = 1024;
+
+    private final int rows;
+    private final int courses;
+    private final double[] features;
+    private final int[] counts;
+    private final int[] latestDays;
+    private final int[] latestTitles;
+    private final int[] titleRanks;
+    private final String[] titles;
+
+    private CourseProfiles(int rows, int courses, double[] features, int[] counts, int[] latestDays,
+                           int[] latestTitles, int[] titleRanks, String[] titles) {
+        this.rows = rows;
+        this.courses = courses;
+        this.features = features;
+        this.counts = counts;
+        this.latestDays = latestDays;
+        this.latestTitles = latestTitles;
+        this.titleRanks = titleRanks;
+        this.titles = titles;
+    }
+
+    /**
+     * Averages the rows of a table by course number, in order of first appearance.
+     *
+     * @param table the table
+     * @return the course profiles
+     */
+    static CourseProfiles build(CourseTable table) {
+        int courses = table.dictionary(TextColumn.NUMBER).size();
+        double[] features = new double[FEATURES * courses];
+        int[] counts = new int[courses];
+        int[] latestDays = new int[courses];
+        int[] latestTitles = new int[courses];
+        accumulate(table, 0, courses, features, counts, latestDays, latestTitles);
+        return ranked(table.size(), table.dictionary(TextColumn.TITLE), courses, features, counts, latestDays,
+                latestTitles);
+    }
+
+    /**
+     * Folds the rows appended to a table since these profiles were built
+     * into copies of their means, reading only those rows. The titles are
+     * ranked again only when a course is new or has a new latest launch,
+     * which costs a sort of the titles but no pass over the older rows.
+     *
+     * @param table the table, holding the covered rows as its first rows
+     * @return the profiles of every row of the table
+     */
+    CourseProfiles extend(CourseTable table) {
+        int newCourses = table.dictionary(TextColumn.NUMBER).size();
+        double[] newFeatures = new double[FEATURES * newCourses];
+        for (int feature = 0; feature < FEATURES; feature++) {
+            System.arraycopy(features, feature * courses, newFeatures, feature * newCourses, courses);
+        }
+        int[] newCounts = Arrays.copyOf(counts, newCourses);
+        int[] newLatestDays = Arrays.copyOf(latestDays, newCourses);
+        int[] newLatestTitles = Arrays.copyOf(latestTitles, newCourses);
+        boolean titlesChanged = accumulate(table, rows, newCourses, newFeatures,
+                newCounts, newLatestDays, newLatestTitles);
+        if (titlesChanged || newCourses != courses) {
+            return ranked(table.size(), table.dictionary(TextColumn.TITLE), newCourses, newFeatures, newCounts,
+                    newLatestDays, newLatestTitles);
+        }
+        return new CourseProfiles(table.size(), courses, newFeatures, newCounts, newLatestDays,
+                newLatestTitles, titleRanks, titles);
+    }
+
+    /**
+     * Folds rows {@code [from, table.size())} into the running means.
+     *
+     * @return whether the latest title of a course changed
+     */
+    private static boolean accumulate(CourseTable table, int from, int courses, double[] features,
+                                      int[] counts, int[] latestDays, int[] latestTitles) {
+        boolean titlesChanged = false;
+        int n = table.size();
+        for (int row = from; row < n; row++) {
+            int course = table.getId(TextColumn.NUMBER, row);
+            int launchDay = table.getInt(IntColumn.LAUNCH_DAY, row);
+            int count = counts[course]++;
+            if (count == 0 || launchDay > latestDays[course]) {
+                int title = table.getId(TextColumn.TITLE, row);
+                titlesChanged |= count == 0 || title != latestTitles[course];
+                latestDays[course] = launchDay;
+                latestTitles[course] = title;
+            }
+            // the running mean the per-course objects used, so the scores stay bit for bit the same
+            features[course] = (features[course] * count
+                    + table.getDouble(DoubleColumn.MEDIAN_AGE, row)) / (count + 1);
+            features[courses + course] = (features[courses + course] * count
+                    + table.getDouble(DoubleColumn.PERCENT_MALE, row)) / (count + 1);
+            features[2 * courses + course] = (features[2 * courses + course] * count
+                    + table.getDouble(DoubleColumn.PERCENT_DEGREE, row)) / (count + 1);
+        }
+        return titlesChanged;
+    }
+
+    private static CourseProfiles ranked(int rows, StringDictionary titleDictionary, int courses, double[] features,
+                                         int[] counts, int[] latestDays, int[] latestTitles) {
+        String[] titles = Arrays.stream(latestTitles, 0, courses).distinct()
+                .mapToObj(titleDictionary::get).sorted().toArray(String[]::new);
+        int[] titleRanks = new int[courses];
+        for (int course = 0; course < courses; course++) {
+            titleRanks[course] = Arrays.binarySearch(titles, titleDictionary.get(latestTitles[course]));
+        }
+        return new CourseProfiles(rows, courses, features, counts, latestDays, latestTitles, titleRanks, titles);
+    }
+
+    /**
+     * Folds a stream of row batches into course profiles, keeping only the
+     * running means between batches. Every batch is a table whose number and
+     * title dictionaries carry on from the previous batches, so a course
+     * keeps its id from one batch to the next.
+     */
+    static final class Accumulator {
+        private int rows;
+        private int capacity = 64;
+        private double[] features = new double[FEATURES * capacity];
+        private int[] counts = new int[capacity];
+        private int[] latestDays = new int[capacity];
+        private int[] latestTitles = new int[capacity];
+
+        /**
+         * Folds every row of a batch into the means.
+         *
+         * @param batch the batch
+         */
+        void accumulate(CourseTable batch) {
+            int courses = batch.dictionary(TextColumn.NUMBER).size();
+            if (courses > capacity) {
+                grow(Math.max(courses, capacity * 2));
+            }
+            CourseProfiles.accumulate(batch, 0, capacity, features, counts, latestDays, latestTitles);
+            rows += batch.size();
+        }
+
+        private void grow(int newCapacity) {
+            double[] newFeatures = new double[FEATURES * newCapacity];
+            for (int feature = 0; feature < FEATURES; feature++) {
+                System.arraycopy(features, feature * capacity, newFeatures, feature * newCapacity, capacity);
+            }
+            features = newFeatures;
+            counts = Arrays.copyOf(counts, newCapacity);
+            latestDays = Arrays.copyOf(latestDays, newCapacity);
+            latestTitles = Arrays.copyOf(latestTitles, newCapacity);
+            capacity = newCapacity;
+        }
+
+        /**
+         * Gets the profiles of the rows folded so far.
+         *
+         * @param courses the number of distinct course numbers
+         * @param titles  the title dictionary of the batches
+         * @return the course profiles
+         */
+        CourseProfiles profiles(int courses, StringDictionary titles) {
+            double[] packed = new double[FEATURES * courses];
+            for (int feature = 0; feature < FEATURES; feature++) {
+                System.arraycopy(features, feature * capacity, packed, feature * courses, courses);
+            }
+            return ranked(rows, titles, courses, packed, Arrays.copyOf(counts, courses),
+                    Arrays.copyOf(latestDays, courses), Arrays.copyOf(latestTitles, courses));
+        }
+    }
+
+    /**
+     * Gets the number of rows covered by these profiles.
+     *
+     * @return the size
+     */
+    int size() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of courses.
+     *
+     * @return the course count
+     */
+    int courseCount() {
+        return courses;
+    }
+
+    /**
+     * Gets the title of a course.
+     *
+     * @param course the course
+     * @return the title
+     */
+    String title(int course) {
+        return titles[titleRanks[course]];
+    }
+
+    /**
+     * Scores every course against a profile: the squared distance between
+     * {@code (age, gender * 100, isBachelorOrHigher * 100)} and its means,
+     * on the {@link ScoreKernel#preferred() preferred kernel}.
+     *
+     * @param age                the age
+     * @param gender             the gender
+     * @param isBachelorOrHigher the is bachelor or higher
+     * @param scores             receives the score of every course
+     */
+    void score(int age, int gender, int isBachelorOrHigher, double[] scores) {
+        ScoreKernel.preferred().score(features, courses, age, gender * 100, isBachelorOrHigher * 100, scores);
+    }
+
+    /**
+     * Gets the {@code k} distinct titles closest to a profile, ordered by score
+     * and then by title. A title ranks by the best score among the courses
+     * that carry it, and the best {@code k} are kept in a bounded heap, so
+     * nothing is sorted but the result.
+     *
+     * @param scores the scores from {@link #score}
+     * @param k      the k
+     * @return the titles
+     */
+    List<String> nearest(double[] scores, int k) {
+        double[] best = new double[titles.length];
+        Arrays.fill(best, Double.NaN);
+        foldBest(scores, 0, courses, best);
+        return topTitles(best, k);
+    }
+
+    /**
+     * Gets the {@code k} nearest titles of the profiles in {@code [from, to)},
+     * as {@link #nearest(double[], int)} would for each of them. The profiles
+     * are taken {@value #PROFILE_BLOCK} at a time and the courses
+     * {@value #COURSE_TILE} at a time, so a tile of features is scored
+     * against a whole block of profiles while it is in cache.
+     *
+     * @param ages    the ages
+     * @param genders the genders
+     * @param degrees the is-bachelor-or-higher flags
+     * @param from    the first profile
+     * @param to      the end profile
+     * @param k       the k
+     * @return the titles of every profile, in profile order
+     */
+    List<List<String>> nearest(int[] ages, int[] genders, int[] degrees, int from, int to, int k) {
+        ScoreKernel kernel = ScoreKernel.preferred();
+        List<List<String>> result = new ArrayList<>(to - from);
+        double[] scores = new double[courses];
+        double[][] best = new double[Math.min(PROFILE_BLOCK, to - from)][titles.length];
+        for (int blockFrom = from; blockFrom < to; blockFrom += PROFILE_BLOCK) {
+            int blockTo = Math.min(to, blockFrom + PROFILE_BLOCK);
+            for (int profile = blockFrom; profile < blockTo; profile++) {
+                Arrays.fill(best[profile - blockFrom], Double.NaN);
+            }
+            for (int tileFrom = 0; tileFrom < courses; tileFrom += COURSE_TILE) {
+                int tileTo = Math.min(courses, tileFrom + COURSE_TILE);
+                for (int profile = blockFrom; profile < blockTo; profile++) {
+                    kernel.score(features, courses, tileFrom, tileTo, ages[profile],
+                            genders[profile] * 100, degrees[profile] * 100, scores);
+                    foldBest(scores, tileFrom, tileTo, best[profile - blockFrom]);
+                }
+            }
+            for (int profile = blockFrom; profile < blockTo; profile++) {
+                result.add(topTitles(best[profile - blockFrom], k));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lowers the best score of every title to the scores of its courses in
+     * {@code [from, to)}. A NaN best score means no course has been seen yet,
+     * and {@link Double#compare} keeps NaN scores last as the sort did.
+     */
+    private void foldBest(double[] scores, int from, int to, double[] best) {
+        for (int course = from; course < to; course++) {
+            int rank = titleRanks[course];
+            if (Double.compare(scores[course], best[rank]) < 0) {
+                best[rank] = scores[course];
+            }
+        }
+    }
+
+    private List<String> topTitles(double[] best, int k) {
+        int[] heap = new int[Math.min(k, titles.length)];
+        int size = 0;
+        for (int rank = 0; rank < titles.length && heap.length > 0; rank++) {
+            if (size < heap.length) {
+                heap[size] = rank;
+                siftUp(heap, size++, best);
+            } else if (before(rank, heap[0], best)) {
+                heap[0] = rank;
+                siftDown(heap, size, best);
+            }
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = heap[i];
+        }
+        Arrays.sort(order, (x, y) -> before(x, y, best) ? -1 : before(y, x, best) ? 1 : 0);
+        List<String> result = new ArrayList<>(size);
+        for (int rank : order) {
+            result.add(titles[rank]);
+        }
+        return result;
+    }
+
+    /**
+     * Orders titles by best score, then alphabetically, which is rank order.
+     */
+    private static boolean before(int x, int y, double[] best) {
+        int c = Double.compare(best[x], best[y]);
+        return c < 0 || c == 0 && x < y;
+    }
+
+    /**
+     * Keeps the worst of the heap at its root.
+     */
+    private static void siftUp(int[] heap, int i, double[] best) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!before(heap[parent], heap[i], best)) {
+                return;
+            }
+            swap(heap, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, double[] best) {
+        int i = 0;
+        while (true) {
+            int worst = i;
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                if (before(heap[worst], heap[child], best)) {
+                    worst = child;
+                }
+            }
+            if (worst == i) {
+                return;
+            }
+            swap(heap, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int swap = heap[i];
+        heap[i] = heap[j];
+        heap[j] = swap;
+    }
+}
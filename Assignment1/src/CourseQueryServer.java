@@ -0,0 +1,271 @@
+package src;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * An HTTP front-end that answers the six queries of one shared
+ * {@link OnlineCoursesAnalyzer} as JSON:
+ * <pre>
+ * GET /ptcpCountByInst
+ * GET /ptcpCountByInstAndSubject
+ * GET /courseListOfInstructor
+ * GET /courseListOfInstructor?instructor=Anant%20Agarwal
+ * GET /courses?topK=10&amp;by=hours
+ * GET /searchCourses?subject=computer&amp;percentAudited=20&amp;totalHours=700
+ * GET /recommendCourses?age=25&amp;gender=1&amp;degree=1
+ * GET /metrics
+ * </pre>
+ * Each request runs on a virtual thread of its own when the JDK has them,
+ * and on a cached pool of platform threads otherwise. Every endpoint keeps
+ * a {@link LatencyHistogram} of the time from reading the request to
+ * sending the response, which {@code /metrics} reports in microseconds.
+ * A missing or malformed parameter is answered with status 400, and an
+ * unknown path with 404. The listen backlog is {@value #BACKLOG}, so that
+ * thousands of clients connecting at once are queued rather than refused.
+ */
+public final class CourseQueryServer implements AutoCloseable {
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    private static final int BACKLOG = 4096;
+
+    private final OnlineCoursesAnalyzer analyzer;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+
+    private CourseQueryServer(OnlineCoursesAnalyzer analyzer, InetSocketAddress address) throws IOException {
+        this.analyzer = analyzer;
+        ExecutorService virtual = virtualThreadExecutor();
+        virtualThreads = virtual != null;
+        executor = virtualThreads ? virtual : Executors.newCachedThreadPool(daemonThreads());
+        server = HttpServer.create(address, BACKLOG);
+        server.setExecutor(executor);
+        endpoint("/ptcpCountByInst", params -> analyzer.getPtcpCountByInst());
+        endpoint("/ptcpCountByInstAndSubject", params -> analyzer.getPtcpCountByInstAndSubject());
+        endpoint("/courseListOfInstructor", params -> params.containsKey("instructor")
+                ? analyzer.getCourseListOfInstructor(params.get("instructor"))
+                : analyzer.getCourseListOfInstructor());
+        endpoint("/courses", params -> analyzer.getCourses(intParam(params, "topK"), param(params, "by")));
+        endpoint("/searchCourses", params -> analyzer.searchCourses(param(params, "subject"),
+                doubleParam(params, "percentAudited"), doubleParam(params, "totalHours")));
+        endpoint("/recommendCourses", params -> analyzer.recommendCourses(intParam(params, "age"),
+                intParam(params, "gender"), intParam(params, "degree")));
+        endpoint("/metrics", params -> metrics());
+    }
+
+    /**
+     * Starts a server for the analyzer.
+     *
+     * @param analyzer the analyzer
+     * @param address  the address, with port 0 for any free port
+     * @return the server
+     * @throws IOException the io exception
+     */
+    public static CourseQueryServer start(OnlineCoursesAnalyzer analyzer, InetSocketAddress address)
+            throws IOException {
+        CourseQueryServer server = new CourseQueryServer(analyzer, address);
+        server.server.start();
+        return server;
+    }
+
+    /**
+     * Gets the analyzer.
+     *
+     * @return the analyzer
+     */
+    public OnlineCoursesAnalyzer getAnalyzer() {
+        return analyzer;
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets whether requests run on virtual threads.
+     *
+     * @return true if they do
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Gets the latency histogram of every endpoint, keyed by path.
+     *
+     * @return the latencies
+     */
+    public Map<String, LatencyHistogram> getLatencies() {
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    /**
+     * Stops accepting requests, waits a second for the ones in flight and
+     * stops the request threads.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+    }
+
+    private void endpoint(String path, Function<Map<String, String>, Object> query) {
+        LatencyHistogram latency = new LatencyHistogram();
+        latencies.put(path, latency);
+        server.createContext(path, exchange -> {
+            long start = System.nanoTime();
+            try (exchange) {
+                if (!path.equals(exchange.getRequestURI().getPath())) {
+                    respond(exchange, 404, error("Unknown path: " + exchange.getRequestURI().getPath()));
+                    return;
+                }
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", "GET");
+                    respond(exchange, 405, error("Only GET is supported"));
+                    return;
+                }
+                String body;
+                int status;
+                try {
+                    body = Json.write(query.apply(params(exchange.getRequestURI().getRawQuery())));
+                    status = 200;
+                } catch (IllegalArgumentException e) {
+                    body = error(e.getMessage());
+                    status = 400;
+                } catch (RuntimeException e) {
+                    body = error(e.toString());
+                    status = 500;
+                }
+                respond(exchange, status, body);
+            } finally {
+                latency.record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    private Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram latency = entry.getValue();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", latency.getCount());
+            stats.put("meanMicros", latency.getMean() / 1000);
+            stats.put("p50Micros", latency.getValueAtPercentile(50) / 1000.0);
+            stats.put("p90Micros", latency.getValueAtPercentile(90) / 1000.0);
+            stats.put("p99Micros", latency.getValueAtPercentile(99) / 1000.0);
+            stats.put("maxMicros", latency.getMax() / 1000.0);
+            metrics.put(entry.getKey(), stats);
+        }
+        return metrics;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String error(String message) {
+        return Json.write(Map.of("error", String.valueOf(message)));
+    }
+
+    private static Map<String, String> params(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String param(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static int intParam(Map<String, String> params, String name) {
+        try {
+            return Integer.parseInt(param(params, name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an integer: " + name);
+        }
+    }
+
+    private static double doubleParam(Map<String, String> params, String name) {
+        try {
+            return Double.parseDouble(param(params, name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + name);
+        }
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger next = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "course-query-" + next.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Serves a dataset until the process is stopped.
+     *
+     * @param args the dataset path and optionally the port, 8080 by default
+     * @throws IOException the io exception
+     */
+    public static void main(String[] args) throws IOException {
+        String datasetPath = args.length > 0 ? args[0] : "resources/local.csv";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        CourseQueryServer server = start(new OnlineCoursesAnalyzer(datasetPath), new InetSocketAddress(port));
+        System.out.println("Serving " + datasetPath + " on port " + server.getPort()
+                + (server.usesVirtualThreads() ? " with virtual threads" : " with platform threads"));
+    }
+}
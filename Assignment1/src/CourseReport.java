@@ -0,0 +1,147 @@
+package src;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+
+/**
+ * The answers of {@link OnlineCoursesAnalyzer#getPtcpCountByInst()},
+ * {@link OnlineCoursesAnalyzer#getPtcpCountByInstAndSubject()} and
+ * {@link OnlineCoursesAnalyzer#recommendCourses} for a course CSV, read in
+ * one streaming pass that keeps no course. Parsed rows fill one reused batch
+ * table, and every full batch is folded into the participant totals and the
+ * per-number audience means before the batch is cleared. Memory holds the
+ * batch and the aggregation state: the totals, one profile per course number
+ * and the dictionaries of the institution, subject, number and title
+ * columns. Files far larger than the heap can be read, and the report is
+ * complete when the end of the file is reached.
+ */
+public final class CourseReport {
+    /**
+     * The default number of rows per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1 << 14;
+
+    private static final TextColumn[] KEPT_COLUMNS = {
+            TextColumn.INSTITUTION, TextColumn.SUBJECT, TextColumn.NUMBER, TextColumn.TITLE
+    };
+
+    private final long rows;
+    private final Map<String, Integer> ptcpCountByInst;
+    private final Map<String, Integer> ptcpCountByInstAndSubject;
+    private final CourseProfiles profiles;
+
+    private CourseReport(long rows, Map<String, Integer> ptcpCountByInst,
+                         Map<String, Integer> ptcpCountByInstAndSubject, CourseProfiles profiles) {
+        this.rows = rows;
+        this.ptcpCountByInst = Collections.unmodifiableMap(ptcpCountByInst);
+        this.ptcpCountByInstAndSubject = Collections.unmodifiableMap(ptcpCountByInstAndSubject);
+        this.profiles = profiles;
+    }
+
+    /**
+     * Reads a course CSV in batches of {@value #DEFAULT_BATCH_SIZE} rows.
+     *
+     * @param datasetPath the dataset path
+     * @return the report
+     * @throws IOException the io exception
+     */
+    public static CourseReport read(String datasetPath) throws IOException {
+        return read(datasetPath, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Reads a course CSV in batches of the given number of rows.
+     *
+     * @param datasetPath the dataset path
+     * @param batchSize   the batch size
+     * @return the report
+     * @throws IOException the io exception
+     */
+    public static CourseReport read(String datasetPath, int batchSize) throws IOException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        HeapCourseTable batch = new HeapCourseTable();
+        GroupByAggregator byInst = new GroupByAggregator(IntColumn.PARTICIPANTS, TextColumn.INSTITUTION);
+        GroupByAggregator byInstAndSubject = new GroupByAggregator(IntColumn.PARTICIPANTS,
+                TextColumn.INSTITUTION, TextColumn.SUBJECT);
+        CourseProfiles.Accumulator means = new CourseProfiles.Accumulator();
+        try (Reader reader = new FileReader(datasetPath, StandardCharsets.UTF_8)) {
+            new CourseCsvParser(reader).parse(course -> {
+                batch.add(course);
+                if (batch.size() == batchSize) {
+                    fold(batch, byInst, byInstAndSubject, means);
+                }
+            });
+        }
+        fold(batch, byInst, byInstAndSubject, means);
+
+        long rows = 0;
+        for (int group = 0; group < byInst.groupCount(); group++) {
+            rows += byInst.count(group);
+        }
+        StringDictionary institutions = batch.dictionary(TextColumn.INSTITUTION);
+        return new CourseReport(rows,
+                OnlineCoursesAnalyzer.institutionTotals(byInst, institutions),
+                OnlineCoursesAnalyzer.institutionSubjectTotals(byInstAndSubject, institutions,
+                        batch.dictionary(TextColumn.SUBJECT)),
+                means.profiles(batch.dictionary(TextColumn.NUMBER).size(), batch.dictionary(TextColumn.TITLE)));
+    }
+
+    private static void fold(HeapCourseTable batch, GroupByAggregator byInst, GroupByAggregator byInstAndSubject,
+                             CourseProfiles.Accumulator means) {
+        byInst.accumulate(batch);
+        byInstAndSubject.accumulate(batch);
+        means.accumulate(batch);
+        batch.clear(KEPT_COLUMNS);
+    }
+
+    /**
+     * Gets the number of rows read.
+     *
+     * @return the rows
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets ptcp count by inst.
+     *
+     * @return the ptcp count by inst
+     */
+    public Map<String, Integer> getPtcpCountByInst() {
+        return ptcpCountByInst;
+    }
+
+    /**
+     * Gets ptcp count by inst and subject.
+     *
+     * @return the ptcp count by inst and subject
+     */
+    public Map<String, Integer> getPtcpCountByInstAndSubject() {
+        return ptcpCountByInstAndSubject;
+    }
+
+    /**
+     * Recommends courses from the per-number means of the report.
+     *
+     * @param age                the age
+     * @param gender             the gender
+     * @param isBachelorOrHigher the is bachelor or higher
+     * @return the courses
+     */
+    public List<String> recommendCourses(int age, int gender, int isBachelorOrHigher) {
+        double[] scores = new double[profiles.courseCount()];
+        profiles.score(age, gender, isBachelorOrHigher, scores);
+        return profiles.nearest(scores, 10);
+    }
+}
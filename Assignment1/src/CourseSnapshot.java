@@ -0,0 +1,187 @@
+package src;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+
+/**
+ * Reads and writes the binary snapshot of a {@link CourseTable}.
+ * All values are little-endian. The file is a 16-byte header (magic, version,
+ * row count, reserved), the fixed-width columns in declaration order (text
+ * ids, then ints, padded to 8 bytes, then doubles) and finally one dictionary
+ * per text column as a count followed by length-prefixed UTF-8 values.
+ * Every column is mapped on its own, so a column rather than the whole
+ * file must fit in a single mapping.
+ */
+final class CourseSnapshot {
+    /**
+     * The first four bytes of every snapshot, "CSNP".
+     */
+    static final int MAGIC = 0x43534e50;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final TextColumn[] TEXT_COLUMNS = TextColumn.values();
+    private static final IntColumn[] INT_COLUMNS = IntColumn.values();
+    private static final DoubleColumn[] DOUBLE_COLUMNS = DoubleColumn.values();
+
+    private CourseSnapshot() {
+    }
+
+    /**
+     * Checks whether a file starts with the snapshot magic.
+     *
+     * @param path the path
+     * @return true if the file is a snapshot
+     * @throws IOException the io exception
+     */
+    static boolean isSnapshot(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // keep reading until four bytes or the end of the file
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Writes a table as a snapshot.
+     *
+     * @param table the table
+     * @param path  the path
+     * @throws IOException the io exception
+     */
+    static void write(CourseTable table, Path path) throws IOException {
+        int rows = table.size();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(0);
+            for (TextColumn column : TEXT_COLUMNS) {
+                for (int row = 0; row < rows; row++) {
+                    buffer = ensure(channel, buffer, Integer.BYTES);
+                    buffer.putInt(table.getId(column, row));
+                }
+            }
+            for (IntColumn column : INT_COLUMNS) {
+                for (int row = 0; row < rows; row++) {
+                    buffer = ensure(channel, buffer, Integer.BYTES);
+                    buffer.putInt(table.getInt(column, row));
+                }
+            }
+            if (intSectionEnd(rows) % Double.BYTES != 0) {
+                buffer = ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(0);
+            }
+            for (DoubleColumn column : DOUBLE_COLUMNS) {
+                for (int row = 0; row < rows; row++) {
+                    buffer = ensure(channel, buffer, Double.BYTES);
+                    buffer.putDouble(table.getDouble(column, row));
+                }
+            }
+            for (TextColumn column : TEXT_COLUMNS) {
+                StringDictionary dictionary = table.dictionary(column);
+                buffer = ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(dictionary.size());
+                for (int id = 0; id < dictionary.size(); id++) {
+                    byte[] bytes = dictionary.get(id).getBytes(StandardCharsets.UTF_8);
+                    buffer = ensure(channel, buffer, Integer.BYTES + bytes.length);
+                    buffer.putInt(bytes.length).put(bytes);
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Opens a snapshot without copying its columns onto the heap.
+     *
+     * @param path the path
+     * @return the table
+     * @throws IOException the io exception
+     */
+    static CourseTable open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = map(channel, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a course snapshot: " + path);
+            }
+            int rows = header.getInt(8);
+            long offset = HEADER_SIZE;
+            IntBuffer[] ids = new IntBuffer[TEXT_COLUMNS.length];
+            for (int i = 0; i < ids.length; i++, offset += (long) rows * Integer.BYTES) {
+                ids[i] = map(channel, offset, (long) rows * Integer.BYTES).asIntBuffer();
+            }
+            IntBuffer[] ints = new IntBuffer[INT_COLUMNS.length];
+            for (int i = 0; i < ints.length; i++, offset += (long) rows * Integer.BYTES) {
+                ints[i] = map(channel, offset, (long) rows * Integer.BYTES).asIntBuffer();
+            }
+            offset = align(offset);
+            DoubleBuffer[] doubles = new DoubleBuffer[DOUBLE_COLUMNS.length];
+            for (int i = 0; i < doubles.length; i++, offset += (long) rows * Double.BYTES) {
+                doubles[i] = map(channel, offset, (long) rows * Double.BYTES).asDoubleBuffer();
+            }
+            ByteBuffer section = map(channel, offset, channel.size() - offset);
+            StringDictionary[] dictionaries = new StringDictionary[TEXT_COLUMNS.length];
+            for (int i = 0; i < dictionaries.length; i++) {
+                dictionaries[i] = new StringDictionary();
+                int count = section.getInt();
+                for (int id = 0; id < count; id++) {
+                    byte[] bytes = new byte[section.getInt()];
+                    section.get(bytes);
+                    dictionaries[i].intern(new String(bytes, StandardCharsets.UTF_8));
+                }
+            }
+            return new MappedCourseTable(rows, dictionaries, ids, ints, doubles);
+        }
+    }
+
+    private static long intSectionEnd(int rows) {
+        return HEADER_SIZE + (long) (TEXT_COLUMNS.length + INT_COLUMNS.length) * rows * Integer.BYTES;
+    }
+
+    private static long align(long offset) {
+        return (offset + Double.BYTES - 1) / Double.BYTES * Double.BYTES;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot section of " + length + " bytes is too large to map");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static ByteBuffer ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        flush(channel, buffer);
+        if (buffer.capacity() < bytes) {
+            return ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return buffer;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
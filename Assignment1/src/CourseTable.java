@@ -0,0 +1,167 @@
+package src;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read access to the courses in columnar form. Text columns are dictionary
+ * encoded, launch dates are stored as epoch days and every other column is a
+ * primitive int or double. Rows are numbered from 0 in file order.
+ */
+public abstract class CourseTable {
+    /**
+     * A column whose cells are ints, which makes it usable as a grouping key.
+     */
+    public interface KeyColumn {
+        /**
+         * Gets the cell of this column as an int.
+         *
+         * @param table the table
+         * @param row   the row
+         * @return the key
+         */
+        int key(CourseTable table, int row);
+    }
+
+    /**
+     * A column whose cells are numbers, which makes it usable for ranking.
+     */
+    public interface NumericColumn {
+        /**
+         * Gets the cell of this column as a double.
+         *
+         * @param table the table
+         * @param row   the row
+         * @return the value
+         */
+        double value(CourseTable table, int row);
+    }
+
+    /**
+     * The dictionary-encoded text columns.
+     */
+    public enum TextColumn implements KeyColumn {
+        INSTITUTION, NUMBER, TITLE, INSTRUCTORS, SUBJECT;
+
+        @Override
+        public int key(CourseTable table, int row) {
+            return table.getId(this, row);
+        }
+    }
+
+    /**
+     * The int columns.
+     */
+    public enum IntColumn implements KeyColumn, NumericColumn {
+        LAUNCH_DAY, YEAR, HONOR_CODE, PARTICIPANTS, AUDITED, CERTIFIED;
+
+        @Override
+        public int key(CourseTable table, int row) {
+            return table.getInt(this, row);
+        }
+
+        @Override
+        public double value(CourseTable table, int row) {
+            return table.getInt(this, row);
+        }
+    }
+
+    /**
+     * The double columns.
+     */
+    public enum DoubleColumn implements NumericColumn {
+        PERCENT_AUDITED, PERCENT_CERTIFIED, PERCENT_CERTIFIED_50, PERCENT_VIDEO, PERCENT_FORUM,
+        GRADE_HIGHER_ZERO, TOTAL_HOURS, MEDIAN_HOURS_CERTIFICATION, MEDIAN_AGE,
+        PERCENT_MALE, PERCENT_FEMALE, PERCENT_DEGREE;
+
+        @Override
+        public double value(CourseTable table, int row) {
+            return table.getDouble(this, row);
+        }
+    }
+
+    private static final Map<String, NumericColumn> NUMERIC_COLUMNS = new HashMap<>();
+
+    static {
+        for (IntColumn column : IntColumn.values()) {
+            NUMERIC_COLUMNS.put(fieldName(column), column);
+        }
+        for (DoubleColumn column : DoubleColumn.values()) {
+            NUMERIC_COLUMNS.put(fieldName(column), column);
+        }
+        NUMERIC_COLUMNS.put("hours", DoubleColumn.TOTAL_HOURS);
+    }
+
+    /**
+     * Finds a numeric column by its field name, e.g. {@code participants},
+     * {@code percentAudited} or {@code medianHoursCertification}, or by the
+     * short name {@code hours} for the total course hours.
+     *
+     * @param name the name
+     * @return the column, or null if there is none of that name
+     */
+    public static NumericColumn numericColumn(String name) {
+        return NUMERIC_COLUMNS.get(name);
+    }
+
+    private static String fieldName(Enum<?> column) {
+        StringBuilder name = new StringBuilder();
+        for (String word : column.name().toLowerCase().split("_")) {
+            name.append(name.length() == 0 ? word : Character.toUpperCase(word.charAt(0)) + word.substring(1));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the size
+     */
+    public abstract int size();
+
+    /**
+     * Gets the dictionary id of a text cell.
+     *
+     * @param column the column
+     * @param row    the row
+     * @return the id
+     */
+    public abstract int getId(TextColumn column, int row);
+
+    /**
+     * Gets an int cell.
+     *
+     * @param column the column
+     * @param row    the row
+     * @return the value
+     */
+    public abstract int getInt(IntColumn column, int row);
+
+    /**
+     * Gets a double cell.
+     *
+     * @param column the column
+     * @param row    the row
+     * @return the value
+     */
+    public abstract double getDouble(DoubleColumn column, int row);
+
+    /**
+     * Gets the dictionary of a text column.
+     *
+     * @param column the column
+     * @return the dictionary
+     */
+    public abstract StringDictionary dictionary(TextColumn column);
+
+    /**
+     * Gets a text cell.
+     *
+     * @param column the column
+     * @param row    the row
+     * @return the value
+     */
+    public String getText(TextColumn column, int row) {
+        return dictionary(column).get(getId(column, row));
+    }
+}
@@ -0,0 +1,65 @@
+package src;
+
+/**
+ * Conversions between proleptic Gregorian dates and epoch days, the days
+ * since 1970-01-01 that {@link java.time.LocalDate#toEpochDay()} counts,
+ * done with integer arithmetic so that no date object is created. Months
+ * are numbered from year zero, {@code 12 * year + month - 1}, so that
+ * consecutive months are consecutive numbers.
+ */
+final class EpochDays {
+    private static final int DAYS_PER_ERA = 146_097;
+    private static final int DAYS_0000_TO_1970 = 719_468;
+
+    private EpochDays() {
+    }
+
+    /**
+     * Gets the epoch day of a date.
+     *
+     * @param year  the year
+     * @param month the month, from 1 to 12
+     * @param day   the day of the month
+     * @return the epoch day
+     */
+    static int of(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Gets the month of an epoch day.
+     *
+     * @param epochDay the epoch day
+     * @return the month, {@code 12 * year + month - 1}
+     */
+    static int month(int epochDay) {
+        int days = epochDay + DAYS_0000_TO_1970;
+        int era = Math.floorDiv(days, DAYS_PER_ERA);
+        int dayOfEra = days - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return 12 * year + month - 1;
+    }
+
+    /**
+     * Gets the number of days of a month.
+     *
+     * @param year  the year
+     * @param month the month, from 1 to 12
+     * @return the length of the month
+     */
+    static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+}
@@ -0,0 +1,264 @@
+package src;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import src.CourseTable.IntColumn;
+import src.CourseTable.KeyColumn;
+
+/**
+ * Groups table rows by a tuple of int keys in one pass and keeps a count and
+ * the long sum, min and max of one int measure per group. Key tuples are
+ * stored flat in an int array and found through an open-addressing hash
+ * table, so neither keys nor accumulators are boxed.
+ */
+final class GroupByAggregator {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final KeyColumn[] keys;
+    private final IntColumn measure;
+    private final int width;
+    private int[] slots = new int[INITIAL_CAPACITY];
+    private int[] groupKeys;
+    private long[] counts;
+    private long[] sums;
+    private long[] mins;
+    private long[] maxs;
+    private int groups;
+
+    /**
+     * Instantiates a new Group by aggregator.
+     *
+     * @param measure the measure
+     * @param keys    the key tuple
+     */
+    GroupByAggregator(IntColumn measure, KeyColumn... keys) {
+        this.keys = keys;
+        this.measure = measure;
+        this.width = keys.length;
+        int capacity = INITIAL_CAPACITY / 2;
+        groupKeys = new int[capacity * width];
+        counts = new long[capacity];
+        sums = new long[capacity];
+        mins = new long[capacity];
+        maxs = new long[capacity];
+    }
+
+    /**
+     * Adds rows {@code [from, to)} of a table.
+     *
+     * @param table the table
+     * @param from  the first row
+     * @param to    the end row
+     * @return this aggregator
+     */
+    GroupByAggregator accumulate(CourseTable table, int from, int to) {
+        int[] tuple = new int[width];
+        for (int row = from; row < to; row++) {
+            for (int i = 0; i < width; i++) {
+                tuple[i] = keys[i].key(table, row);
+            }
+            add(groupOf(tuple), measure.key(table, row));
+        }
+        return this;
+    }
+
+    /**
+     * Adds every row of a table.
+     *
+     * @param table the table
+     * @return this aggregator
+     */
+    GroupByAggregator accumulate(CourseTable table) {
+        return accumulate(table, 0, table.size());
+    }
+
+    /**
+     * Gets a copy of this aggregator with rows {@code [from, to)} of a table
+     * added, leaving this one as it is.
+     *
+     * @param table the table
+     * @param from  the first row
+     * @param to    the end row
+     * @return the copy
+     */
+    GroupByAggregator extend(CourseTable table, int from, int to) {
+        GroupByAggregator copy = new GroupByAggregator(measure, keys);
+        copy.slots = slots.clone();
+        copy.groupKeys = groupKeys.clone();
+        copy.counts = counts.clone();
+        copy.sums = sums.clone();
+        copy.mins = mins.clone();
+        copy.maxs = maxs.clone();
+        copy.groups = groups;
+        return copy.accumulate(table, from, to);
+    }
+
+    /**
+     * Folds the groups of another aggregator over the same keys and measure
+     * into this one.
+     *
+     * @param other the other
+     * @return this aggregator
+     */
+    GroupByAggregator merge(GroupByAggregator other) {
+        int[] tuple = new int[width];
+        for (int from = 0; from < other.groups; from++) {
+            System.arraycopy(other.groupKeys, from * width, tuple, 0, width);
+            int group = groupOf(tuple);
+            if (counts[group] == 0) {
+                mins[group] = other.mins[from];
+                maxs[group] = other.maxs[from];
+            } else {
+                mins[group] = Math.min(mins[group], other.mins[from]);
+                maxs[group] = Math.max(maxs[group], other.maxs[from]);
+            }
+            counts[group] += other.counts[from];
+            sums[group] += other.sums[from];
+        }
+        return this;
+    }
+
+    /**
+     * Aggregates every row of a table, one aggregator per row range on the
+     * pool, merged in row order.
+     *
+     * @param table   the table
+     * @param pool    the pool, or null to run on the calling thread
+     * @param measure the measure
+     * @param keys    the key tuple
+     * @return the aggregator holding all groups
+     */
+    static GroupByAggregator accumulate(CourseTable table, ForkJoinPool pool, IntColumn measure, KeyColumn... keys) {
+        return RowPartitioner.reduce(table.size(), pool,
+                (from, to) -> new GroupByAggregator(measure, keys).accumulate(table, from, to),
+                GroupByAggregator::merge);
+    }
+
+    private void add(int group, long value) {
+        if (counts[group]++ == 0) {
+            mins[group] = value;
+            maxs[group] = value;
+        } else {
+            mins[group] = Math.min(mins[group], value);
+            maxs[group] = Math.max(maxs[group], value);
+        }
+        sums[group] += value;
+    }
+
+    /**
+     * Finds the group of a key tuple, creating it if needed.
+     */
+    private int groupOf(int[] tuple) {
+        int mask = slots.length - 1;
+        for (int slot = hash(tuple) & mask; ; slot = (slot + 1) & mask) {
+            int group = slots[slot] - 1;
+            if (group < 0) {
+                return newGroup(slot, tuple);
+            }
+            if (Arrays.equals(groupKeys, group * width, group * width + width, tuple, 0, width)) {
+                return group;
+            }
+        }
+    }
+
+    private int newGroup(int slot, int[] tuple) {
+        int group = groups++;
+        if (group == counts.length) {
+            int capacity = counts.length * 2;
+            groupKeys = Arrays.copyOf(groupKeys, capacity * width);
+            counts = Arrays.copyOf(counts, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+            mins = Arrays.copyOf(mins, capacity);
+            maxs = Arrays.copyOf(maxs, capacity);
+        }
+        System.arraycopy(tuple, 0, groupKeys, group * width, width);
+        slots[slot] = group + 1;
+        if (groups * 2 > slots.length) {
+            rehash();
+        }
+        return group;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        int[] tuple = new int[width];
+        for (int group = 0; group < groups; group++) {
+            System.arraycopy(groupKeys, group * width, tuple, 0, width);
+            int slot = hash(tuple) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = group + 1;
+        }
+    }
+
+    private static int hash(int[] tuple) {
+        int h = 0;
+        for (int key : tuple) {
+            h = (h + key) * 0x9E3779B9;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Gets the number of groups.
+     *
+     * @return the number of groups
+     */
+    int groupCount() {
+        return groups;
+    }
+
+    /**
+     * Gets one key of a group's tuple.
+     *
+     * @param group    the group
+     * @param position the position of the key in the tuple
+     * @return the key
+     */
+    int key(int group, int position) {
+        return groupKeys[group * width + position];
+    }
+
+    /**
+     * Gets the number of rows of a group.
+     *
+     * @param group the group
+     * @return the count
+     */
+    long count(int group) {
+        return counts[group];
+    }
+
+    /**
+     * Gets the sum of the measure over a group.
+     *
+     * @param group the group
+     * @return the sum
+     */
+    long sum(int group) {
+        return sums[group];
+    }
+
+    /**
+     * Gets the smallest measure of a group.
+     *
+     * @param group the group
+     * @return the min
+     */
+    long min(int group) {
+        return mins[group];
+    }
+
+    /**
+     * Gets the largest measure of a group.
+     *
+     * @param group the group
+     * @return the max
+     */
+    long max(int group) {
+        return maxs[group];
+    }
+}
@@ -0,0 +1,200 @@
+package src;
+
+import java.util.Arrays;
+
+/**
+ * A growable {@link CourseTable} backed by one primitive array per column.
+ * A {@link #snapshot()} is a read-only view of the rows added so far that
+ * shares the column arrays; the table only writes past the rows of its
+ * snapshots, and copies an array before growing it, so a snapshot can be
+ * read by other threads while rows are added.
+ */
+final class HeapCourseTable extends CourseTable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StringDictionary[] dictionaries = new StringDictionary[TextColumn.values().length];
+    private final int[][] ids = new int[TextColumn.values().length][];
+    private final int[][] ints = new int[IntColumn.values().length][];
+    private final double[][] doubles = new double[DoubleColumn.values().length][];
+    private final boolean readOnly;
+    private int size;
+
+    /**
+     * Instantiates a new empty table.
+     */
+    HeapCourseTable() {
+        readOnly = false;
+        for (int i = 0; i < dictionaries.length; i++) {
+            dictionaries[i] = new StringDictionary();
+            ids[i] = new int[INITIAL_CAPACITY];
+        }
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = new int[INITIAL_CAPACITY];
+        }
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = new double[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Instantiates a new table holding a copy of another one. The values of
+     * every dictionary are interned in id order, so the copy keeps the ids
+     * of the source.
+     *
+     * @param source the source
+     */
+    HeapCourseTable(CourseTable source) {
+        readOnly = false;
+        size = source.size();
+        int capacity = Math.max(INITIAL_CAPACITY, size);
+        for (TextColumn column : TextColumn.values()) {
+            StringDictionary dictionary = new StringDictionary();
+            StringDictionary values = source.dictionary(column);
+            for (int id = 0; id < values.size(); id++) {
+                dictionary.intern(values.get(id));
+            }
+            dictionaries[column.ordinal()] = dictionary;
+            ids[column.ordinal()] = new int[capacity];
+            for (int row = 0; row < size; row++) {
+                ids[column.ordinal()][row] = source.getId(column, row);
+            }
+        }
+        for (IntColumn column : IntColumn.values()) {
+            ints[column.ordinal()] = new int[capacity];
+            for (int row = 0; row < size; row++) {
+                ints[column.ordinal()][row] = source.getInt(column, row);
+            }
+        }
+        for (DoubleColumn column : DoubleColumn.values()) {
+            doubles[column.ordinal()] = new double[capacity];
+            for (int row = 0; row < size; row++) {
+                doubles[column.ordinal()][row] = source.getDouble(column, row);
+            }
+        }
+    }
+
+    private HeapCourseTable(HeapCourseTable source) {
+        readOnly = true;
+        size = source.size;
+        for (int i = 0; i < dictionaries.length; i++) {
+            dictionaries[i] = source.dictionaries[i].snapshot();
+        }
+        System.arraycopy(source.ids, 0, ids, 0, ids.length);
+        System.arraycopy(source.ints, 0, ints, 0, ints.length);
+        System.arraycopy(source.doubles, 0, doubles, 0, doubles.length);
+    }
+
+    /**
+     * Gets a read-only view of the rows added so far.
+     *
+     * @return the snapshot
+     */
+    HeapCourseTable snapshot() {
+        return readOnly ? this : new HeapCourseTable(this);
+    }
+
+    /**
+     * Appends a course as the last row.
+     *
+     * @param course the course
+     */
+    void add(Course course) {
+        if (readOnly) {
+            throw new IllegalStateException("Cannot add courses to a table snapshot");
+        }
+        if (size == ints[0].length) {
+            grow();
+        }
+        int row = size;
+        setId(TextColumn.INSTITUTION, row, course.institution);
+        setId(TextColumn.NUMBER, row, course.number);
+        setId(TextColumn.TITLE, row, course.title);
+        setId(TextColumn.INSTRUCTORS, row, course.instructors);
+        setId(TextColumn.SUBJECT, row, course.subject);
+        ints[IntColumn.LAUNCH_DAY.ordinal()][row] = course.launchDay;
+        ints[IntColumn.YEAR.ordinal()][row] = course.year;
+        ints[IntColumn.HONOR_CODE.ordinal()][row] = course.honorCode;
+        ints[IntColumn.PARTICIPANTS.ordinal()][row] = course.participants;
+        ints[IntColumn.AUDITED.ordinal()][row] = course.audited;
+        ints[IntColumn.CERTIFIED.ordinal()][row] = course.certified;
+        doubles[DoubleColumn.PERCENT_AUDITED.ordinal()][row] = course.percentAudited;
+        doubles[DoubleColumn.PERCENT_CERTIFIED.ordinal()][row] = course.percentCertified;
+        doubles[DoubleColumn.PERCENT_CERTIFIED_50.ordinal()][row] = course.percentCertified50;
+        doubles[DoubleColumn.PERCENT_VIDEO.ordinal()][row] = course.percentVideo;
+        doubles[DoubleColumn.PERCENT_FORUM.ordinal()][row] = course.percentForum;
+        doubles[DoubleColumn.GRADE_HIGHER_ZERO.ordinal()][row] = course.gradeHigherZero;
+        doubles[DoubleColumn.TOTAL_HOURS.ordinal()][row] = course.totalHours;
+        doubles[DoubleColumn.MEDIAN_HOURS_CERTIFICATION.ordinal()][row] = course.medianHoursCertification;
+        doubles[DoubleColumn.MEDIAN_AGE.ordinal()][row] = course.medianAge;
+        doubles[DoubleColumn.PERCENT_MALE.ordinal()][row] = course.percentMale;
+        doubles[DoubleColumn.PERCENT_FEMALE.ordinal()][row] = course.percentFemale;
+        doubles[DoubleColumn.PERCENT_DEGREE.ordinal()][row] = course.percentDegree;
+        size++;
+    }
+
+    /**
+     * Removes every row so the table can be filled again, reusing its
+     * arrays. The dictionaries of the kept columns stay, so ids read from
+     * earlier rows keep their meaning; the others start empty. A table with
+     * snapshots must not be cleared, since they share its arrays.
+     *
+     * @param kept the columns whose dictionaries stay
+     */
+    void clear(TextColumn... kept) {
+        if (readOnly) {
+            throw new IllegalStateException("Cannot clear a table snapshot");
+        }
+        boolean[] keep = new boolean[dictionaries.length];
+        for (TextColumn column : kept) {
+            keep[column.ordinal()] = true;
+        }
+        for (int i = 0; i < dictionaries.length; i++) {
+            if (!keep[i]) {
+                dictionaries[i] = new StringDictionary();
+            }
+        }
+        size = 0;
+    }
+
+    private void setId(TextColumn column, int row, String value) {
+        ids[column.ordinal()][row] = dictionaries[column.ordinal()].intern(value);
+    }
+
+    private void grow() {
+        int capacity = size * 2;
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = Arrays.copyOf(ids[i], capacity);
+        }
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = Arrays.copyOf(ints[i], capacity);
+        }
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = Arrays.copyOf(doubles[i], capacity);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getId(TextColumn column, int row) {
+        return ids[column.ordinal()][row];
+    }
+
+    @Override
+    public int getInt(IntColumn column, int row) {
+        return ints[column.ordinal()][row];
+    }
+
+    @Override
+    public double getDouble(DoubleColumn column, int row) {
+        return doubles[column.ordinal()][row];
+    }
+
+    @Override
+    public StringDictionary dictionary(TextColumn column) {
+        return dictionaries[column.ordinal()];
+    }
+}
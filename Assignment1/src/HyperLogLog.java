@@ -0,0 +1,120 @@
+package src;
+
+/**
+ * An estimate of the number of distinct strings added, in a fixed
+ * {@code 2^precision} bytes however many there are. Each string is hashed
+ * to 64 bits; the first {@code precision} bits pick a register, which keeps
+ * the longest run of leading zeros seen in the remaining bits. The estimate
+ * is the bias-corrected harmonic mean of the registers, switching to linear
+ * counting of the empty registers while many are still empty.
+ * <p>
+ * The relative standard error is {@code 1.04 / sqrt(2^precision)}: 0.81% at
+ * the default precision of {@value #DEFAULT_PRECISION}, so an estimate is
+ * within 2.5% of the true count in more than 99% of cases. With 64-bit
+ * hashes no correction for large counts is needed below billions of values.
+ */
+public final class HyperLogLog {
+    /**
+     * The default precision, 16 KB of registers.
+     */
+    public static final int DEFAULT_PRECISION = 14;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Instantiates a new Hyper log log with the default precision.
+     */
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Instantiates a new Hyper log log.
+     *
+     * @param precision the number of hash bits that pick a register, from 4 to 18
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("Precision must be between 4 and 18: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value
+     */
+    public void add(CharSequence value) {
+        addHash(StringHash.hash64(value));
+    }
+
+    /**
+     * Adds a value by its 64-bit hash.
+     *
+     * @param hash the hash
+     */
+    void addHash(long hash) {
+        int register = (int) (hash >>> (64 - precision));
+        int rank = Long.numberOfLeadingZeros(hash << precision | 1L << (precision - 1)) + 1;
+        if (rank > registers[register]) {
+            registers[register] = (byte) rank;
+        }
+    }
+
+    /**
+     * Folds the values of another estimator of the same precision into this one.
+     *
+     * @param other the other
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Precisions differ: " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+    }
+
+    /**
+     * Gets the estimated number of distinct values.
+     *
+     * @return the estimate
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int empty = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                empty++;
+            }
+        }
+        double estimate = 0.7213 / (1 + 1.079 / m) * m * m / sum;
+        if (estimate <= 2.5 * m && empty > 0) {
+            estimate = m * Math.log((double) m / empty);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Gets the relative standard error of the estimate.
+     *
+     * @return the standard error
+     */
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    /**
+     * Gets the size of the registers.
+     *
+     * @return the bytes
+     */
+    public int sizeInBytes() {
+        return registers.length;
+    }
+}
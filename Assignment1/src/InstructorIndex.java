@@ -0,0 +1,327 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import src.CourseTable.TextColumn;
+
+/**
+ * The distinct titles every instructor taught alone and together with
+ * others, as a compressed sparse row adjacency over a dictionary of
+ * instructor names. The titles of slot {@code 2 * id} are the courses
+ * instructor {@code id} taught alone and those of slot {@code 2 * id + 1}
+ * the co-taught ones; slot {@code s} holds
+ * {@code titles[offsets[s], offsets[s + 1])}, sorted by title. A course is
+ * taught alone when its instructors value names one distinct instructor.
+ */
+final class InstructorIndex {
+    private static final String SEPARATOR = ", ";
+
+    private final StringDictionary liveNames;
+    private final StringDictionary names;
+    private final int[][] namesOfList;
+    private final int rows;
+    private final int[] offsets;
+    private final int[] titles;
+
+    private InstructorIndex(StringDictionary liveNames, int[][] namesOfList, int rows, int[] offsets, int[] titles) {
+        this.liveNames = liveNames;
+        this.names = liveNames.snapshot();
+        this.namesOfList = namesOfList;
+        this.rows = rows;
+        this.offsets = offsets;
+        this.titles = titles;
+    }
+
+    /**
+     * Builds the index of a table. The instructor names are split and the
+     * titles ranked first; then every worker of the pool, when one is given,
+     * sorts the edges of its own row range, and the sorted runs are merged
+     * in row order.
+     *
+     * @param table the table
+     * @param pool  the pool, or null to build on the calling thread
+     * @return the index
+     */
+    static InstructorIndex build(CourseTable table, ForkJoinPool pool) {
+        StringDictionary liveNames = new StringDictionary();
+        int[][] namesOfList = namesOfLists(table, liveNames, new int[0][]);
+        StringDictionary titleValues = table.dictionary(TextColumn.TITLE);
+        int[] ids = new int[titleValues.size()];
+        for (int id = 0; id < ids.length; id++) {
+            ids[id] = id;
+        }
+        int[] byTitle = titleOrder(ids, titleValues);
+        int[] rankOfId = new int[byTitle.length];
+        for (int rank = 0; rank < byTitle.length; rank++) {
+            rankOfId[byTitle[rank]] = rank;
+        }
+        long[] edges = RowPartitioner.reduce(table.size(), pool,
+                (from, to) -> rankedEdges(table, namesOfList, rankOfId, from, to),
+                InstructorIndex::mergeRuns);
+
+        int slots = 2 * liveNames.size();
+        int[] offsets = new int[slots + 1];
+        int[] titles = new int[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            offsets[(int) (edges[i] >>> 32) + 1]++;
+            titles[i] = byTitle[(int) edges[i]];
+        }
+        for (int slot = 0; slot < slots; slot++) {
+            offsets[slot + 1] += offsets[slot];
+        }
+        return new InstructorIndex(liveNames, namesOfList, table.size(), offsets, titles);
+    }
+
+    /**
+     * Gets the index of a larger table holding the rows of the indexed one as
+     * its first rows. Only the new rows are read: their edges are sorted on
+     * their own and merged into the slots of this index in one pass, so an
+     * append costs time in the new rows and a copy of the slots. The
+     * instructor dictionary is shared and only grows, so this index is
+     * extended at most once.
+     *
+     * @param larger the larger table
+     * @return the index
+     */
+    InstructorIndex extend(CourseTable larger) {
+        int[][] lists = namesOfLists(larger, liveNames, namesOfList);
+        long[] added = edges(larger, lists, rows, larger.size());
+        StringDictionary titleValues = larger.dictionary(TextColumn.TITLE);
+        int addedCount = sortByTitle(added, titleValues);
+
+        int slots = 2 * liveNames.size();
+        int[] mergedOffsets = new int[slots + 1];
+        int[] merged = new int[titles.length + addedCount];
+        int size = 0;
+        int next = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            mergedOffsets[slot] = size;
+            int from = slot + 1 < offsets.length ? offsets[slot] : titles.length;
+            int to = slot + 1 < offsets.length ? offsets[slot + 1] : titles.length;
+            if (next == addedCount || (int) (added[next] >>> 32) != slot) {
+                System.arraycopy(titles, from, merged, size, to - from);
+                size += to - from;
+                continue;
+            }
+            while (from < to || next < addedCount && (int) (added[next] >>> 32) == slot) {
+                if (next == addedCount || (int) (added[next] >>> 32) != slot) {
+                    merged[size++] = titles[from++];
+                    continue;
+                }
+                int title = (int) added[next];
+                int order = from < to ? titleValues.get(titles[from]).compareTo(titleValues.get(title)) : 1;
+                if (order <= 0) {
+                    merged[size++] = titles[from++];
+                    if (order == 0) {
+                        next++;
+                    }
+                } else {
+                    merged[size++] = title;
+                    next++;
+                }
+            }
+        }
+        mergedOffsets[slots] = size;
+        return new InstructorIndex(liveNames, lists, larger.size(), mergedOffsets, Arrays.copyOf(merged, size));
+    }
+
+    private static int[][] namesOfLists(CourseTable table, StringDictionary liveNames, int[][] previousLists) {
+        StringDictionary lists = table.dictionary(TextColumn.INSTRUCTORS);
+        int[][] namesOfList = Arrays.copyOf(previousLists, lists.size());
+        for (int list = previousLists.length; list < lists.size(); list++) {
+            namesOfList[list] = split(lists.get(list), liveNames);
+        }
+        return namesOfList;
+    }
+
+    /**
+     * Gets the distinct (slot, title rank) edges of the rows
+     * {@code [from, to)}, sorted.
+     */
+    private static long[] rankedEdges(CourseTable table, int[][] namesOfList, int[] rankOfId, int from, int to) {
+        long[] edges = edges(table, namesOfList, from, to);
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = edges[i] & 0xFFFFFFFF00000000L | rankOfId[(int) edges[i]];
+        }
+        Arrays.sort(edges);
+        return Arrays.copyOf(edges, distinct(edges, edges.length));
+    }
+
+    /**
+     * Merges two sorted runs of distinct edges into one.
+     */
+    private static long[] mergeRuns(long[] left, long[] right) {
+        long[] merged = new long[left.length + right.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length || j < right.length) {
+            long edge = j == right.length || i < left.length && left[i] <= right[j] ? left[i++] : right[j++];
+            if (size == 0 || merged[size - 1] != edge) {
+                merged[size++] = edge;
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Gets the (slot, title id) edges of the rows {@code [from, to)}, one per
+     * instructor of every distinct (instructors, title) pair.
+     */
+    private static long[] edges(CourseTable table, int[][] namesOfList, int from, int to) {
+        long[] pairs = new long[to - from];
+        for (int row = from; row < to; row++) {
+            pairs[row - from] = (long) table.getId(TextColumn.INSTRUCTORS, row) << 32
+                    | table.getId(TextColumn.TITLE, row);
+        }
+        Arrays.sort(pairs);
+        int pairCount = distinct(pairs, pairs.length);
+
+        int edgeCount = 0;
+        for (int i = 0; i < pairCount; i++) {
+            edgeCount += namesOfList[(int) (pairs[i] >>> 32)].length;
+        }
+        long[] edges = new long[edgeCount];
+        int edge = 0;
+        for (int i = 0; i < pairCount; i++) {
+            int[] instructors = namesOfList[(int) (pairs[i] >>> 32)];
+            int kind = instructors.length == 1 ? 0 : 1;
+            for (int instructor : instructors) {
+                edges[edge++] = (long) (2 * instructor + kind) << 32 | (pairs[i] & 0xFFFFFFFFL);
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Sorts edges by slot and then by title, ranking only the titles they
+     * name, and moves the distinct ones to the front.
+     *
+     * @return the number of distinct edges
+     */
+    private static int sortByTitle(long[] edges, StringDictionary titleValues) {
+        int[] ids = new int[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            ids[i] = (int) edges[i];
+        }
+        Arrays.sort(ids);
+        int idCount = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (idCount == 0 || ids[i] != ids[idCount - 1]) {
+                ids[idCount++] = ids[i];
+            }
+        }
+        ids = Arrays.copyOf(ids, idCount);
+        int[] byTitle = titleOrder(ids, titleValues);
+        int[] rankOfId = new int[idCount];
+        for (int rank = 0; rank < idCount; rank++) {
+            rankOfId[Arrays.binarySearch(ids, byTitle[rank])] = rank;
+        }
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = edges[i] & 0xFFFFFFFF00000000L | rankOfId[Arrays.binarySearch(ids, (int) edges[i])];
+        }
+        Arrays.sort(edges);
+        int count = distinct(edges, edges.length);
+        for (int i = 0; i < count; i++) {
+            edges[i] = edges[i] & 0xFFFFFFFF00000000L | byTitle[(int) edges[i]];
+        }
+        return count;
+    }
+
+    private static int[] split(String instructors, StringDictionary names) {
+        String[] parts = instructors.split(SEPARATOR);
+        int[] ids = new int[parts.length];
+        int count = 0;
+        for (String part : parts) {
+            int id = names.intern(part);
+            boolean seen = false;
+            for (int i = 0; i < count && !seen; i++) {
+                seen = ids[i] == id;
+            }
+            if (!seen) {
+                ids[count++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static int[] titleOrder(int[] ids, StringDictionary titles) {
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            order[i] = ids[i];
+        }
+        Arrays.sort(order, (a, b) -> titles.get(a).compareTo(titles.get(b)));
+        int[] byTitle = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            byTitle[i] = order[i];
+        }
+        return byTitle;
+    }
+
+    /**
+     * Moves the distinct values of a sorted array to its front.
+     *
+     * @return the number of distinct values
+     */
+    private static int distinct(long[] values, int length) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (count == 0 || values[i] != values[count - 1]) {
+                values[count++] = values[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of instructors.
+     *
+     * @return the instructor count
+     */
+    int instructorCount() {
+        return names.size();
+    }
+
+    /**
+     * Gets the solo and co-taught titles of every instructor.
+     *
+     * @param titleValues the title dictionary of the indexed table
+     * @return the titles, keyed by instructor
+     */
+    Map<String, List<List<String>>> courseLists(StringDictionary titleValues) {
+        Map<String, List<List<String>>> lists = new HashMap<>(names.size() * 4 / 3 + 1);
+        for (int id = 0; id < names.size(); id++) {
+            lists.put(names.get(id), courseLists(id, titleValues));
+        }
+        return lists;
+    }
+
+    /**
+     * Gets the solo and co-taught titles of one instructor.
+     *
+     * @param instructor  the instructor
+     * @param titleValues the title dictionary of the indexed table
+     * @return the titles, two empty lists if the instructor taught no course
+     */
+    List<List<String>> courseLists(String instructor, StringDictionary titleValues) {
+        int id = names.find(instructor);
+        return id < 0 ? List.of(new ArrayList<>(), new ArrayList<>()) : courseLists(id, titleValues);
+    }
+
+    private List<List<String>> courseLists(int id, StringDictionary titleValues) {
+        return List.of(titles(2 * id, titleValues), titles(2 * id + 1, titleValues));
+    }
+
+    private List<String> titles(int slot, StringDictionary titleValues) {
+        List<String> list = new ArrayList<>(offsets[slot + 1] - offsets[slot]);
+        for (int i = offsets[slot]; i < offsets[slot + 1]; i++) {
+            list.add(titleValues.get(titles[i]));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,85 @@
+package src;
+
+/**
+ * A small open-addressing set of non-negative ints.
+ */
+final class IntSet {
+    private int[] slots;
+    private int size;
+
+    /**
+     * Instantiates a new Int set.
+     *
+     * @param expected the expected number of elements
+     */
+    IntSet(int expected) {
+        slots = new int[Integer.highestOneBit(Math.max(4, expected) * 2 - 1) * 2];
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value
+     * @return true if the value was not in the set
+     */
+    boolean add(int value) {
+        int mask = slots.length - 1;
+        for (int slot = mix(value) & mask; ; slot = (slot + 1) & mask) {
+            if (slots[slot] == 0) {
+                slots[slot] = value + 1;
+                if (++size * 2 > slots.length) {
+                    rehash();
+                }
+                return true;
+            }
+            if (slots[slot] == value + 1) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a value is in the set.
+     *
+     * @param value the value
+     * @return true if it is
+     */
+    boolean contains(int value) {
+        int mask = slots.length - 1;
+        for (int slot = mix(value) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (slots[slot] == value + 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+
+    private void rehash() {
+        int[] old = slots;
+        slots = new int[old.length * 2];
+        int mask = slots.length - 1;
+        for (int stored : old) {
+            if (stored != 0) {
+                int slot = mix(stored - 1) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = stored;
+            }
+        }
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
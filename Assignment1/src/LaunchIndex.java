@@ -0,0 +1,267 @@
+package src;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+
+/**
+ * The rows of a table bucketed by launch month. Bucket {@code b} holds the
+ * rows launched in month {@code firstMonth + b}, as
+ * {@code rows[offsets[b], offsets[b + 1])}, ordered by launch day and then
+ * by row, so the whole array is in launch order. Rows are distributed into
+ * their buckets by counting and only each bucket is sorted. A day range is
+ * found by a binary search inside the two buckets at its ends, and the
+ * participants of every bucket are summed when it is built, so the monthly
+ * and yearly rollups read one number per month. An index covers the rows
+ * that existed when it was built, and {@link #extend} adds the rows
+ * appended since.
+ */
+final class LaunchIndex {
+    private static final LaunchIndex EMPTY = new LaunchIndex(null, 0, new int[1], new int[0], new int[0], new long[0]);
+
+    private final CourseTable table;
+    private final int firstMonth;
+    private final int[] offsets;
+    private final int[] rows;
+    private final int[] days;
+    private final long[] participants;
+
+    private LaunchIndex(CourseTable table, int firstMonth, int[] offsets, int[] rows, int[] days,
+                        long[] participants) {
+        this.table = table;
+        this.firstMonth = firstMonth;
+        this.offsets = offsets;
+        this.rows = rows;
+        this.days = days;
+        this.participants = participants;
+    }
+
+    /**
+     * Buckets the rows of a table.
+     *
+     * @param table the table
+     * @return the index
+     */
+    static LaunchIndex build(CourseTable table) {
+        return EMPTY.extend(table);
+    }
+
+    /**
+     * Adds the rows appended to a table since this index was built. Only the
+     * new rows are bucketed and sorted; they are then merged into the
+     * existing order in one sequential pass. New rows have the highest row
+     * numbers, so among rows of one day they come after every indexed row.
+     *
+     * @param larger the table, holding the indexed rows as its first rows
+     * @return the index of every row of the table
+     */
+    LaunchIndex extend(CourseTable larger) {
+        int n = larger.size();
+        int added = n - rows.length;
+        long[] keys = new long[added];
+        int minMonth = rows.length > 0 ? firstMonth : Integer.MAX_VALUE;
+        int maxMonth = rows.length > 0 ? firstMonth + offsets.length - 2 : Integer.MIN_VALUE;
+        int[] months = new int[added];
+        for (int i = 0; i < added; i++) {
+            int row = rows.length + i;
+            int day = larger.getInt(IntColumn.LAUNCH_DAY, row);
+            keys[i] = (long) day << 32 | row;
+            months[i] = EpochDays.month(day);
+            minMonth = Math.min(minMonth, months[i]);
+            maxMonth = Math.max(maxMonth, months[i]);
+        }
+        if (added == 0) {
+            return new LaunchIndex(larger, firstMonth, offsets, rows, days, participants);
+        }
+        int bucketCount = maxMonth - minMonth + 1;
+        sortByBucket(keys, months, minMonth, bucketCount);
+
+        int[] mergedRows = new int[n];
+        int[] mergedDays = new int[n];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < n; k++) {
+            if (j < added && (i >= rows.length || (int) (keys[j] >> 32) < days[i])) {
+                mergedRows[k] = (int) keys[j];
+                mergedDays[k] = (int) (keys[j++] >> 32);
+            } else {
+                mergedRows[k] = rows[i];
+                mergedDays[k] = days[i++];
+            }
+        }
+
+        int[] mergedOffsets = new int[bucketCount + 1];
+        long[] mergedParticipants = new long[bucketCount];
+        for (int k = 0; k < n; k++) {
+            int bucket = EpochDays.month(mergedDays[k]) - minMonth;
+            mergedOffsets[bucket + 1]++;
+            mergedParticipants[bucket] += larger.getInt(IntColumn.PARTICIPANTS, mergedRows[k]);
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            mergedOffsets[bucket + 1] += mergedOffsets[bucket];
+        }
+        return new LaunchIndex(larger, minMonth, mergedOffsets, mergedRows, mergedDays, mergedParticipants);
+    }
+
+    /**
+     * Sorts {@code (day, row)} keys by counting them into month buckets and
+     * sorting each bucket.
+     */
+    private static void sortByBucket(long[] keys, int[] months, int minMonth, int bucketCount) {
+        int[] starts = new int[bucketCount + 1];
+        for (int month : months) {
+            starts[month - minMonth + 1]++;
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            starts[bucket + 1] += starts[bucket];
+        }
+        long[] sorted = new long[keys.length];
+        int[] next = Arrays.copyOf(starts, bucketCount);
+        for (int i = 0; i < keys.length; i++) {
+            sorted[next[months[i] - minMonth]++] = keys[i];
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            Arrays.sort(sorted, starts[bucket], starts[bucket + 1]);
+        }
+        System.arraycopy(sorted, 0, keys, 0, keys.length);
+    }
+
+    /**
+     * Gets the number of rows covered by this index.
+     *
+     * @return the size
+     */
+    int size() {
+        return rows.length;
+    }
+
+    /**
+     * Gets the number of months from the first launch to the last one.
+     *
+     * @return the month count
+     */
+    int monthCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Gets the rows launched on a day in {@code [from, to]}.
+     *
+     * @param from the first epoch day
+     * @param to   the last epoch day
+     * @return the rows
+     */
+    RowBitmap rowsBetween(long from, long to) {
+        int start = lowerBound(from);
+        return RowBitmap.of(rows, start, Math.max(start, upperBound(to)));
+    }
+
+    /**
+     * Counts the rows launched on a day in {@code [from, to]}.
+     *
+     * @param from the first epoch day
+     * @param to   the last epoch day
+     * @return the count
+     */
+    int countBetween(long from, long to) {
+        return Math.max(0, upperBound(to) - lowerBound(from));
+    }
+
+    /**
+     * Gets the distinct titles of the rows launched on a day in
+     * {@code [from, to]}, in the order of their first launch in the range.
+     *
+     * @param from the first epoch day
+     * @param to   the last epoch day
+     * @return the titles
+     */
+    List<String> titlesBetween(long from, long to) {
+        StringDictionary titles = table.dictionary(TextColumn.TITLE);
+        int start = lowerBound(from);
+        int end = upperBound(to);
+        List<String> result = new ArrayList<>();
+        IntSet seen = new IntSet(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            int title = table.getId(TextColumn.TITLE, rows[i]);
+            if (seen.add(title)) {
+                result.add(titles.get(title));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the participants of the courses launched in every month that has
+     * any, in month order.
+     *
+     * @return the totals
+     */
+    Map<YearMonth, Long> participantsByMonth() {
+        Map<YearMonth, Long> totals = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < participants.length; bucket++) {
+            if (offsets[bucket + 1] > offsets[bucket]) {
+                int month = firstMonth + bucket;
+                totals.put(YearMonth.of(Math.floorDiv(month, 12), Math.floorMod(month, 12) + 1),
+                        participants[bucket]);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Gets the participants of the courses launched in every year that has
+     * any, in year order.
+     *
+     * @return the totals
+     */
+    Map<Integer, Long> participantsByYear() {
+        Map<Integer, Long> totals = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < participants.length; bucket++) {
+            if (offsets[bucket + 1] > offsets[bucket]) {
+                totals.merge(Math.floorDiv(firstMonth + bucket, 12), participants[bucket], Long::sum);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Finds the first position launched on or after a day. Days outside the
+     * indexed ones are answered directly; any other lies in a bucket, found
+     * by subtracting months, which is then searched.
+     */
+    private int lowerBound(long day) {
+        if (rows.length == 0 || day <= days[0]) {
+            return 0;
+        }
+        if (day > days[rows.length - 1]) {
+            return rows.length;
+        }
+        int low = offsets[EpochDays.month((int) day) - firstMonth];
+        int high = offsets[EpochDays.month((int) day) - firstMonth + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the first position launched after a day.
+     */
+    private int upperBound(long day) {
+        if (rows.length == 0) {
+            return 0;
+        }
+        return day >= days[rows.length - 1] ? rows.length : lowerBound(day + 1);
+    }
+}
@@ -0,0 +1,81 @@
+package src;
+
+/**
+ * The number of courses and the participant, audited and certified counts
+ * summed over the courses launched in a period, as returned by the rollups
+ * of an {@link OnlineCoursesAnalyzer}.
+ */
+public final class LaunchTotals {
+    private final long courses;
+    private final long participants;
+    private final long audited;
+    private final long certified;
+
+    /**
+     * Instantiates a new Launch totals.
+     *
+     * @param courses      the courses
+     * @param participants the participants
+     * @param audited      the audited
+     * @param certified    the certified
+     */
+    public LaunchTotals(long courses, long participants, long audited, long certified) {
+        this.courses = courses;
+        this.participants = participants;
+        this.audited = audited;
+        this.certified = certified;
+    }
+
+    /**
+     * Gets the number of courses, counting every row.
+     *
+     * @return the courses
+     */
+    public long getCourses() {
+        return courses;
+    }
+
+    /**
+     * Gets the participants.
+     *
+     * @return the participants
+     */
+    public long getParticipants() {
+        return participants;
+    }
+
+    /**
+     * Gets the audited.
+     *
+     * @return the audited
+     */
+    public long getAudited() {
+        return audited;
+    }
+
+    /**
+     * Gets the certified.
+     *
+     * @return the certified
+     */
+    public long getCertified() {
+        return certified;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof LaunchTotals other && courses == other.courses
+                && participants == other.participants && audited == other.audited && certified == other.certified;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(((courses * 31 + participants) * 31 + audited) * 31 + certified);
+    }
+
+    @Override
+    public String toString() {
+        return courses + " courses, " + participants + " participants, " + audited + " audited, "
+                + certified + " certified";
+    }
+}
@@ -0,0 +1,60 @@
+package src;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * A read-only {@link CourseTable} whose columns are views of a memory-mapped
+ * snapshot file, so the row data stays outside the Java heap. Only the
+ * dictionaries are decoded onto the heap.
+ */
+final class MappedCourseTable extends CourseTable {
+    private final int size;
+    private final StringDictionary[] dictionaries;
+    private final IntBuffer[] ids;
+    private final IntBuffer[] ints;
+    private final DoubleBuffer[] doubles;
+
+    /**
+     * Instantiates a new Mapped course table.
+     *
+     * @param size         the size
+     * @param dictionaries the dictionaries, indexed by text column
+     * @param ids          the id columns, indexed by text column
+     * @param ints         the int columns
+     * @param doubles      the double columns
+     */
+    MappedCourseTable(int size, StringDictionary[] dictionaries, IntBuffer[] ids,
+                      IntBuffer[] ints, DoubleBuffer[] doubles) {
+        this.size = size;
+        this.dictionaries = dictionaries;
+        this.ids = ids;
+        this.ints = ints;
+        this.doubles = doubles;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getId(TextColumn column, int row) {
+        return ids[column.ordinal()].get(row);
+    }
+
+    @Override
+    public int getInt(IntColumn column, int row) {
+        return ints[column.ordinal()].get(row);
+    }
+
+    @Override
+    public double getDouble(DoubleColumn column, int row) {
+        return doubles[column.ordinal()].get(row);
+    }
+
+    @Override
+    public StringDictionary dictionary(TextColumn column) {
+        return dictionaries[column.ordinal()];
+    }
+}
@@ -0,0 +1,147 @@
+package src;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Loads a course CSV by memory-mapping it and parsing newline-aligned chunks
+ * in parallel. Chunk boundaries are found in two parallel passes: the first
+ * counts the quote characters of fixed-size slices so that the quote state at
+ * every slice start is known, the second moves each slice start to the first
+ * line break outside a quoted field. {@code '"'} and {@code '\n'} never occur
+ * inside a multi-byte UTF-8 sequence, so both passes work on raw bytes.
+ */
+final class MappedCsvLoader {
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final int MAX_CHUNK_SIZE = 1 << 24;
+
+    private MappedCsvLoader() {
+    }
+
+    /**
+     * Loads every course of the file.
+     *
+     * @param path the path
+     * @param pool the pool the chunks are parsed on
+     * @return the courses in file order
+     * @throws IOException the io exception
+     */
+    static List<Course> load(Path path, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkSize = Math.max(MIN_CHUNK_SIZE,
+                    Math.min(MAX_CHUNK_SIZE, size / (pool.getParallelism() * 4L) + 1));
+            int slices = (int) ((size + chunkSize - 1) / chunkSize);
+            List<ForkJoinTask<Boolean>> parities = new ArrayList<>(slices);
+            for (int i = 0; i < slices; i++) {
+                long from = i * chunkSize;
+                long to = Math.min(size, from + chunkSize);
+                parities.add(pool.submit(() -> hasOddQuotes(map(channel, from, to))));
+            }
+            List<ForkJoinTask<Long>> starts = new ArrayList<>(slices);
+            boolean quoted = false;
+            for (int i = 0; i < slices; i++) {
+                long from = i * chunkSize;
+                boolean quotedAtFrom = quoted;
+                starts.add(pool.submit(() -> nextRowStart(channel, from, size, quotedAtFrom)));
+                quoted ^= join(parities.get(i));
+            }
+            List<ForkJoinTask<List<Course>>> chunks = new ArrayList<>(slices);
+            long from = slices == 0 ? size : join(starts.get(0));
+            for (int i = 1; i <= slices; i++) {
+                long to = i == slices ? size : Math.max(from, join(starts.get(i)));
+                long chunkFrom = from;
+                chunks.add(pool.submit(() -> parseChunk(channel, chunkFrom, to)));
+                from = to;
+            }
+            List<List<Course>> parts = new ArrayList<>(chunks.size());
+            int total = 0;
+            for (ForkJoinTask<List<Course>> chunk : chunks) {
+                List<Course> part = join(chunk);
+                parts.add(part);
+                total += part.size();
+            }
+            List<Course> courses = new ArrayList<>(total);
+            parts.forEach(courses::addAll);
+            return courses;
+        }
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long to) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean hasOddQuotes(MappedByteBuffer buffer) {
+        boolean odd = false;
+        for (int i = 0, n = buffer.limit(); i < n; i++) {
+            if (buffer.get(i) == '"') {
+                odd = !odd;
+            }
+        }
+        return odd;
+    }
+
+    /**
+     * Finds the start of the first row after the line break that follows
+     * {@code from}. For the first slice that skips the header; for the others
+     * a row starting exactly at {@code from} stays with the previous chunk.
+     */
+    private static long nextRowStart(FileChannel channel, long from, long size, boolean quoted) {
+        long position = from;
+        while (position < size) {
+            long to = Math.min(size, position + MIN_CHUNK_SIZE);
+            MappedByteBuffer buffer = map(channel, position, to);
+            for (int i = 0, n = buffer.limit(); i < n; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    return position + i + 1;
+                }
+            }
+            position = to;
+        }
+        return size;
+    }
+
+    private static List<Course> parseChunk(FileChannel channel, long from, long to) {
+        List<Course> courses = new ArrayList<>();
+        if (from >= to) {
+            return courses;
+        }
+        try {
+            CharBuffer chars = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(map(channel, from, to));
+            CourseCsvParser.parse(chars.array(), chars.arrayOffset() + chars.position(),
+                    chars.arrayOffset() + chars.limit(), courses::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return courses;
+    }
+}
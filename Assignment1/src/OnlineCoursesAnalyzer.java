@@ -1,21 +1,29 @@
 package src;
 
-import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Date;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+import src.CourseTable.NumericColumn;
+import src.CourseTable.TextColumn;
+
 /**
  * This is just a demo for you, please run it on JDK17
  * (some statements may be not allowed in lower version).
@@ -24,9 +32,32 @@ import java.util.stream.Collectors;
  */
 public class OnlineCoursesAnalyzer {
     /**
-     * The Courses.
+     * Batch recommendations are never split below this many profiles.
+     */
+    private static final int PROFILES_PER_TASK = 256;
+    /**
+     * The courses the queries read: a version of the table that never
+     * changes, with its derived views. Adding courses publishes a new one.
+     */
+    private volatile CourseDataset dataset;
+    /**
+     * The table courses are added to, which the published table is a view
+     * of; null until the first addition when the courses were mapped from a
+     * snapshot.
+     */
+    private HeapCourseTable courses;
+    /**
+     * The pool the aggregation queries run on, null to run them on the caller.
+     */
+    private volatile ForkJoinPool pool;
+    /**
+     * The query results kept so far, null when caching is off.
+     */
+    private volatile QueryCache resultCache;
+    /**
+     * Receives the metrics of every query, null to record none.
      */
-    List<Course> courses = new ArrayList<>();
+    private volatile QueryMetricsListener metricsListener;
 
     /**
      * For each.
@@ -42,51 +73,273 @@ public class OnlineCoursesAnalyzer {
     }
 
     /**
-     * Instantiates a new Online courses analyzer.
+     * Instantiates a new Online courses analyzer. The dataset is either a
+     * course CSV or a snapshot written by {@link #writeSnapshot(String)};
+     * a snapshot is memory-mapped instead of parsed.
      *
      * @param datasetPath the dataset path
      */
     public OnlineCoursesAnalyzer(String datasetPath) {
-        BufferedReader br = null;
-        String line;
+        publish(load(datasetPath), null);
+    }
+
+    /**
+     * Instantiates a new Online courses analyzer by memory-mapping the dataset
+     * and parsing newline-aligned chunks of it in parallel on the given pool.
+     * The courses keep their file order. The instructor index that
+     * {@link #getCourseListOfInstructor()} reads is built on the pool too.
+     *
+     * @param datasetPath the dataset path
+     * @param pool        the pool
+     */
+    public OnlineCoursesAnalyzer(String datasetPath, ForkJoinPool pool) {
+        HeapCourseTable courses = new HeapCourseTable();
+        try {
+            forEach(MappedCsvLoader.load(Paths.get(datasetPath), pool), courses::add);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        publish(courses, pool);
+    }
+
+    private void publish(CourseTable table, ForkJoinPool pool) {
+        if (table instanceof HeapCourseTable heap) {
+            courses = heap;
+            table = heap.snapshot();
+        }
+        dataset = new CourseDataset(table, 0);
+        dataset.textIndex(TextColumn.SUBJECT);
+        dataset.instructorIndex(pool);
+    }
+
+    private static CourseTable load(String datasetPath) {
+        HeapCourseTable courses = new HeapCourseTable();
         try {
-            br = new BufferedReader(new FileReader(datasetPath, StandardCharsets.UTF_8));
-            br.readLine();
-            while ((line = br.readLine()) != null) {
-                String[] info = line.split(",(?=([^\\\"]*\\\"[^\\\"]*\\\")*[^\\\"]*$)", -1);
-                Course course = new Course(info[0], info[1], new Date(info[2]), info[3], info[4], info[5],
-                        Integer.parseInt(info[6]), Integer.parseInt(info[7]), Integer.parseInt(info[8]),
-                        Integer.parseInt(info[9]), Integer.parseInt(info[10]), Double.parseDouble(info[11]),
-                        Double.parseDouble(info[12]), Double.parseDouble(info[13]), Double.parseDouble(info[14]),
-                        Double.parseDouble(info[15]), Double.parseDouble(info[16]), Double.parseDouble(info[17]),
-                        Double.parseDouble(info[18]), Double.parseDouble(info[19]), Double.parseDouble(info[20]),
-                        Double.parseDouble(info[21]), Double.parseDouble(info[22]));
-                courses.add(course);
+            if (CourseSnapshot.isSnapshot(Paths.get(datasetPath))) {
+                return CourseSnapshot.open(Paths.get(datasetPath));
+            }
+            try (Reader reader = new FileReader(datasetPath, StandardCharsets.UTF_8)) {
+                new CourseCsvParser(reader).parse(courses::add);
             }
         } catch (IOException e) {
             e.printStackTrace();
-        } finally {
-            if (br != null) {
-                try {
-                    br.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
+        }
+        return courses;
+    }
+
+    /**
+     * Writes the courses as a binary snapshot that the
+     * {@link #OnlineCoursesAnalyzer(String) constructor} opens without parsing.
+     *
+     * @param snapshotPath the snapshot path
+     * @throws IOException the io exception
+     */
+    public void writeSnapshot(String snapshotPath) throws IOException {
+        CourseSnapshot.write(dataset.table(), Paths.get(snapshotPath));
+    }
+
+    /**
+     * Appends the courses of a CSV file, with the header line of the course
+     * CSV, after the loaded ones. The queries answer as if the analyzer had
+     * been built from the concatenated file. The indexes and course profiles
+     * built so far, and the participant sums of the aggregation queries, are
+     * extended by reading only the new rows.
+     * Cached results of the older courses are dropped. Courses opened from a
+     * snapshot are first copied onto the heap, once. If the file is malformed,
+     * the rows before the bad line stay added.
+     * <p>
+     * The new courses and extended views are published together once they
+     * are complete. Queries running meanwhile are not blocked and answer
+     * from the courses they started with. Additions run one at a time.
+     *
+     * @param deltaPath the path of the new courses
+     * @return the number of courses added
+     * @throws IOException the io exception
+     */
+    public synchronized int addCourses(String deltaPath) throws IOException {
+        QueryTimer timer = startQuery("addCourses");
+        try {
+            CourseDataset current = dataset;
+            if (courses == null) {
+                courses = new HeapCourseTable(current.table());
+            }
+            int before = courses.size();
+            try (Reader reader = new FileReader(deltaPath, StandardCharsets.UTF_8)) {
+                new CourseCsvParser(reader).parse(courses::add);
+            } finally {
+                if (courses.size() > before) {
+                    timer.rowsScanned(courses.size() - before);
+                    CourseDataset next = current.extend(courses.snapshot());
+                    dataset = next;
+                    QueryCache cache = resultCache;
+                    if (cache != null) {
+                        cache.invalidate(next.version());
+                    }
                 }
             }
+            return courses.size() - before;
+        } finally {
+            finishQuery(timer);
+        }
+    }
+
+    /**
+     * Runs the aggregation queries ({@link #getPtcpCountByInst} and
+     * {@link #getPtcpCountByInstAndSubject}) on a pool. The participant sums
+     * they read are computed by the first of them to run, each worker
+     * summing its own row range and the partial sums merged once, in row
+     * order, so the output does not change.
+     * {@link #recommendCoursesBatch} splits its profiles the same way.
+     * {@link #getCourseListOfInstructor()} reads an index built when the
+     * courses are loaded, so it runs on the pool given to
+     * {@link #OnlineCoursesAnalyzer(String, ForkJoinPool)} instead.
+     *
+     * @param pool the pool, or null to run the queries on the calling thread
+     */
+    public void setExecutionPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Sets the listener that receives the {@link QueryMetrics} of every query:
+     * the rows it read, the groups it built and the time it spent scoring and
+     * sorting. Without a listener the queries read no clock. Every call of
+     * {@link #addCourses} is reported as well, counting the new rows and the
+     * rows it read to extend the indexes. A query that throws is reported
+     * with what it read before it failed. The listener is called on the
+     * thread of the query.
+     *
+     * @param listener the listener, or null to record nothing
+     */
+    public void setMetricsListener(QueryMetricsListener listener) {
+        this.metricsListener = listener;
+    }
+
+    private QueryTimer startQuery(String query) {
+        return new QueryTimer(metricsListener, query);
+    }
+
+    private void finishQuery(QueryTimer timer) {
+        timer.finish();
+    }
+
+    /**
+     * Keeps the results of the queries, so that asking again with the same
+     * arguments returns the same result without running the query. The
+     * results are kept until courses are {@link #addCourses added}, and the
+     * least recently used ones are evicted once they hold more than
+     * {@code capacity} values in total: map entries, titles, or titles per
+     * instructor. While the cache is on, every query result is an
+     * unmodifiable view, and a result served from the cache reports
+     * {@link QueryMetrics} that read no rows. {@link #recommendCoursesBatch}
+     * and {@link #filter} are not cached.
+     *
+     * @param capacity the number of values to keep, or 0 to cache nothing
+     */
+    public void setCacheCapacity(long capacity) {
+        QueryCache cache = capacity > 0 ? new QueryCache(capacity) : null;
+        if (cache != null) {
+            cache.invalidate(dataset.version());
+        }
+        resultCache = cache;
+    }
+
+    /**
+     * Gets the hits, misses and evictions of the result cache since its
+     * {@link #setCacheCapacity capacity} was set.
+     *
+     * @return the stats, all zero when the cache is off
+     */
+    public QueryCacheStats getCacheStats() {
+        QueryCache cache = resultCache;
+        return cache == null ? new QueryCacheStats(0, 0, 0, 0, 0, 0) : cache.stats();
+    }
+
+    /**
+     * Runs a query on the current courses, through the result cache if it is on.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String query, List<?> args, Function<CourseDataset, T> compute,
+                         UnaryOperator<T> unmodifiable, ToLongFunction<T> weight) {
+        CourseDataset current = dataset;
+        QueryCache cache = resultCache;
+        if (cache == null) {
+            return compute.apply(current);
+        }
+        T result = (T) cache.get(current.version(), query, args);
+        if (result != null) {
+            finishQuery(startQuery(query));
+            return result;
+        }
+        result = unmodifiable.apply(compute.apply(current));
+        cache.put(current.version(), query, args, result, weight.applyAsLong(result) + 1);
+        return result;
+    }
+
+    private static Map<String, List<List<String>>> unmodifiableCourseLists(Map<String, List<List<String>>> lists) {
+        lists.replaceAll((instructor, courses) -> List.of(Collections.unmodifiableList(courses.get(0)),
+                Collections.unmodifiableList(courses.get(1))));
+        return Collections.unmodifiableMap(lists);
+    }
+
+    private static long courseListWeight(Map<String, List<List<String>>> lists) {
+        long weight = lists.size();
+        for (List<List<String>> courses : lists.values()) {
+            weight += courses.get(0).size() + courses.get(1).size();
         }
+        return weight;
     }
 
     /**
-     * Gets ptcp count by inst.
+     * Gets the courses in columnar form. The table does not change when
+     * courses are added; call again to see them.
+     *
+     * @return the table
+     */
+    public CourseTable getTable() {
+        return dataset.table();
+    }
+
+    /**
+     * Gets ptcp count by inst. The participants are summed by institution
+     * and subject on the first call of this query or
+     * {@link #getPtcpCountByInstAndSubject}, and the sums extended as
+     * courses are added, so later calls read the sums and no course.
      *
      * @return the ptcp count by inst
      */
     //1
     public Map<String, Integer> getPtcpCountByInst() {
+        return cached("getPtcpCountByInst", List.of(), this::ptcpCountByInst,
+                Collections::unmodifiableMap, Map::size);
+    }
+
+    private Map<String, Integer> ptcpCountByInst(CourseDataset dataset) {
+        QueryTimer timer = startQuery("getPtcpCountByInst");
+        try {
+            GroupByAggregator groups = dataset.participantTotals(pool);
+            timer.scored();
+            Map<String, Integer> result = institutionTotals(groups, dataset.table().dictionary(TextColumn.INSTITUTION));
+            timer.groupsBuilt(result.size());
+            timer.sorted();
+            return result;
+        } finally {
+            finishQuery(timer);
+        }
+    }
+
+    /**
+     * Gets the participant totals by institution, sorted by institution.
+     *
+     * @param groups       the groups whose first key is the institution id
+     * @param institutions the institution dictionary
+     * @return the totals
+     */
+    static Map<String, Integer> institutionTotals(GroupByAggregator groups, StringDictionary institutions) {
         Map<String, Integer> ptcpCountByInst = new HashMap<>();
-        forEach(courses, (Course s) -> ptcpCountByInst.put(s.institution, 0));
-        forEach(courses, (Course s) ->
-                ptcpCountByInst.put(s.institution, ptcpCountByInst.get(s.institution) + s.participants));
+        for (int group = 0; group < groups.groupCount(); group++) {
+            ptcpCountByInst.merge(institutions.get(groups.key(group, 0)), (int) groups.sum(group), Integer::sum);
+        }
         return ptcpCountByInst.entrySet().stream()
                 .sorted(Map.Entry.comparingByKey())
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
@@ -94,65 +347,111 @@ public class OnlineCoursesAnalyzer {
     }
 
     /**
-     * Gets ptcp count by inst and subject.
+     * Gets ptcp count by inst and subject, from the sums of
+     * {@link #getPtcpCountByInst}.
      *
      * @return the ptcp count by inst and subject
      */
     //2
     public Map<String, Integer> getPtcpCountByInstAndSubject() {
+        return cached("getPtcpCountByInstAndSubject", List.of(), this::ptcpCountByInstAndSubject,
+                Collections::unmodifiableMap, Map::size);
+    }
+
+    private Map<String, Integer> ptcpCountByInstAndSubject(CourseDataset dataset) {
+        CourseTable table = dataset.table();
+        QueryTimer timer = startQuery("getPtcpCountByInstAndSubject");
+        try {
+            GroupByAggregator groups = dataset.participantTotals(pool);
+            timer.scored();
+            Map<String, Integer> result = institutionSubjectTotals(groups, table.dictionary(TextColumn.INSTITUTION),
+                    table.dictionary(TextColumn.SUBJECT));
+            timer.groupsBuilt(result.size());
+            timer.sorted();
+            return result;
+        } finally {
+            finishQuery(timer);
+        }
+    }
+
+    /**
+     * Gets the participant totals by {@code institution-subject}, sorted by
+     * descending total and then by key.
+     *
+     * @param groups       the groups by institution and subject id
+     * @param institutions the institution dictionary
+     * @param subjects     the subject dictionary
+     * @return the totals
+     */
+    static Map<String, Integer> institutionSubjectTotals(GroupByAggregator groups, StringDictionary institutions,
+                                                         StringDictionary subjects) {
         Map<String, Integer> ptcpCountByInst = new HashMap<>();
-        forEach(courses, (Course s) -> ptcpCountByInst.put(s.institution+'-' + s.subject, 0));
-        forEach(courses, (Course s) -> ptcpCountByInst.put(s.institution+'-' + s.subject,
-                ptcpCountByInst.get(s.institution+'-' + s.subject) + s.participants));
+        for (int group = 0; group < groups.groupCount(); group++) {
+            ptcpCountByInst.merge(institutions.get(groups.key(group, 0)) + '-' + subjects.get(groups.key(group, 1)),
+                    (int) groups.sum(group), Integer::sum);
+        }
         return ptcpCountByInst.entrySet().stream()
                 .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) -> e1, LinkedHashMap::new));
     }
 
     /**
-     * Gets course list of instructor.
+     * Gets course list of instructor. The lists are read from an index of
+     * the titles of every instructor, built when the courses are loaded and
+     * extended as courses are added. On a pool, every worker sorts the
+     * (instructor, title) pairs of its own row range and the sorted runs
+     * are merged.
      *
      * @return the course list of instructor
      */
     //3
     public Map<String, List<List<String>>> getCourseListOfInstructor() {
-        Map<String, List<List<String>>>courseListOfInstructor = new HashMap<>();
-        forEach(courses, (Course s) ->{
-            List<String> instructors = List.of(s.instructors.split(", "));
-            instructors= new HashSet<>(instructors).stream().toList();
-            for (String instructor:instructors) {
-                if (courseListOfInstructor.get(instructor)==null){
-                    List<List<String>> lists = new ArrayList<>();
-                    lists.add(new ArrayList<>());
-                    lists.add(new ArrayList<>());
-                    courseListOfInstructor.put(instructor, lists);
-                }
-                if (instructors.size()==1){
-                    courseListOfInstructor.get(instructor).get(0).add(s.title);
-                }
-                else {
-                    courseListOfInstructor.get(instructor).get(1).add(s.title);
-                }
+        return cached("getCourseListOfInstructor", List.of(), this::courseListOfInstructor,
+                OnlineCoursesAnalyzer::unmodifiableCourseLists, OnlineCoursesAnalyzer::courseListWeight);
+    }
+
+    private Map<String, List<List<String>>> courseListOfInstructor(CourseDataset dataset) {
+        QueryTimer timer = startQuery("getCourseListOfInstructor");
+        try {
+            Map<String, List<List<String>>> result = dataset.instructorIndex(pool)
+                    .courseLists(dataset.table().dictionary(TextColumn.TITLE));
+            timer.groupsBuilt(result.size());
+            return result;
+        } finally {
+            finishQuery(timer);
+        }
+    }
+
+    /**
+     * Gets the titles one instructor taught alone and those they taught with
+     * others, as {@link #getCourseListOfInstructor()} lists them, without
+     * building the lists of every other instructor.
+     *
+     * @param instructor the instructor
+     * @return the course lists, two empty lists if the instructor taught no course
+     */
+    public List<List<String>> getCourseListOfInstructor(String instructor) {
+        return cached("getCourseListOfInstructor", List.of(instructor), dataset -> {
+            QueryTimer timer = startQuery("getCourseListOfInstructor");
+            try {
+                List<List<String>> result = dataset.instructorIndex(pool)
+                        .courseLists(instructor, dataset.table().dictionary(TextColumn.TITLE));
+                return result;
+            } finally {
+                finishQuery(timer);
             }
-        });
-
-        Map<String, List<List<String>>>result = new HashMap<>();
-        courseListOfInstructor.forEach((key,value)-> {
-            List<String> list1 = new ArrayList<>(new HashSet<>(value.get(0)));
-            List<String> list2 = new ArrayList<>(new HashSet<>(value.get(1)));
-            list1.sort(String::compareTo);
-            list2.sort(String::compareTo);
-
-            List<List<String>> lists = new ArrayList<>();
-            lists.add(list1);
-            lists.add(list2);
-            result.put(key, lists);
-        });
-        return result;
+        }, courses -> List.of(Collections.unmodifiableList(courses.get(0)),
+                Collections.unmodifiableList(courses.get(1))),
+                courses -> courses.get(0).size() + courses.get(1).size());
     }
 
     /**
-     * Gets courses.
+     * Gets the {@code topK} distinct titles with the highest value of a column.
+     * Courses with equal values keep their file order. {@code by} is
+     * {@code hours}, {@code participants} or the name of any other numeric
+     * course field, such as {@code certified}, {@code percentAudited} or
+     * {@code medianHoursCertification}. The rows are sorted by a column on
+     * its first use and the order is extended as courses are added.
      *
      * @param topK the top k
      * @param by   the by
@@ -160,343 +459,321 @@ public class OnlineCoursesAnalyzer {
      */
 //4
     public List<String> getCourses(int topK, String by) {
-        if (by.equals("hours")){
-            courses = courses.stream().sorted(Comparator.comparingDouble(Course::getTotalHours).reversed()).collect(Collectors.toList());
-        }
-        if (by.equals("participants")){
-            courses = courses.stream().sorted(Comparator.comparingDouble(Course::getParticipants).reversed()).collect(Collectors.toList());
+        NumericColumn column = numericColumn(by);
+        return cached("getCourses", List.of(topK, by), dataset -> topCourses(dataset, topK, column),
+                Collections::unmodifiableList, List::size);
+    }
+
+    private List<String> topCourses(CourseDataset dataset, int topK, NumericColumn column) {
+        QueryTimer timer = startQuery("getCourses");
+        try {
+            List<String> result = dataset.sortedIndex(column).topTitles(topK);
+            timer.sorted();
+            return result;
+        } finally {
+            finishQuery(timer);
         }
-        List<String> result = new ArrayList<>();
-        Set<String> stringSet = new HashSet<>();
-        for (int i = 0, count = 0; count < topK; i++){
-            if (stringSet.contains(courses.get(i).title))continue;
-            stringSet.add(courses.get(i).title);
-            result.add(courses.get(i).title);
-            count++;
+    }
+
+    /**
+     * Gets the distinct titles of the courses whose value of a column lies in
+     * {@code [min, max]}, highest value first like {@link #getCourses}.
+     *
+     * @param by  the column, named as for {@link #getCourses}
+     * @param min the min
+     * @param max the max
+     * @return the titles
+     */
+    public List<String> getCoursesBetween(String by, double min, double max) {
+        NumericColumn column = numericColumn(by);
+        return cached("getCoursesBetween", List.of(by, min, max), dataset -> coursesBetween(dataset, column, min, max),
+                Collections::unmodifiableList, List::size);
+    }
+
+    private List<String> coursesBetween(CourseDataset dataset, NumericColumn column, double min, double max) {
+        QueryTimer timer = startQuery("getCoursesBetween");
+        try {
+            List<String> result = dataset.sortedIndex(column).titlesBetween(min, max);
+            timer.sorted();
+            return result;
+        } finally {
+            finishQuery(timer);
         }
-        return result;
     }
 
     /**
-     * Search courses list.
+     * Gets the distinct titles of the courses launched on a day in
+     * {@code [from, to]}, in launch order. The rows are bucketed by launch
+     * month on first use, so only the buckets at the ends of the range are
+     * searched and the rows in between are read in order.
      *
-     * @param courseSubject    the course subject
-     * @param percentAudited   the percent audited
-     * @param totalCourseHours the total course hours
-     * @return the list
-     */
-//5
-    public List<String> searchCourses(String courseSubject, double percentAudited, double totalCourseHours) {
-        courseSubject=courseSubject.toLowerCase();
-        String finalCourseSubject = courseSubject;
-        Set<String>stringSet=new HashSet<>();
-        forEach(courses, (Course s) -> {
-            if (s.subject.toLowerCase().contains(finalCourseSubject) && s.percentAudited >= percentAudited && s.totalHours <= totalCourseHours){
-                stringSet.add(s.title);
+     * @param from the first day
+     * @param to   the last day
+     * @return the titles
+     */
+    public List<String> getCoursesLaunchedBetween(LocalDate from, LocalDate to) {
+        return cached("getCoursesLaunchedBetween", List.of(from, to), dataset -> {
+            QueryTimer timer = startQuery("getCoursesLaunchedBetween");
+            try {
+                LaunchIndex index = dataset.launchIndex();
+                timer.rowsScanned(index.countBetween(from.toEpochDay(), to.toEpochDay()));
+                List<String> result = index.titlesBetween(from.toEpochDay(), to.toEpochDay());
+                timer.scored();
+                return result;
+            } finally {
+                finishQuery(timer);
             }
-        });
-        return stringSet.stream().sorted(String::compareTo).toList();
+        }, Collections::unmodifiableList, List::size);
     }
 
     /**
-     * Recommend courses list.
+     * Gets the participants of the courses launched in every month, in
+     * month order. Months without a launch are left out.
      *
-     * @param age                the age
-     * @param gender             the gender
-     * @param isBachelorOrHigher the is bachelor or higher
-     * @return the list
-     */
-//6
-    public List<String> recommendCourses(int age, int gender, int isBachelorOrHigher) {
-        Map<String,RecommendCourse>recommendCourses = new HashMap<>();
-        forEach(courses, (Course s) -> {
-            if (recommendCourses.get(s.number)==null){
-                recommendCourses.put(s.number, new RecommendCourse(s.title, s.launchDate));
-            }
-            recommendCourses.get(s.number).add(s.title, s.launchDate, s.medianAge, s.percentMale, s.percentDegree);
-        });
-        List<RecommendCourse> recommendCourseList=new ArrayList<>();
-        List<RecommendCourse> finalRecommendCourseList = recommendCourseList;
-        recommendCourses.forEach((key, value)-> {
-            value.calcSimilarityValue(age,gender,isBachelorOrHigher);
-            finalRecommendCourseList.add(value);
-            System.out.println(value.getSimilarityValue() + " " + value.getTitle());
-        });
-        recommendCourseList=finalRecommendCourseList.stream().sorted(Comparator.comparingDouble(RecommendCourse::getSimilarityValue).
-                thenComparing(RecommendCourse::getTitle)).toList();
-        List<String>result = new ArrayList<>();
-        Set<String>stringSet = new HashSet<>();
-        for (int i = 0, count = 0; count < 10 && i < recommendCourseList.size(); i++){
-            if (!stringSet.contains(recommendCourseList.get(i).getTitle())){
-                count++;
-                result.add(recommendCourseList.get(i).getTitle());
-                stringSet.add(recommendCourseList.get(i).getTitle());
+     * @return the totals
+     */
+    public Map<YearMonth, Long> getPtcpCountByLaunchMonth() {
+        return cached("getPtcpCountByLaunchMonth", List.of(), dataset -> {
+            QueryTimer timer = startQuery("getPtcpCountByLaunchMonth");
+            try {
+                Map<YearMonth, Long> result = dataset.launchIndex().participantsByMonth();
+                timer.groupsBuilt(result.size());
+                return result;
+            } finally {
+                finishQuery(timer);
             }
-        }
-        return result;
+        }, Collections::unmodifiableMap, Map::size);
     }
 
-}
+    /**
+     * Gets the participants of the courses launched in every year, in year
+     * order. Years without a launch are left out.
+     *
+     * @return the totals
+     */
+    public Map<Integer, Long> getPtcpCountByLaunchYear() {
+        return cached("getPtcpCountByLaunchYear", List.of(), dataset -> {
+            QueryTimer timer = startQuery("getPtcpCountByLaunchYear");
+            try {
+                Map<Integer, Long> result = dataset.launchIndex().participantsByYear();
+                timer.groupsBuilt(result.size());
+                return result;
+            } finally {
+                finishQuery(timer);
+            }
+        }, Collections::unmodifiableMap, Map::size);
+    }
 
-/**
- * The type Recommend course.
- */
-class RecommendCourse{
-    private String title;
-    private Date launchDate;
-    private int count;
-    private double averageMedianAge, averageMale, averageBachelor;
-    private double similarityValue;
+    /**
+     * Gets the course count and the participant, audited and certified sums
+     * of every launch month, in month order, over the courses of an
+     * institution and a subject. Either may be null to roll up over all of
+     * them. The sums are kept by launch month, institution and subject from
+     * the first call and extended as courses are added, so a call reads those
+     * cells and no course.
+     *
+     * @param institution the institution, or null for every one
+     * @param subject     the subject, or null for every one
+     * @return the totals, without the months that launched no such course
+     */
+    public Map<YearMonth, LaunchTotals> getLaunchTotalsByMonth(String institution, String subject) {
+        return cached("getLaunchTotalsByMonth", Arrays.asList(institution, subject), dataset -> {
+            QueryTimer timer = startQuery("getLaunchTotalsByMonth");
+            try {
+                Map<YearMonth, LaunchTotals> result = dataset.rollupCube().byMonth(institution, subject);
+                timer.groupsBuilt(result.size());
+                return result;
+            } finally {
+                finishQuery(timer);
+            }
+        }, Collections::unmodifiableMap, Map::size);
+    }
 
     /**
-     * Instantiates a new Recommend course.
+     * Gets the totals of {@link #getLaunchTotalsByMonth} rolled up by year.
      *
-     * @param title      the title
-     * @param launchDate the launch date
-     */
-    public RecommendCourse(String title, Date launchDate){
-        this.launchDate = launchDate;
-        this.title = title;
-        this.count = 0;
-        this.averageMedianAge = 0;
-        this.averageMale = 0;
-        this.averageBachelor = 0;
-        this.similarityValue = 0;
+     * @param institution the institution, or null for every one
+     * @param subject     the subject, or null for every one
+     * @return the totals, without the years that launched no such course
+     */
+    public Map<Integer, LaunchTotals> getLaunchTotalsByYear(String institution, String subject) {
+        return cached("getLaunchTotalsByYear", Arrays.asList(institution, subject), dataset -> {
+            QueryTimer timer = startQuery("getLaunchTotalsByYear");
+            try {
+                Map<Integer, LaunchTotals> result = dataset.rollupCube().byYear(institution, subject);
+                timer.groupsBuilt(result.size());
+                return result;
+            } finally {
+                finishQuery(timer);
+            }
+        }, Collections::unmodifiableMap, Map::size);
     }
 
     /**
-     * Add.
+     * Gets the totals of {@link #getLaunchTotalsByMonth} for every
+     * institution or every subject over the courses launched in the months
+     * {@code [from, to]}, sorted by name.
      *
-     * @param title           the title
-     * @param launchDate      the launch date
-     * @param medianAge       the median age
-     * @param averageMale     the average male
-     * @param averageBachelor the average bachelor
-     */
-    public void add(String title, Date launchDate, double medianAge, double averageMale, double averageBachelor){
-        if (launchDate.after(this.launchDate)){
-            this.launchDate = launchDate;
-            this.title = title;
+     * @param dimension {@link TextColumn#INSTITUTION} or {@link TextColumn#SUBJECT}
+     * @param from      the first month
+     * @param to        the last month
+     * @return the totals
+     */
+    public Map<String, LaunchTotals> getLaunchTotalsBy(TextColumn dimension, YearMonth from, YearMonth to) {
+        return cached("getLaunchTotalsBy", List.of(dimension, from, to), dataset -> {
+            QueryTimer timer = startQuery("getLaunchTotalsBy");
+            try {
+                Map<String, LaunchTotals> result = dataset.rollupCube().by(dimension, from, to);
+                timer.groupsBuilt(result.size());
+                return result;
+            } finally {
+                finishQuery(timer);
+            }
+        }, Collections::unmodifiableMap, Map::size);
+    }
+
+    /**
+     * Gets the column of a sort key.
+     */
+    private static NumericColumn numericColumn(String by) {
+        NumericColumn column = CourseTable.numericColumn(by);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown sort key: " + by);
         }
-        this.averageMedianAge = (this.averageMedianAge * this.count+medianAge)/(this.count + 1);
-        this.averageMale = (this.averageMale * this.count + averageMale)/(this.count + 1);
-        this.averageBachelor = (this.averageBachelor * this.count+averageBachelor)/(this.count + 1);
-        this.count++;
+        return column;
     }
 
     /**
-     * Calc similarity value.
+     * Search courses list. The query runs as a {@link CourseFilter}: the
+     * courses whose subject contains {@code courseSubject}, ignoring case,
+     * come from an index of the distinct subjects built when the courses are
+     * loaded, and are intersected with the rows of the two bounds.
      *
-     * @param age                the age
-     * @param gender             the gender
-     * @param isBachelorOrHigher the is bachelor or higher
+     * @param courseSubject    the course subject
+     * @param percentAudited   the percent audited
+     * @param totalCourseHours the total course hours
+     * @return the list
      */
-    public void calcSimilarityValue(int age, int gender, int isBachelorOrHigher){
-        this.similarityValue = Math.pow((double) age - this.averageMedianAge,2)+
-                Math.pow(gender*100-this.averageMale,2)+
-                Math.pow(isBachelorOrHigher*100-this.averageBachelor,2);
+//5
+    public List<String> searchCourses(String courseSubject, double percentAudited, double totalCourseHours) {
+        return cachedFind("searchCourses", List.of(courseSubject, percentAudited, totalCourseHours), CourseFilter.subjectContains(courseSubject)
+                .and(CourseFilter.atLeast("percentAudited", percentAudited))
+                .and(CourseFilter.atMost("totalHours", totalCourseHours)));
     }
 
     /**
-     * Get similarity value double.
+     * Gets the rows of the courses that match a filter.
      *
-     * @return the double
+     * @param filter the filter
+     * @return the rows
      */
-    public double getSimilarityValue(){
-        return this.similarityValue;
+    public RowBitmap filter(CourseFilter filter) {
+        return filter.evaluate(dataset);
     }
 
     /**
-     * Get title string.
+     * Gets the distinct titles of the courses that match a filter, in
+     * alphabetical order.
      *
-     * @return the string
+     * @param filter the filter
+     * @return the titles
      */
-    public String getTitle(){
-        return this.title;
+    public List<String> findCourses(CourseFilter filter) {
+        return cachedFind("findCourses", List.of(filter), filter);
     }
 
-}
-
+    private List<String> cachedFind(String query, List<?> args, CourseFilter filter) {
+        return cached(query, args, dataset -> findCourses(dataset, query, filter),
+                Collections::unmodifiableList, List::size);
+    }
 
-/**
- * The type Course.
- */
-class Course {
-    /**
-     * The Institution.
-     */
-    String institution;
-    /**
-     * The Number.
-     */
-    String number;
-    /**
-     * The Launch date.
-     */
-    Date launchDate;
-    /**
-     * The Title.
-     */
-    String title;
-    /**
-     * The Instructors.
-     */
-    String instructors;
-    /**
-     * The Subject.
-     */
-    String subject;
-    /**
-     * The Year.
-     */
-    int year;
-    /**
-     * The Honor code.
-     */
-    int honorCode;
-    /**
-     * The Participants.
-     */
-    int participants;
-    /**
-     * The Audited.
-     */
-    int audited;
-    /**
-     * The Certified.
-     */
-    int certified;
-    /**
-     * The Percent audited.
-     */
-    double percentAudited;
-    /**
-     * The Percent certified.
-     */
-    double percentCertified;
-    /**
-     * The Percent certified 50.
-     */
-    double percentCertified50;
-    /**
-     * The Percent video.
-     */
-    double percentVideo;
-    /**
-     * The Percent forum.
-     */
-    double percentForum;
-    /**
-     * The Grade higher zero.
-     */
-    double gradeHigherZero;
-    /**
-     * The Total hours.
-     */
-    double totalHours;
-    /**
-     * The Median hours certification.
-     */
-    double medianHoursCertification;
-    /**
-     * The Median age.
-     */
-    double medianAge;
-    /**
-     * The Percent male.
-     */
-    double percentMale;
-    /**
-     * The Percent female.
-     */
-    double percentFemale;
-    /**
-     * The Percent degree.
-     */
-    double percentDegree;
+    private List<String> findCourses(CourseDataset dataset, String query, CourseFilter filter) {
+        QueryTimer timer = startQuery(query);
+        try {
+            CourseTable table = dataset.table();
+            RowBitmap rows = filter.evaluate(dataset);
+            timer.rowsScanned(rows.cardinality());
+            IntSet titleIds = new IntSet(16);
+            List<String> result = new ArrayList<>();
+            StringDictionary titles = table.dictionary(TextColumn.TITLE);
+            rows.forEach(row -> {
+                if (titleIds.add(table.getId(TextColumn.TITLE, row))) {
+                    result.add(titles.get(table.getId(TextColumn.TITLE, row)));
+                }
+            });
+            timer.scored();
+            result.sort(String::compareTo);
+            timer.sorted();
+            return result;
+        } finally {
+            finishQuery(timer);
+        }
+    }
 
     /**
-     * Instantiates a new Course.
+     * Recommend courses list. The audience means of every course number are
+     * computed once and extended as courses are added, so a call scores each
+     * course with one pass over them and keeps the ten best titles in a
+     * bounded heap.
      *
-     * @param institution              the institution
-     * @param number                   the number
-     * @param launchDate               the launch date
-     * @param title                    the title
-     * @param instructors              the instructors
-     * @param subject                  the subject
-     * @param year                     the year
-     * @param honorCode                the honor code
-     * @param participants             the participants
-     * @param audited                  the audited
-     * @param certified                the certified
-     * @param percentAudited           the percent audited
-     * @param percentCertified         the percent certified
-     * @param percentCertified50       the percent certified 50
-     * @param percentVideo             the percent video
-     * @param percentForum             the percent forum
-     * @param gradeHigherZero          the grade higher zero
-     * @param totalHours               the total hours
-     * @param medianHoursCertification the median hours certification
-     * @param medianAge                the median age
-     * @param percentMale              the percent male
-     * @param percentFemale            the percent female
-     * @param percentDegree            the percent degree
-     */
-    public Course(String institution, String number, Date launchDate,
-                  String title, String instructors, String subject,
-                  int year, int honorCode, int participants,
-                  int audited, int certified, double percentAudited,
-                  double percentCertified, double percentCertified50,
-                  double percentVideo, double percentForum, double gradeHigherZero,
-                  double totalHours, double medianHoursCertification,
-                  double medianAge, double percentMale, double percentFemale,
-                  double percentDegree) {
-        this.institution = institution;
-        this.number = number;
-        this.launchDate = launchDate;
-        if (title.startsWith("\"")) title = title.substring(1);
-        if (title.endsWith("\"")) title = title.substring(0, title.length() - 1);
-        this.title = title;
-        if (instructors.startsWith("\"")) instructors = instructors.substring(1);
-        if (instructors.endsWith("\"")) instructors = instructors.substring(0, instructors.length() - 1);
-        this.instructors = instructors;
-        if (subject.startsWith("\"")) subject = subject.substring(1);
-        if (subject.endsWith("\"")) subject = subject.substring(0, subject.length() - 1);
-        this.subject = subject;
-        this.year = year;
-        this.honorCode = honorCode;
-        this.participants = participants;
-        this.audited = audited;
-        this.certified = certified;
-        this.percentAudited = percentAudited;
-        this.percentCertified = percentCertified;
-        this.percentCertified50 = percentCertified50;
-        this.percentVideo = percentVideo;
-        this.percentForum = percentForum;
-        this.gradeHigherZero = gradeHigherZero;
-        this.totalHours = totalHours;
-        this.medianHoursCertification = medianHoursCertification;
-        this.medianAge = medianAge;
-        this.percentMale = percentMale;
-        this.percentFemale = percentFemale;
-        this.percentDegree = percentDegree;
-    }
-
-    /**
-     * Get total hours double.
-     *
-     * @return the double
+     * @param age                the age
+     * @param gender             the gender
+     * @param isBachelorOrHigher the is bachelor or higher
+     * @return the list
      */
-    public double getTotalHours(){
-        return totalHours;
+//6
+    public List<String> recommendCourses(int age, int gender, int isBachelorOrHigher) {
+        return cached("recommendCourses", List.of(age, gender, isBachelorOrHigher),
+                dataset -> recommendedCourses(dataset, age, gender, isBachelorOrHigher), Collections::unmodifiableList, List::size);
+    }
+
+    private List<String> recommendedCourses(CourseDataset dataset, int age, int gender, int isBachelorOrHigher) {
+        QueryTimer timer = startQuery("recommendCourses");
+        try {
+            CourseProfiles profiles = dataset.courseProfiles();
+            double[] scores = new double[profiles.courseCount()];
+            profiles.score(age, gender, isBachelorOrHigher, scores);
+            timer.scored();
+            List<String> result = profiles.nearest(scores, 10);
+            timer.sorted();
+            return result;
+        } finally {
+            finishQuery(timer);
+        }
     }
 
     /**
-     * Get participants int.
+     * Recommends courses to many profiles at once, with the same result for
+     * each as {@link #recommendCourses}. The course means are computed once
+     * for the whole batch and scored against blocks of profiles; on an
+     * {@link #setExecutionPool execution pool} the profiles are split among
+     * its workers. Scoring and ranking interleave per block, so its
+     * {@link QueryMetrics} count both as scoring time.
      *
-     * @return the int
-     */
-    public int getParticipants(){
-        return participants;
+     * @param ages    the ages
+     * @param genders the genders
+     * @param degrees the is-bachelor-or-higher flags
+     * @return the recommended titles of every profile, in profile order
+     */
+    public List<List<String>> recommendCoursesBatch(int[] ages, int[] genders, int[] degrees) {
+        if (genders.length != ages.length || degrees.length != ages.length) {
+            throw new IllegalArgumentException("Profile arrays differ in length: "
+                    + ages.length + ", " + genders.length + ", " + degrees.length);
+        }
+        QueryTimer timer = startQuery("recommendCoursesBatch");
+        try {
+            CourseProfiles profiles = dataset.courseProfiles();
+            List<List<String>> result = RowPartitioner.reduce(ages.length, PROFILES_PER_TASK, pool,
+                    (from, to) -> profiles.nearest(ages, genders, degrees, from, to, 10),
+                    (left, right) -> {
+                        left.addAll(right);
+                        return left;
+                    });
+            timer.scored();
+            return result;
+        } finally {
+            finishQuery(timer);
+        }
     }
-}
\ No newline at end of file
+
+}
@@ -0,0 +1,183 @@
+package src;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The query results of an {@link OnlineCoursesAnalyzer}, keyed by query,
+ * arguments and dataset version. Every result has a weight, about the number
+ * of values it holds, and the least recently used results are evicted once
+ * the total weight exceeds the capacity. A result heavier than the whole
+ * capacity is not kept. Raising the dataset version drops every result of
+ * older versions.
+ * <p>
+ * Lookups take no lock: a hit only stamps its entry from a shared counter.
+ * Puts queue their entries under the cache's lock, and eviction takes the
+ * eldest entry off the queue: one stamped since it was queued is queued
+ * again instead, the second-chance approximation of least recently used.
+ * Every entry is passed over at most once for each hit, so a put costs
+ * amortized constant time however many entries there are.
+ */
+final class QueryCache {
+    private final long capacity;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * The entries in the order they were queued, guarded by this cache. It
+     * may still hold entries that were replaced or invalidated.
+     */
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong weight = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private volatile long version;
+
+    /**
+     * Instantiates a new Query cache.
+     *
+     * @param capacity the total weight of the results it may hold
+     */
+    QueryCache(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the capacity.
+     *
+     * @return the capacity
+     */
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets a cached result, counting a hit or a miss.
+     *
+     * @param version the dataset version
+     * @param query   the query
+     * @param args    the arguments
+     * @return the result, or null if it is not cached
+     */
+    Object get(long version, String query, List<?> args) {
+        Entry entry = entries.get(new Key(version, query, args));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.lastUsed = clock.incrementAndGet();
+        hits.increment();
+        return entry.result;
+    }
+
+    /**
+     * Caches a result, evicting the least recently used results to make room.
+     * Results of a version older than the current one are not kept.
+     *
+     * @param version the dataset version the result was computed on
+     * @param query   the query
+     * @param args    the arguments
+     * @param result  the result
+     * @param weight  the weight of the result
+     */
+    void put(long version, String query, List<?> args, Object result, long weight) {
+        if (version < this.version || weight > capacity) {
+            return;
+        }
+        Key key = new Key(version, query, args);
+        Entry entry = new Entry(key, result, weight, clock.incrementAndGet());
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            entry.queued = entry.lastUsed;
+            queue.addLast(entry);
+            if (this.weight.addAndGet(weight - (previous == null ? 0 : previous.weight)) > capacity) {
+                evict();
+            }
+            if (queue.size() > 2 * entries.size()) {
+                queue.removeIf(this::isStale);
+            }
+        }
+    }
+
+    /**
+     * Evicts until the weight fits the capacity, holding the cache's lock.
+     */
+    private void evict() {
+        while (weight.get() > capacity) {
+            Entry eldest = queue.pollFirst();
+            if (eldest == null) {
+                return;
+            }
+            if (isStale(eldest)) {
+                continue;
+            }
+            long lastUsed = eldest.lastUsed;
+            if (lastUsed > eldest.queued) {
+                eldest.queued = lastUsed;
+                queue.addLast(eldest);
+            } else if (entries.remove(eldest.key, eldest)) {
+                weight.addAndGet(-eldest.weight);
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean isStale(Entry entry) {
+        return entries.get(entry.key) != entry;
+    }
+
+    /**
+     * Drops the results of every version older than the given one.
+     *
+     * @param version the new dataset version
+     */
+    void invalidate(long version) {
+        this.version = version;
+        for (Map.Entry<Key, Entry> entry : entries.entrySet()) {
+            if (entry.getKey().version < version && entries.remove(entry.getKey(), entry.getValue())) {
+                weight.addAndGet(-entry.getValue().weight);
+                invalidations.increment();
+            }
+        }
+        synchronized (this) {
+            queue.removeIf(this::isStale);
+        }
+    }
+
+    /**
+     * Gets the counters of this cache.
+     *
+     * @return the stats
+     */
+    QueryCacheStats stats() {
+        return new QueryCacheStats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(),
+                entries.size(), weight.get());
+    }
+
+    private record Key(long version, String query, List<?> args) {
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final Object result;
+        private final long weight;
+        private volatile long lastUsed;
+        /**
+         * The stamp of the last use seen when the entry was queued, guarded
+         * by the cache.
+         */
+        private long queued;
+
+        private Entry(Key key, Object result, long weight, long lastUsed) {
+            this.key = key;
+            this.result = result;
+            this.weight = weight;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
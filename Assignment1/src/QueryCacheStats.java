@@ -0,0 +1,103 @@
+package src;
+
+/**
+ * The counters of the result cache of an {@link OnlineCoursesAnalyzer},
+ * as returned by {@link OnlineCoursesAnalyzer#getCacheStats()}.
+ */
+public final class QueryCacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final int entries;
+    private final long weight;
+
+    /**
+     * Instantiates a new Query cache stats.
+     *
+     * @param hits          the hits
+     * @param misses        the misses
+     * @param evictions     the evictions
+     * @param invalidations the invalidations
+     * @param entries       the entries
+     * @param weight        the weight
+     */
+    public QueryCacheStats(long hits, long misses, long evictions, long invalidations, int entries, long weight) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.entries = entries;
+        this.weight = weight;
+    }
+
+    /**
+     * Gets the queries answered from the cache.
+     *
+     * @return the hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the queries that had to be computed.
+     *
+     * @return the misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the results dropped to stay within the capacity.
+     *
+     * @return the evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the results dropped because courses were added.
+     *
+     * @return the invalidations
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return the entries
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the total weight of the cached results.
+     *
+     * @return the weight
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gets the share of queries answered from the cache.
+     *
+     * @return the hit rate, or 0 before the first query
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return hits + " hits, " + misses + " misses, " + evictions + " evictions, " + invalidations
+                + " invalidations, " + entries + " entries of weight " + weight;
+    }
+}
@@ -0,0 +1,97 @@
+package src;
+
+/**
+ * What one query of an {@link OnlineCoursesAnalyzer} cost, as passed to a
+ * {@link QueryMetricsListener}.
+ */
+public final class QueryMetrics {
+    private final String query;
+    private final long rowsScanned;
+    private final long groupsBuilt;
+    private final long scoringNanos;
+    private final long sortNanos;
+    private final long totalNanos;
+
+    /**
+     * Instantiates a new Query metrics.
+     *
+     * @param query        the query
+     * @param rowsScanned  the rows scanned
+     * @param groupsBuilt  the groups built
+     * @param scoringNanos the scoring nanos
+     * @param sortNanos    the sort nanos
+     * @param totalNanos   the total nanos
+     */
+    public QueryMetrics(String query, long rowsScanned, long groupsBuilt,
+                        long scoringNanos, long sortNanos, long totalNanos) {
+        this.query = query;
+        this.rowsScanned = rowsScanned;
+        this.groupsBuilt = groupsBuilt;
+        this.scoringNanos = scoringNanos;
+        this.sortNanos = sortNanos;
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * Gets the name of the query method, e.g. {@code recommendCourses}.
+     *
+     * @return the query
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Gets the rows the query read, including the rows of any index or
+     * per-course profile it had to build first.
+     *
+     * @return the rows scanned
+     */
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    /**
+     * Gets the groups the query aggregated into: institutions,
+     * institution-subject pairs, instructors, or the course profiles it
+     * had to build.
+     *
+     * @return the groups built
+     */
+    public long getGroupsBuilt() {
+        return groupsBuilt;
+    }
+
+    /**
+     * Gets the time spent aggregating, matching or scoring rows.
+     *
+     * @return the scoring nanos
+     */
+    public long getScoringNanos() {
+        return scoringNanos;
+    }
+
+    /**
+     * Gets the time spent sorting, ranking or selecting the results.
+     *
+     * @return the sort nanos
+     */
+    public long getSortNanos() {
+        return sortNanos;
+    }
+
+    /**
+     * Gets the time of the whole query.
+     *
+     * @return the total nanos
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return query + ": " + rowsScanned + " rows, " + groupsBuilt + " groups, scoring "
+                + scoringNanos / 1000 + " us, sort " + sortNanos / 1000 + " us, total " + totalNanos / 1000 + " us";
+    }
+}
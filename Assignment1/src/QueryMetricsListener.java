@@ -0,0 +1,16 @@
+package src;
+
+/**
+ * Receives the {@link QueryMetrics} of every query of an analyzer it is
+ * {@link OnlineCoursesAnalyzer#setMetricsListener set on}. It is called on
+ * the thread that ran the query, after the query, so it should return quickly.
+ */
+@FunctionalInterface
+public interface QueryMetricsListener {
+    /**
+     * Called when a query has finished.
+     *
+     * @param metrics the metrics
+     */
+    void onQuery(QueryMetrics metrics);
+}
@@ -0,0 +1,113 @@
+package src;
+
+/**
+ * Collects the {@link QueryMetrics} of one query as it runs. Without a
+ * listener every method returns at once, so an uninstrumented query reads
+ * no clock. A timed query is the current query of its thread until it
+ * finishes, and the indexes built on that thread meanwhile are counted as
+ * part of it. A query started while another one runs on the same thread
+ * counts its own indexes, and finishing it makes the other one current
+ * again, so {@link #finish} must be called once per timer, in a
+ * {@code finally} block.
+ */
+final class QueryTimer {
+    private static final ThreadLocal<QueryTimer> CURRENT = new ThreadLocal<>();
+
+    private final QueryMetricsListener listener;
+    private final String query;
+    private final QueryTimer previous;
+    private final long start;
+    private long mark;
+    private long rowsScanned;
+    private long groupsBuilt;
+    private long scoringNanos;
+    private long sortNanos;
+
+    /**
+     * Starts timing a query on the calling thread.
+     *
+     * @param listener the listener, or null to record nothing
+     * @param query    the query
+     */
+    QueryTimer(QueryMetricsListener listener, String query) {
+        this.listener = listener;
+        this.query = query;
+        this.start = listener == null ? 0 : System.nanoTime();
+        this.mark = start;
+        this.previous = listener == null ? null : CURRENT.get();
+        if (listener != null) {
+            CURRENT.set(this);
+        }
+    }
+
+    /**
+     * Counts rows read and groups built for an index by the current query
+     * of the calling thread, if any.
+     *
+     * @param rows   the rows
+     * @param groups the groups
+     */
+    static void indexed(long rows, long groups) {
+        QueryTimer timer = CURRENT.get();
+        if (timer != null) {
+            timer.rowsScanned += rows;
+            timer.groupsBuilt += groups;
+        }
+    }
+
+    /**
+     * Counts rows read by the query.
+     *
+     * @param rows the rows
+     */
+    void rowsScanned(long rows) {
+        rowsScanned += rows;
+    }
+
+    /**
+     * Counts groups built by the query.
+     *
+     * @param groups the groups
+     */
+    void groupsBuilt(long groups) {
+        groupsBuilt += groups;
+    }
+
+    /**
+     * Ends a scoring phase that began at the last phase end.
+     */
+    void scored() {
+        if (listener != null) {
+            long now = System.nanoTime();
+            scoringNanos += now - mark;
+            mark = now;
+        }
+    }
+
+    /**
+     * Ends a sort phase that began at the last phase end.
+     */
+    void sorted() {
+        if (listener != null) {
+            long now = System.nanoTime();
+            sortNanos += now - mark;
+            mark = now;
+        }
+    }
+
+    /**
+     * Passes the metrics to the listener and ends the query on its thread,
+     * making the query it was started in current again.
+     */
+    void finish() {
+        if (listener != null) {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+            listener.onQuery(new QueryMetrics(query, rowsScanned, groupsBuilt, scoringNanos, sortNanos,
+                    System.nanoTime() - start));
+        }
+    }
+}
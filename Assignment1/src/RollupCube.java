@@ -0,0 +1,266 @@
+package src;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+
+/**
+ * The course count and the participant, audited and certified sums of every
+ * (launch month, institution, subject) that has a course, precomputed once.
+ * Cells are found through an open-addressing hash table over their keys and
+ * hold primitive sums, like the groups of a {@link GroupByAggregator}. A
+ * rollup reads the cells rather than the rows, so it costs the number of
+ * cells, a few per month for every institution and subject, however many
+ * rows there are. A cube covers the rows that existed when it was built,
+ * and {@link #extend} returns a copy with the rows appended since, leaving
+ * this one as readers see it.
+ */
+final class RollupCube {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MEASURES = 4;
+
+    private CourseTable table;
+    private int rows;
+    private int[] slots = new int[INITIAL_CAPACITY];
+    private int cells;
+    private int[] months = new int[INITIAL_CAPACITY / 2];
+    private int[] institutions = new int[INITIAL_CAPACITY / 2];
+    private int[] subjects = new int[INITIAL_CAPACITY / 2];
+    private long[] sums = new long[INITIAL_CAPACITY / 2 * MEASURES];
+    private int firstMonth = Integer.MAX_VALUE;
+    private int lastMonth = Integer.MIN_VALUE;
+
+    private RollupCube() {
+    }
+
+    /**
+     * Sums the rows of a table into their cells.
+     *
+     * @param table the table
+     * @return the cube
+     */
+    static RollupCube build(CourseTable table) {
+        return new RollupCube().add(table);
+    }
+
+    /**
+     * Gets the cube of a larger table holding the rows of this one as its
+     * first rows. The cells are copied and only the new rows are read.
+     *
+     * @param larger the larger table
+     * @return the cube
+     */
+    RollupCube extend(CourseTable larger) {
+        RollupCube copy = new RollupCube();
+        copy.rows = rows;
+        copy.slots = slots.clone();
+        copy.cells = cells;
+        copy.months = months.clone();
+        copy.institutions = institutions.clone();
+        copy.subjects = subjects.clone();
+        copy.sums = sums.clone();
+        copy.firstMonth = firstMonth;
+        copy.lastMonth = lastMonth;
+        return copy.add(larger);
+    }
+
+    private RollupCube add(CourseTable larger) {
+        for (int row = rows; row < larger.size(); row++) {
+            int month = EpochDays.month(larger.getInt(IntColumn.LAUNCH_DAY, row));
+            int cell = cellOf(month, larger.getId(TextColumn.INSTITUTION, row), larger.getId(TextColumn.SUBJECT, row));
+            int at = cell * MEASURES;
+            sums[at]++;
+            sums[at + 1] += larger.getInt(IntColumn.PARTICIPANTS, row);
+            sums[at + 2] += larger.getInt(IntColumn.AUDITED, row);
+            sums[at + 3] += larger.getInt(IntColumn.CERTIFIED, row);
+        }
+        table = larger;
+        rows = larger.size();
+        return this;
+    }
+
+    /**
+     * Finds the cell of a key, creating it if needed.
+     */
+    private int cellOf(int month, int institution, int subject) {
+        int mask = slots.length - 1;
+        for (int slot = hash(month, institution, subject) & mask; ; slot = (slot + 1) & mask) {
+            int cell = slots[slot] - 1;
+            if (cell < 0) {
+                return newCell(slot, month, institution, subject);
+            }
+            if (months[cell] == month && institutions[cell] == institution && subjects[cell] == subject) {
+                return cell;
+            }
+        }
+    }
+
+    private int newCell(int slot, int month, int institution, int subject) {
+        int cell = cells++;
+        if (cell == months.length) {
+            int capacity = months.length * 2;
+            months = Arrays.copyOf(months, capacity);
+            institutions = Arrays.copyOf(institutions, capacity);
+            subjects = Arrays.copyOf(subjects, capacity);
+            sums = Arrays.copyOf(sums, capacity * MEASURES);
+        }
+        months[cell] = month;
+        institutions[cell] = institution;
+        subjects[cell] = subject;
+        firstMonth = Math.min(firstMonth, month);
+        lastMonth = Math.max(lastMonth, month);
+        slots[slot] = cell + 1;
+        if (cells * 2 > slots.length) {
+            rehash();
+        }
+        return cell;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int cell = 0; cell < cells; cell++) {
+            int slot = hash(months[cell], institutions[cell], subjects[cell]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = cell + 1;
+        }
+    }
+
+    private static int hash(int month, int institution, int subject) {
+        int h = ((month * 0x9E3779B9 + institution) * 0x9E3779B9 + subject) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Gets the number of cells.
+     *
+     * @return the cell count
+     */
+    int cellCount() {
+        return cells;
+    }
+
+    /**
+     * Gets the totals of every month with a matching course, in month order.
+     *
+     * @param institution the institution, or null for every one
+     * @param subject     the subject, or null for every one
+     * @return the totals
+     */
+    Map<YearMonth, LaunchTotals> byMonth(String institution, String subject) {
+        long[] totals = totalsByMonth(institution, subject);
+        Map<YearMonth, LaunchTotals> result = new LinkedHashMap<>();
+        for (int bucket = 0; bucket * MEASURES < totals.length; bucket++) {
+            if (totals[bucket * MEASURES] > 0) {
+                int month = firstMonth + bucket;
+                result.put(YearMonth.of(Math.floorDiv(month, 12), Math.floorMod(month, 12) + 1),
+                        totals(totals, bucket));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the totals of every year with a matching course, in year order.
+     *
+     * @param institution the institution, or null for every one
+     * @param subject     the subject, or null for every one
+     * @return the totals
+     */
+    Map<Integer, LaunchTotals> byYear(String institution, String subject) {
+        long[] totals = totalsByMonth(institution, subject);
+        int firstYear = Math.floorDiv(firstMonth, 12);
+        long[] years = new long[totals.length == 0 ? 0 : (Math.floorDiv(lastMonth, 12) - firstYear + 1) * MEASURES];
+        for (int bucket = 0; bucket * MEASURES < totals.length; bucket++) {
+            int year = Math.floorDiv(firstMonth + bucket, 12) - firstYear;
+            for (int measure = 0; measure < MEASURES; measure++) {
+                years[year * MEASURES + measure] += totals[bucket * MEASURES + measure];
+            }
+        }
+        Map<Integer, LaunchTotals> result = new LinkedHashMap<>();
+        for (int year = 0; year * MEASURES < years.length; year++) {
+            if (years[year * MEASURES] > 0) {
+                result.put(firstYear + year, totals(years, year));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the totals of every institution or subject with a course launched
+     * in {@code [from, to]}, sorted by name.
+     *
+     * @param dimension {@link TextColumn#INSTITUTION} or {@link TextColumn#SUBJECT}
+     * @param from      the first month
+     * @param to        the last month
+     * @return the totals
+     */
+    Map<String, LaunchTotals> by(TextColumn dimension, YearMonth from, YearMonth to) {
+        int[] keys;
+        if (dimension == TextColumn.INSTITUTION) {
+            keys = institutions;
+        } else if (dimension == TextColumn.SUBJECT) {
+            keys = subjects;
+        } else {
+            throw new IllegalArgumentException("Rollups are by institution or subject, not " + dimension);
+        }
+        long first = 12L * from.getYear() + from.getMonthValue() - 1;
+        long last = 12L * to.getYear() + to.getMonthValue() - 1;
+        StringDictionary values = table.dictionary(dimension);
+        long[] totals = new long[values.size() * MEASURES];
+        for (int cell = 0; cell < cells; cell++) {
+            if (months[cell] >= first && months[cell] <= last) {
+                addCell(totals, keys[cell], cell);
+            }
+        }
+        Map<String, LaunchTotals> result = new HashMap<>();
+        for (int id = 0; id < values.size(); id++) {
+            if (totals[id * MEASURES] > 0) {
+                result.put(values.get(id), totals(totals, id));
+            }
+        }
+        return result.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                        (e1, e2) -> e1, LinkedHashMap::new));
+    }
+
+    /**
+     * Sums the matching cells into one slot of measures per month from
+     * {@link #firstMonth} to {@link #lastMonth}.
+     */
+    private long[] totalsByMonth(String institution, String subject) {
+        int institutionId = institution == null ? -1 : table.dictionary(TextColumn.INSTITUTION).find(institution);
+        int subjectId = subject == null ? -1 : table.dictionary(TextColumn.SUBJECT).find(subject);
+        if (cells == 0 || institution != null && institutionId < 0 || subject != null && subjectId < 0) {
+            return new long[0];
+        }
+        long[] totals = new long[(lastMonth - firstMonth + 1) * MEASURES];
+        for (int cell = 0; cell < cells; cell++) {
+            if ((institutionId < 0 || institutions[cell] == institutionId)
+                    && (subjectId < 0 || subjects[cell] == subjectId)) {
+                addCell(totals, months[cell] - firstMonth, cell);
+            }
+        }
+        return totals;
+    }
+
+    private void addCell(long[] totals, int bucket, int cell) {
+        for (int measure = 0; measure < MEASURES; measure++) {
+            totals[bucket * MEASURES + measure] += sums[cell * MEASURES + measure];
+        }
+    }
+
+    private static LaunchTotals totals(long[] totals, int bucket) {
+        int at = bucket * MEASURES;
+        return new LaunchTotals(totals[at], totals[at + 1], totals[at + 2], totals[at + 3]);
+    }
+}
@@ -0,0 +1,499 @@
+package src;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * An immutable compressed set of row numbers, laid out like a Roaring
+ * bitmap. The rows are split by their high 16 bits into containers, which
+ * hold the low 16 bits either as a sorted {@code char[]} of at most
+ * {@value #ARRAY_LIMIT} values or as a 65536-bit {@code long[]} bitmap.
+ * Set operations merge the container keys first, so containers that occur
+ * in only one operand of an intersection are never looked at.
+ */
+public final class RowBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+    private static final RowBitmap EMPTY = new RowBitmap(new char[0], new Object[0], new int[0], 0);
+
+    private final char[] keys;
+    private final Object[] containers;
+    private final int[] cardinalities;
+    private final int size;
+
+    private RowBitmap(char[] keys, Object[] containers, int[] cardinalities, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinalities = cardinalities;
+        this.size = size;
+    }
+
+    /**
+     * Gets the empty bitmap.
+     *
+     * @return the row bitmap
+     */
+    public static RowBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a bitmap of the given rows, in any order and with repeats.
+     *
+     * @param rows the rows
+     * @return the row bitmap
+     */
+    public static RowBitmap of(int... rows) {
+        return of(rows, 0, rows.length);
+    }
+
+    /**
+     * Creates a bitmap of the rows in {@code rows[from, to)}, in any order and
+     * with repeats. The rows are bucketed by container in two passes, so
+     * nothing but the array containers is sorted.
+     *
+     * @param rows the rows
+     * @param from the from
+     * @param to   the to
+     * @return the row bitmap
+     */
+    static RowBitmap of(int[] rows, int from, int to) {
+        if (from >= to) {
+            return EMPTY;
+        }
+        int maxKey = 0;
+        for (int i = from; i < to; i++) {
+            if (rows[i] < 0) {
+                throw new IllegalArgumentException("Negative row: " + rows[i]);
+            }
+            maxKey = Math.max(maxKey, rows[i] >>> 16);
+        }
+        int[] counts = new int[maxKey + 1];
+        for (int i = from; i < to; i++) {
+            counts[rows[i] >>> 16]++;
+        }
+        Object[] byKey = new Object[maxKey + 1];
+        int[] filled = new int[maxKey + 1];
+        for (int key = 0; key <= maxKey; key++) {
+            if (counts[key] > ARRAY_LIMIT) {
+                byKey[key] = new long[BITMAP_WORDS];
+            } else if (counts[key] > 0) {
+                byKey[key] = new char[counts[key]];
+            }
+        }
+        for (int i = from; i < to; i++) {
+            int key = rows[i] >>> 16;
+            char low = (char) rows[i];
+            if (byKey[key] instanceof long[] words) {
+                words[low >>> 6] |= 1L << low;
+            } else {
+                ((char[]) byKey[key])[filled[key]++] = low;
+            }
+        }
+        Builder builder = new Builder(maxKey + 1);
+        for (int key = 0; key <= maxKey; key++) {
+            if (byKey[key] instanceof long[] words) {
+                builder.addBitmap((char) key, words, bitCount(words));
+            } else if (byKey[key] instanceof char[] values) {
+                Arrays.sort(values);
+                builder.addArray((char) key, distinct(values));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a bitmap of the ascending, distinct rows in {@code rows[from, to)}.
+     *
+     * @param rows the rows
+     * @param from the from
+     * @param to   the to
+     * @return the row bitmap
+     */
+    static RowBitmap ofSorted(int[] rows, int from, int to) {
+        Builder builder = new Builder(4);
+        int start = from;
+        while (start < to) {
+            int key = rows[start] >>> 16;
+            int end = start + 1;
+            while (end < to && rows[end] >>> 16 == key) {
+                end++;
+            }
+            int count = end - start;
+            if (count > ARRAY_LIMIT) {
+                long[] words = new long[BITMAP_WORDS];
+                for (int i = start; i < end; i++) {
+                    words[(rows[i] >>> 6) & (BITMAP_WORDS - 1)] |= 1L << rows[i];
+                }
+                builder.addBitmap((char) key, words, count);
+            } else {
+                char[] values = new char[count];
+                for (int i = start; i < end; i++) {
+                    values[i - start] = (char) rows[i];
+                }
+                builder.addArray((char) key, values);
+            }
+            start = end;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a bitmap of the rows in {@code [from, to)}.
+     *
+     * @param from the from
+     * @param to   the to
+     * @return the row bitmap
+     */
+    public static RowBitmap range(int from, int to) {
+        if (from < 0) {
+            throw new IllegalArgumentException("Negative row: " + from);
+        }
+        Builder builder = new Builder(4);
+        for (int start = from; start < to; ) {
+            int key = start >>> 16;
+            int end = Math.min(to, (key + 1) << 16);
+            if (end - start > ARRAY_LIMIT) {
+                long[] words = new long[BITMAP_WORDS];
+                for (int low = start & 0xFFFF, high = low + end - start; low < high; low++) {
+                    words[low >>> 6] |= 1L << low;
+                }
+                builder.addBitmap((char) key, words, end - start);
+            } else {
+                char[] values = new char[end - start];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = (char) (start + i);
+                }
+                builder.addArray((char) key, values);
+            }
+            start = end;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the cardinality
+     */
+    public int cardinality() {
+        return size;
+    }
+
+    /**
+     * Checks whether there are no rows.
+     *
+     * @return true if there are none
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether a row is in this bitmap.
+     *
+     * @param row the row
+     * @return true if it is
+     */
+    public boolean contains(int row) {
+        if (row < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, (char) (row >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) row;
+        if (containers[index] instanceof long[] words) {
+            return (words[low >>> 6] & 1L << low) != 0;
+        }
+        return Arrays.binarySearch((char[]) containers[index], low) >= 0;
+    }
+
+    /**
+     * Passes every row to an action, in ascending order.
+     *
+     * @param action the action
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            int high = keys[i] << 16;
+            if (containers[i] instanceof long[] words) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    for (long word = words[w]; word != 0; word &= word - 1) {
+                        action.accept(high | w << 6 | Long.numberOfTrailingZeros(word));
+                    }
+                }
+            } else {
+                for (char low : (char[]) containers[i]) {
+                    action.accept(high | low);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the rows in ascending order.
+     *
+     * @return the rows
+     */
+    public int[] toArray() {
+        int[] rows = new int[size];
+        int[] next = new int[1];
+        forEach(row -> rows[next[0]++] = row);
+        return rows;
+    }
+
+    /**
+     * Gets the rows of this bitmap that pass a test.
+     *
+     * @param test the test
+     * @return the rows that pass
+     */
+    RowBitmap filter(IntPredicate test) {
+        int[] rows = new int[size];
+        int[] count = new int[1];
+        forEach(row -> {
+            if (test.test(row)) {
+                rows[count[0]++] = row;
+            }
+        });
+        return ofSorted(rows, 0, count[0]);
+    }
+
+    /**
+     * Intersects this bitmap with another one.
+     *
+     * @param other the other
+     * @return the rows in both
+     */
+    public RowBitmap and(RowBitmap other) {
+        Builder builder = new Builder(Math.min(keys.length, other.keys.length));
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Object a = containers[i++];
+                Object b = other.containers[j++];
+                char key = keys[i - 1];
+                if (a instanceof long[] x && b instanceof long[] y) {
+                    long[] words = new long[BITMAP_WORDS];
+                    for (int w = 0; w < BITMAP_WORDS; w++) {
+                        words[w] = x[w] & y[w];
+                    }
+                    builder.addBitmap(key, words, bitCount(words));
+                } else if (a instanceof char[] x && b instanceof char[] y) {
+                    builder.addArray(key, intersect(x, y));
+                } else {
+                    char[] values = a instanceof char[] x ? x : (char[]) b;
+                    long[] words = a instanceof long[] x ? x : (long[]) b;
+                    builder.addArray(key, filter(values, words));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Unites this bitmap with another one.
+     *
+     * @param other the other
+     * @return the rows in either
+     */
+    public RowBitmap or(RowBitmap other) {
+        Builder builder = new Builder(keys.length + other.keys.length);
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || i < keys.length && keys[i] < other.keys[j]) {
+                builder.add(keys[i], containers[i], cardinalities[i]);
+                i++;
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                builder.add(other.keys[j], other.containers[j], other.cardinalities[j]);
+                j++;
+            } else {
+                Object a = containers[i++];
+                Object b = other.containers[j++];
+                char key = keys[i - 1];
+                if (a instanceof char[] x && b instanceof char[] y && x.length + y.length <= ARRAY_LIMIT) {
+                    builder.addArray(key, union(x, y));
+                } else {
+                    long[] words = toWords(a);
+                    if (b instanceof long[] y) {
+                        for (int w = 0; w < BITMAP_WORDS; w++) {
+                            words[w] |= y[w];
+                        }
+                    } else {
+                        for (char low : (char[]) b) {
+                            words[low >>> 6] |= 1L << low;
+                        }
+                    }
+                    builder.addBitmap(key, words, bitCount(words));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RowBitmap other) || size != other.size) {
+            return false;
+        }
+        return Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private static long[] toWords(Object container) {
+        if (container instanceof long[] words) {
+            return words.clone();
+        }
+        long[] words = new long[BITMAP_WORDS];
+        for (char low : (char[]) container) {
+            words[low >>> 6] |= 1L << low;
+        }
+        return words;
+    }
+
+    private static char[] intersect(char[] a, char[] b) {
+        char[] result = new char[Math.min(a.length, b.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static char[] union(char[] a, char[] b) {
+        char[] result = new char[a.length + b.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || i < a.length && a[i] < b[j]) {
+                result[n++] = a[i++];
+            } else if (i == a.length || a[i] > b[j]) {
+                result[n++] = b[j++];
+            } else {
+                result[n++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static char[] filter(char[] values, long[] words) {
+        char[] result = new char[values.length];
+        int n = 0;
+        for (char low : values) {
+            if ((words[low >>> 6] & 1L << low) != 0) {
+                result[n++] = low;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static char[] distinct(char[] sorted) {
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    private static int bitCount(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Collects containers in ascending key order, dropping empty ones and
+     * turning bitmaps that have become sparse back into arrays.
+     */
+    private static final class Builder {
+        private char[] keys;
+        private Object[] containers;
+        private int[] cardinalities;
+        private int count;
+        private int size;
+
+        Builder(int capacity) {
+            keys = new char[Math.max(1, capacity)];
+            containers = new Object[keys.length];
+            cardinalities = new int[keys.length];
+        }
+
+        void addArray(char key, char[] values) {
+            add(key, values, values.length);
+        }
+
+        void addBitmap(char key, long[] words, int cardinality) {
+            if (cardinality > ARRAY_LIMIT) {
+                add(key, words, cardinality);
+                return;
+            }
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    values[n++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+            add(key, values, cardinality);
+        }
+
+        void add(char key, Object container, int cardinality) {
+            if (cardinality == 0) {
+                return;
+            }
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                containers = Arrays.copyOf(containers, count * 2);
+                cardinalities = Arrays.copyOf(cardinalities, count * 2);
+            }
+            keys[count] = key;
+            containers[count] = container;
+            cardinalities[count] = cardinality;
+            count++;
+            size += cardinality;
+        }
+
+        RowBitmap build() {
+            if (count == 0) {
+                return EMPTY;
+            }
+            return new RowBitmap(Arrays.copyOf(keys, count), Arrays.copyOf(containers, count),
+                    Arrays.copyOf(cardinalities, count), size);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Runs a computation over contiguous row ranges on a fork-join pool and
+ * folds the partial results in row order. Every range gets its own partial
+ * result, so workers share nothing until the final merge.
+ */
+final class RowPartitioner {
+    /**
+     * Ranges are never split below this many rows.
+     */
+    static final int MIN_ROWS = 1 << 14;
+
+    /**
+     * A computation over the rows {@code [from, to)}.
+     *
+     * @param <T> the type of the partial result
+     */
+    @FunctionalInterface
+    interface RangeTask<T> {
+        /**
+         * Computes the partial result of a row range.
+         *
+         * @param from the first row
+         * @param to   the end row
+         * @return the partial result
+         */
+        T apply(int from, int to);
+    }
+
+    private RowPartitioner() {
+    }
+
+    /**
+     * Computes a result over {@code rows} rows.
+     *
+     * @param <T>   the type of the result
+     * @param rows  the number of rows
+     * @param pool  the pool, or null to run on the calling thread
+     * @param task  the task computing one range
+     * @param merge folds a later range into an earlier one
+     * @return the result
+     */
+    static <T> T reduce(int rows, ForkJoinPool pool, RangeTask<T> task, BinaryOperator<T> merge) {
+        return reduce(rows, MIN_ROWS, pool, task, merge);
+    }
+
+    /**
+     * Computes a result over {@code rows} rows, splitting them into ranges of
+     * at least {@code minRows} rows.
+     *
+     * @param <T>     the type of the result
+     * @param rows    the number of rows
+     * @param minRows the smallest range worth a task
+     * @param pool    the pool, or null to run on the calling thread
+     * @param task    the task computing one range
+     * @param merge   folds a later range into an earlier one
+     * @return the result
+     */
+    static <T> T reduce(int rows, int minRows, ForkJoinPool pool, RangeTask<T> task, BinaryOperator<T> merge) {
+        int ranges = pool == null ? 1 : Math.min(pool.getParallelism(), (rows + minRows - 1) / minRows);
+        if (ranges <= 1) {
+            return task.apply(0, rows);
+        }
+        List<ForkJoinTask<T>> partials = new ArrayList<>(ranges);
+        for (int i = 0; i < ranges; i++) {
+            int from = (int) ((long) rows * i / ranges);
+            int to = (int) ((long) rows * (i + 1) / ranges);
+            partials.add(pool.submit(() -> task.apply(from, to)));
+        }
+        T result = partials.get(0).join();
+        for (int i = 1; i < ranges; i++) {
+            result = merge.apply(result, partials.get(i).join());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,70 @@
+package src;
+
+import java.util.Optional;
+
+/**
+ * Computes the squared distance between one audience profile and the
+ * feature vectors of many courses. The features are laid out as in
+ * {@link CourseProfiles}: {@code courses} median ages, then as many percents
+ * male, then as many percents degree. Every kernel returns exactly the same
+ * scores as {@link #scalar()}.
+ */
+public interface ScoreKernel {
+    /**
+     * Scores the courses in {@code [from, to)}.
+     *
+     * @param features the features, three blocks of {@code courses} values
+     * @param courses  the number of courses
+     * @param from     the first course
+     * @param to       the end course
+     * @param age      the age
+     * @param male     the percent male of the profile
+     * @param degree   the percent degree of the profile
+     * @param scores   receives the score of every course, at its index
+     */
+    void score(double[] features, int courses, int from, int to,
+               double age, double male, double degree, double[] scores);
+
+    /**
+     * Scores every course.
+     *
+     * @param features the features, three blocks of {@code courses} values
+     * @param courses  the number of courses
+     * @param age      the age
+     * @param male     the percent male of the profile
+     * @param degree   the percent degree of the profile
+     * @param scores   receives the score of every course
+     */
+    default void score(double[] features, int courses, double age, double male, double degree, double[] scores) {
+        score(features, courses, 0, courses, age, male, degree, scores);
+    }
+
+    /**
+     * Gets the plain loop kernel.
+     *
+     * @return the score kernel
+     */
+    static ScoreKernel scalar() {
+        return ScoreKernels.SCALAR;
+    }
+
+    /**
+     * Gets the kernel on {@code jdk.incubator.vector} lanes, which is only
+     * there when the {@code vector} source root was compiled and the JVM was
+     * started with {@code --add-modules jdk.incubator.vector}.
+     *
+     * @return the score kernel, if available
+     */
+    static Optional<ScoreKernel> vector() {
+        return Optional.ofNullable(ScoreKernels.VECTOR);
+    }
+
+    /**
+     * Gets the vector kernel if available, the scalar one otherwise.
+     *
+     * @return the score kernel
+     */
+    static ScoreKernel preferred() {
+        return ScoreKernels.VECTOR != null ? ScoreKernels.VECTOR : ScoreKernels.SCALAR;
+    }
+}
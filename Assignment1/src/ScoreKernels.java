@@ -0,0 +1,58 @@
+package src;
+
+/**
+ * The {@link ScoreKernel} implementations. The vector kernel lives in the
+ * separately compiled {@code vector} source root and is loaded reflectively,
+ * and only when its module is in the boot layer, so neither building
+ * {@code src} nor running it needs {@code jdk.incubator.vector}.
+ */
+final class ScoreKernels {
+    /**
+     * The module the vector kernel needs.
+     */
+    static final String VECTOR_MODULE = "jdk.incubator.vector";
+    /**
+     * The scalar kernel.
+     */
+    static final ScoreKernel SCALAR = ScoreKernels::scoreScalar;
+    /**
+     * The vector kernel, or null if it or its module is unavailable.
+     */
+    static final ScoreKernel VECTOR = loadVector();
+
+    private ScoreKernels() {
+    }
+
+    /**
+     * Scores the courses in {@code [from, to)} one at a time.
+     *
+     * @param features the features
+     * @param courses  the number of courses
+     * @param from     the first course
+     * @param to       the end course
+     * @param age      the age
+     * @param male     the male
+     * @param degree   the degree
+     * @param scores   the scores
+     */
+    static void scoreScalar(double[] features, int courses, int from, int to,
+                            double age, double male, double degree, double[] scores) {
+        for (int course = from; course < to; course++) {
+            double da = age - features[course];
+            double dm = male - features[courses + course];
+            double dd = degree - features[2 * courses + course];
+            scores[course] = da * da + dm * dm + dd * dd;
+        }
+    }
+
+    private static ScoreKernel loadVector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return (ScoreKernel) Class.forName("src.VectorScoreKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
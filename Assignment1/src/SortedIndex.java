@@ -0,0 +1,236 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import src.CourseTable.NumericColumn;
+import src.CourseTable.TextColumn;
+
+/**
+ * The rows of a table sorted by one numeric column, ascending, with equal
+ * values in descending row order. Walking it backwards therefore visits the
+ * rows exactly as a stable descending sort would, so a top-k query stops
+ * after k distinct titles, and a value range is found by binary search.
+ * An index covers the rows that existed when it was built, and
+ * {@link #extend} adds the rows appended since.
+ */
+final class SortedIndex {
+    private final CourseTable table;
+    private final int[] rows;
+    private final double[] values;
+    private final int nanStart;
+
+    private SortedIndex(CourseTable table, int[] rows, double[] values) {
+        this.table = table;
+        this.rows = rows;
+        this.values = values;
+        int n = values.length;
+        while (n > 0 && Double.isNaN(values[n - 1])) {
+            n--;
+        }
+        this.nanStart = n;
+    }
+
+    /**
+     * Sorts the rows of a table by a column.
+     *
+     * @param table  the table
+     * @param column the column
+     * @return the index
+     */
+    static SortedIndex build(CourseTable table, NumericColumn column) {
+        int n = table.size();
+        int[] rows = new int[n];
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            rows[i] = n - 1 - i;
+            values[i] = column.value(table, rows[i]);
+        }
+        mergeSort(rows, values, new int[n], new double[n]);
+        return new SortedIndex(table, rows, values);
+    }
+
+    /**
+     * Adds the rows appended to a table since this index was built. Only the
+     * new rows are sorted; they are then merged into the existing order in
+     * one sequential pass. New rows have the highest row numbers, so among
+     * equal values they come before every indexed row.
+     *
+     * @param table  the table, holding the indexed rows as its first rows
+     * @param column the column
+     * @return the index of every row of the table
+     */
+    SortedIndex extend(CourseTable table, NumericColumn column) {
+        int n = table.size();
+        int added = n - rows.length;
+        int[] newRows = new int[added];
+        double[] newValues = new double[added];
+        for (int i = 0; i < added; i++) {
+            newRows[i] = n - 1 - i;
+            newValues[i] = column.value(table, newRows[i]);
+        }
+        mergeSort(newRows, newValues, new int[added], new double[added]);
+        int[] mergedRows = new int[n];
+        double[] mergedValues = new double[n];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < n; k++) {
+            if (j < added && (i >= rows.length || Double.compare(newValues[j], values[i]) <= 0)) {
+                mergedRows[k] = newRows[j];
+                mergedValues[k] = newValues[j++];
+            } else {
+                mergedRows[k] = rows[i];
+                mergedValues[k] = values[i++];
+            }
+        }
+        return new SortedIndex(table, mergedRows, mergedValues);
+    }
+
+    /**
+     * Gets the number of rows covered by this index.
+     *
+     * @return the size
+     */
+    int size() {
+        return rows.length;
+    }
+
+    /**
+     * Gets the {@code k} distinct titles with the highest values, visiting
+     * only as many rows as there are titles to return plus repeats.
+     *
+     * @param k the k
+     * @return the titles, highest first
+     */
+    List<String> topTitles(int k) {
+        return titlesDescending(0, rows.length, k);
+    }
+
+    /**
+     * Gets the distinct titles of the rows whose value lies in {@code [min, max]}.
+     *
+     * @param min the min
+     * @param max the max
+     * @return the titles, highest value first
+     */
+    List<String> titlesBetween(double min, double max) {
+        int from = lowerBound(min);
+        return titlesDescending(from, Math.max(from, upperBound(max)), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the rows whose value lies in {@code [min, max]}.
+     *
+     * @param min the min
+     * @param max the max
+     * @return the rows
+     */
+    RowBitmap rowsBetween(double min, double max) {
+        return RowBitmap.of(rows, lowerBound(min), upperBound(max));
+    }
+
+    /**
+     * Counts the rows whose value lies in {@code [min, max]}.
+     *
+     * @param min the min
+     * @param max the max
+     * @return the count
+     */
+    int countBetween(double min, double max) {
+        return Math.max(0, upperBound(max) - lowerBound(min));
+    }
+
+    private List<String> titlesDescending(int from, int to, int k) {
+        StringDictionary titles = table.dictionary(TextColumn.TITLE);
+        List<String> result = new ArrayList<>();
+        IntSet seen = new IntSet(Math.min(k, to - from));
+        for (int i = to - 1; i >= from && result.size() < k; i--) {
+            int title = table.getId(TextColumn.TITLE, rows[i]);
+            if (seen.add(title)) {
+                result.add(titles.get(title));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the first position whose value is not below {@code value}. The
+     * bounds compare with {@code <} and {@code >} rather than the sort order,
+     * so {@code -0.0} equals {@code 0.0}, and NaN values or bounds match
+     * nothing, as with the plain comparisons of a scan.
+     */
+    private int lowerBound(double value) {
+        if (Double.isNaN(value)) {
+            return nanStart;
+        }
+        int low = 0;
+        int high = nanStart;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the first position whose value is above {@code value}.
+     */
+    private int upperBound(double value) {
+        if (Double.isNaN(value)) {
+            return 0;
+        }
+        int low = 0;
+        int high = nanStart;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!(values[mid] > value)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A stable bottom-up merge sort of {@code rows} by {@code values}.
+     */
+    private static void mergeSort(int[] rows, double[] values, int[] rowBuffer, double[] valueBuffer) {
+        int n = rows.length;
+        int[] srcRows = rows;
+        double[] srcValues = values;
+        int[] dstRows = rowBuffer;
+        double[] dstValues = valueBuffer;
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int mid = Math.min(low + width, n);
+                int high = Math.min(low + 2 * width, n);
+                int i = low;
+                int j = mid;
+                for (int k = low; k < high; k++) {
+                    if (i < mid && (j >= high || Double.compare(srcValues[i], srcValues[j]) <= 0)) {
+                        dstRows[k] = srcRows[i];
+                        dstValues[k] = srcValues[i++];
+                    } else {
+                        dstRows[k] = srcRows[j];
+                        dstValues[k] = srcValues[j++];
+                    }
+                }
+            }
+            int[] rowSwap = srcRows;
+            srcRows = dstRows;
+            dstRows = rowSwap;
+            double[] valueSwap = srcValues;
+            srcValues = dstValues;
+            dstValues = valueSwap;
+        }
+        if (srcRows != rows) {
+            System.arraycopy(srcRows, 0, rows, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package src;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The heaviest strings of a weighted stream, tracked in a fixed number of
+ * counters. A string that has a counter adds its weight to it; a new one
+ * takes over the counter with the smallest count, inheriting that count as
+ * its error. The counters form a binary min-heap, so both cost
+ * {@code O(log capacity)}.
+ * <p>
+ * With {@code N} the total weight and {@code k} the capacity, every string
+ * whose weight exceeds {@code N / k} has a counter, and the count of a
+ * string exceeds its true weight by at most its error, itself at most
+ * {@code N / k}. The true weight therefore lies in
+ * {@code [count - error, count]}.
+ */
+public final class SpaceSaving {
+    private final String[] items;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<String, Integer> positions;
+    private int size;
+    private long total;
+
+    /**
+     * Instantiates a new Space saving.
+     *
+     * @param capacity the number of counters
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        items = new String[capacity];
+        counts = new long[capacity];
+        errors = new long[capacity];
+        positions = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Adds a weight to a value.
+     *
+     * @param value  the value
+     * @param weight the weight, not negative
+     */
+    public void add(String value, long weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative: " + weight);
+        }
+        total += weight;
+        Integer position = positions.get(value);
+        if (position != null) {
+            counts[position] += weight;
+            siftDown(position);
+        } else if (size < items.length) {
+            items[size] = value;
+            counts[size] = weight;
+            errors[size] = 0;
+            positions.put(value, size);
+            siftUp(size++);
+        } else {
+            positions.remove(items[0]);
+            items[0] = value;
+            errors[0] = counts[0];
+            counts[0] += weight;
+            positions.put(value, 0);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Gets the tracked values with the highest counts.
+     *
+     * @param n the number of values
+     * @return the counts, highest first
+     */
+    public Map<String, Long> top(int n) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> counts[a] != counts[b] ? Long.compare(counts[b], counts[a])
+                : items[a].compareTo(items[b]));
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(n, size); i++) {
+            top.put(items[order[i]], counts[order[i]]);
+        }
+        return top;
+    }
+
+    /**
+     * Gets the count of a value, at least its true weight.
+     *
+     * @param value the value
+     * @return the count, or 0 if the value has no counter
+     */
+    public long count(String value) {
+        Integer position = positions.get(value);
+        return position == null ? 0 : counts[position];
+    }
+
+    /**
+     * Gets the most the count of a value exceeds its true weight. A value
+     * without a counter has a true weight of at most {@link #minCount()}.
+     *
+     * @param value the value
+     * @return the error, or {@link #minCount()} if the value has no counter
+     */
+    public long error(String value) {
+        Integer position = positions.get(value);
+        return position == null ? minCount() : errors[position];
+    }
+
+    /**
+     * Gets the smallest count, the most any value without a counter weighs.
+     *
+     * @return the smallest count, 0 while a counter is free
+     */
+    public long minCount() {
+        return size < items.length ? 0 : counts[0];
+    }
+
+    /**
+     * Gets the total weight added.
+     *
+     * @return the total
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(parent, position);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && counts[child + 1] < counts[child]) {
+                child++;
+            }
+            if (counts[position] <= counts[child]) {
+                return;
+            }
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        long error = errors[a];
+        errors[a] = errors[b];
+        errors[b] = error;
+        positions.put(items[a], a);
+        positions.put(items[b], b);
+    }
+}
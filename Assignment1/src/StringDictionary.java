@@ -0,0 +1,96 @@
+package src;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense int ids to the distinct values of a text column,
+ * in order of first appearance. A {@link #snapshot()} sees the values
+ * interned so far and no later ones, and may be read by any number of
+ * threads while one thread keeps interning into the dictionary it came from.
+ */
+public final class StringDictionary {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Integer> ids;
+    private String[] values;
+    private int size;
+
+    /**
+     * Instantiates a new empty dictionary.
+     */
+    StringDictionary() {
+        this(new ConcurrentHashMap<>(), new String[INITIAL_CAPACITY], 0);
+    }
+
+    private StringDictionary(Map<String, Integer> ids, String[] values, int size) {
+        this.ids = ids;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Gets the id of a value, adding the value if it is new. Only the
+     * dictionary of a table being loaded is interned into, never a snapshot.
+     *
+     * @param value the value
+     * @return the id
+     */
+    int intern(String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = size;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            // the value is stored before its id can be found
+            values[size++] = value;
+            ids.put(value, id);
+        }
+        return id;
+    }
+
+    /**
+     * Gets a view of the values interned so far. The view shares the
+     * storage of this dictionary, which only ever appends past it.
+     *
+     * @return the snapshot
+     */
+    StringDictionary snapshot() {
+        return new StringDictionary(ids, values, size);
+    }
+
+    /**
+     * Finds the id of a value.
+     *
+     * @param value the value
+     * @return the id, or -1 if the value does not occur
+     */
+    public int find(String value) {
+        Integer id = ids.get(value);
+        return id == null || id >= size ? -1 : id;
+    }
+
+    /**
+     * Gets the value of an id.
+     *
+     * @param id the id
+     * @return the value
+     */
+    public String get(int id) {
+        if (id >= size) {
+            throw new IndexOutOfBoundsException("Index " + id + " out of bounds for length " + size);
+        }
+        return values[id];
+    }
+
+    /**
+     * Gets the number of distinct values.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+}
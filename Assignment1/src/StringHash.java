@@ -0,0 +1,39 @@
+package src;
+
+/**
+ * A 64-bit hash of char sequences for the sketches, whose error bounds
+ * assume hashes that behave as uniformly random bits: FNV-1a over the
+ * chars, finished with the MurmurHash3 mix so that every input bit reaches
+ * every output bit. {@link String#hashCode()} has too few bits for
+ * hundreds of millions of values and too little mixing in its low ones.
+ */
+final class StringHash {
+    private static final long OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long PRIME = 0x100000001B3L;
+
+    private StringHash() {
+    }
+
+    /**
+     * Gets the hash of a char sequence.
+     *
+     * @param value the value
+     * @return the hash
+     */
+    static long hash64(CharSequence value) {
+        long h = OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * PRIME;
+        }
+        return mix(h ^ value.length());
+    }
+
+    /**
+     * The MurmurHash3 finalizer.
+     */
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,90 @@
+package src;
+
+/**
+ * Canonical strings for spans of a char buffer, so that a value repeated on
+ * many rows is a single {@code String} and reading it again allocates
+ * nothing. The pool is an open-addressing table keyed by the hash that
+ * {@link String#hashCode()} would give the span. Once it holds
+ * {@value #MAX_SIZE} values it stops adding, and later new values come back
+ * as fresh strings, so a column of unique values cannot grow it without bound.
+ */
+final class StringInterner {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_SIZE = 1 << 16;
+
+    private String[] values = new String[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Gets the canonical string of {@code buf[from, to)}.
+     *
+     * @param buf  the buf
+     * @param from the first char
+     * @param to   the end of the span
+     * @return the string
+     */
+    String intern(char[] buf, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + buf[i];
+        }
+        int mask = values.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            String value = values[slot];
+            if (value == null) {
+                value = new String(buf, from, to - from);
+                if (size < MAX_SIZE) {
+                    values[slot] = value;
+                    hashes[slot] = hash;
+                    if (++size * 2 > values.length) {
+                        grow();
+                    }
+                }
+                return value;
+            }
+            if (hashes[slot] == hash && matches(value, buf, from, to)) {
+                return value;
+            }
+        }
+    }
+
+    private static boolean matches(String value, char[] buf, int from, int to) {
+        if (value.length() != to - from) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i - from) != buf[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Spreads the hash so that values differing only in their last chars,
+     * such as numbered titles, do not fill neighbouring slots.
+     */
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void grow() {
+        String[] oldValues = values;
+        int[] oldHashes = hashes;
+        values = new String[oldValues.length * 2];
+        hashes = new int[oldValues.length * 2];
+        int mask = values.length - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = mix(oldHashes[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                values[slot] = oldValues[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package src;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import src.CourseTable.TextColumn;
+
+/**
+ * Finds the rows whose lowercased value of a text column contains a
+ * lowercased query, with the same result as {@code value.toLowerCase().contains(query.toLowerCase())}
+ * per row. The distinct values are indexed by the trigrams of their
+ * lowercased form: the values that can contain a query of three or more
+ * chars are those holding every trigram of it, and only those are checked
+ * with {@link String#contains}. Shorter queries check every distinct value.
+ * The rows of each distinct value are kept in a list of their own, in row
+ * order, so a match turns into a {@link RowBitmap} without looking at the
+ * other rows. An index covers the rows that existed when it was built, and
+ * {@link #extend} adds the rows appended since.
+ */
+final class SubstringIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int INITIAL_ROWS_PER_VALUE = 4;
+
+    private final int size;
+    private final String[] lowercased;
+    private final Map<Long, BitSet> valuesByGram;
+    private final int[][] rowsByValue;
+    private final int[] rowCounts;
+
+    private SubstringIndex(int size, String[] lowercased, Map<Long, BitSet> valuesByGram,
+                           int[][] rowsByValue, int[] rowCounts) {
+        this.size = size;
+        this.lowercased = lowercased;
+        this.valuesByGram = valuesByGram;
+        this.rowsByValue = rowsByValue;
+        this.rowCounts = rowCounts;
+    }
+
+    /**
+     * Indexes a text column of a table.
+     *
+     * @param table  the table
+     * @param column the column
+     * @return the index
+     */
+    static SubstringIndex build(CourseTable table, TextColumn column) {
+        StringDictionary dictionary = table.dictionary(column);
+        int values = dictionary.size();
+        String[] lowercased = new String[values];
+        Map<Long, BitSet> valuesByGram = new HashMap<>();
+        addValues(dictionary, 0, lowercased, valuesByGram);
+        int n = table.size();
+        int[] rowCounts = new int[values];
+        for (int row = 0; row < n; row++) {
+            rowCounts[table.getId(column, row)]++;
+        }
+        int[][] rowsByValue = new int[values][];
+        for (int id = 0; id < values; id++) {
+            rowsByValue[id] = new int[rowCounts[id]];
+            rowCounts[id] = 0;
+        }
+        for (int row = 0; row < n; row++) {
+            int id = table.getId(column, row);
+            rowsByValue[id][rowCounts[id]++] = row;
+        }
+        return new SubstringIndex(n, lowercased, valuesByGram, rowsByValue, rowCounts);
+    }
+
+    /**
+     * Adds the rows appended to a table since this index was built, reading
+     * only those rows and the values that are new to the column. The row
+     * lists grow by doubling; a list this index shares with the extended one
+     * is only written past the rows this index reads.
+     *
+     * @param table  the table, holding the indexed rows as its first rows
+     * @param column the column
+     * @return the index of every row of the table
+     */
+    SubstringIndex extend(CourseTable table, TextColumn column) {
+        StringDictionary dictionary = table.dictionary(column);
+        int values = dictionary.size();
+        String[] newLowercased = lowercased;
+        Map<Long, BitSet> newValuesByGram = valuesByGram;
+        if (values > lowercased.length) {
+            newLowercased = Arrays.copyOf(lowercased, values);
+            newValuesByGram = new HashMap<>(valuesByGram);
+            newValuesByGram.replaceAll((gram, ids) -> (BitSet) ids.clone());
+            addValues(dictionary, lowercased.length, newLowercased, newValuesByGram);
+        }
+        int[][] newRowsByValue = Arrays.copyOf(rowsByValue, values);
+        int[] newRowCounts = Arrays.copyOf(rowCounts, values);
+        int n = table.size();
+        for (int row = size; row < n; row++) {
+            int id = table.getId(column, row);
+            int[] rows = newRowsByValue[id];
+            if (rows == null) {
+                rows = new int[INITIAL_ROWS_PER_VALUE];
+            } else if (newRowCounts[id] == rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(INITIAL_ROWS_PER_VALUE, rows.length * 2));
+            }
+            rows[newRowCounts[id]++] = row;
+            newRowsByValue[id] = rows;
+        }
+        return new SubstringIndex(n, newLowercased, newValuesByGram, newRowsByValue, newRowCounts);
+    }
+
+    /**
+     * Lowercases the values from {@code from} on and indexes their trigrams.
+     */
+    private static void addValues(StringDictionary dictionary, int from, String[] lowercased,
+                                  Map<Long, BitSet> valuesByGram) {
+        for (int id = from; id < lowercased.length; id++) {
+            lowercased[id] = dictionary.get(id).toLowerCase();
+            for (int i = 0; i + GRAM_LENGTH <= lowercased[id].length(); i++) {
+                valuesByGram.computeIfAbsent(gram(lowercased[id], i), key -> new BitSet()).set(id);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of rows covered by this index.
+     *
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the ids of the distinct values that contain a query, ignoring case.
+     *
+     * @param query the query
+     * @return the value ids
+     */
+    BitSet matchingValues(String query) {
+        String needle = query.toLowerCase();
+        BitSet candidates = new BitSet(lowercased.length);
+        if (needle.length() < GRAM_LENGTH) {
+            candidates.set(0, lowercased.length);
+        } else {
+            for (int i = 0; i + GRAM_LENGTH <= needle.length(); i++) {
+                BitSet values = valuesByGram.get(gram(needle, i));
+                if (values == null) {
+                    return new BitSet();
+                }
+                if (i == 0) {
+                    candidates.or(values);
+                } else {
+                    candidates.and(values);
+                }
+            }
+        }
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            if (!lowercased[id].contains(needle)) {
+                candidates.clear(id);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Gets the rows whose value contains a query, ignoring case.
+     *
+     * @param query the query
+     * @return the rows
+     */
+    RowBitmap matchingRows(String query) {
+        return rowsOf(matchingValues(query));
+    }
+
+    /**
+     * Gets the rows holding one of the given value ids.
+     *
+     * @param values the value ids
+     * @return the rows
+     */
+    RowBitmap rowsOf(BitSet values) {
+        int count = rowCount(values);
+        int last = Math.min(values.length(), lowercased.length) - 1;
+        if (last >= 0 && values.get(last) && count == rowCounts[last]) {
+            return RowBitmap.ofSorted(rowsByValue[last], 0, count);
+        }
+        int[] matching = new int[count];
+        int n = 0;
+        for (int id = values.nextSetBit(0); id >= 0 && id < lowercased.length; id = values.nextSetBit(id + 1)) {
+            System.arraycopy(rowsByValue[id], 0, matching, n, rowCounts[id]);
+            n += rowCounts[id];
+        }
+        return RowBitmap.of(matching, 0, n);
+    }
+
+    /**
+     * Counts the rows holding one of the given value ids.
+     *
+     * @param values the value ids
+     * @return the count
+     */
+    int rowCount(BitSet values) {
+        int count = 0;
+        for (int id = values.nextSetBit(0); id >= 0 && id < lowercased.length; id = values.nextSetBit(id + 1)) {
+            count += rowCounts[id];
+        }
+        return count;
+    }
+
+    private static long gram(String s, int from) {
+        return (long) s.charAt(from) << 32 | (long) s.charAt(from + 1) << 16 | s.charAt(from + 2);
+    }
+}
@@ -0,0 +1,210 @@
+package src;
+
+import java.util.Arrays;
+
+/**
+ * An estimate of the quantiles of a stream of numbers, kept as a sorted list
+ * of centroids, each the mean and weight of a run of neighbouring values.
+ * Values are buffered and merged into the centroids in sorted batches; a
+ * centroid may grow only while its span of quantiles stays within one unit
+ * of the arcsine scale {@code k(q) = compression / (2 pi) * asin(2q - 1)},
+ * so centroids are small near the ends and a quantile is interpolated
+ * between the centres of the two centroids around it.
+ * <p>
+ * There are at most about {@code compression / 2} centroids, since every
+ * pair of neighbours spans more than one unit of the scale. At the default
+ * compression of {@value #DEFAULT_COMPRESSION} the error in rank,
+ * {@code |F(estimate) - q|}, is below 0.005 at every quantile, and below
+ * 0.001 within the outer percentiles, where the centroids hold single
+ * values. A value repeated on many rows can add half its share of the
+ * rows, as an estimate may fall between two repeated values. The minimum
+ * and maximum are exact.
+ */
+public final class TDigest {
+    /**
+     * The default compression.
+     */
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+    private final double[] buffer;
+    private int buffered;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Instantiates a new T digest with the default compression.
+     */
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Instantiates a new T digest.
+     *
+     * @param compression the compression, at least 10
+     */
+    public TDigest(double compression) {
+        if (!(compression >= 10)) {
+            throw new IllegalArgumentException("Compression must be at least 10: " + compression);
+        }
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression) + 10;
+        means = new double[capacity];
+        weights = new double[capacity];
+        buffer = new double[5 * capacity];
+    }
+
+    /**
+     * Adds a value. NaN is ignored.
+     *
+     * @param value the value
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count++ == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        buffer[buffered++] = value;
+        if (buffered == buffer.length) {
+            flush();
+        }
+    }
+
+    /**
+     * Merges the buffered values into the centroids.
+     */
+    private void flush() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        double[] oldMeans = Arrays.copyOf(means, centroids);
+        double[] oldWeights = Arrays.copyOf(weights, centroids);
+        int oldCentroids = centroids;
+        double total = count;
+        centroids = 0;
+        double cumulative = 0;
+        double limit = quantileLimit(0, total);
+        int i = 0;
+        int j = 0;
+        while (i < oldCentroids || j < buffered) {
+            double mean;
+            double weight;
+            if (j >= buffered || i < oldCentroids && oldMeans[i] <= buffer[j]) {
+                mean = oldMeans[i];
+                weight = oldWeights[i++];
+            } else {
+                mean = buffer[j++];
+                weight = 1;
+            }
+            if (centroids > 0 && cumulative + weight <= limit) {
+                int last = centroids - 1;
+                weights[last] += weight;
+                means[last] += (mean - means[last]) * weight / weights[last];
+            } else {
+                if (centroids > 0) {
+                    limit = quantileLimit(cumulative, total);
+                }
+                if (centroids == means.length) {
+                    means = Arrays.copyOf(means, centroids * 2);
+                    weights = Arrays.copyOf(weights, centroids * 2);
+                }
+                means[centroids] = mean;
+                weights[centroids++] = weight;
+            }
+            cumulative += weight;
+        }
+        buffered = 0;
+    }
+
+    /**
+     * Gets the cumulative weight a centroid starting at {@code start} may
+     * reach: one unit further along the scale.
+     */
+    private double quantileLimit(double start, double total) {
+        double k = compression / (2 * Math.PI) * Math.asin(2 * start / total - 1) + 1;
+        double q = k >= compression / 4 ? 1 : (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+        return q * total;
+    }
+
+    /**
+     * Gets the estimated value at a quantile.
+     *
+     * @param q the quantile, from 0 to 1
+     * @return the value, NaN if nothing was added
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        flush();
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double target = q * count;
+        double cumulative = 0;
+        for (int i = 0; i < centroids; i++) {
+            double center = cumulative + weights[i] / 2;
+            if (target < center) {
+                if (i == 0) {
+                    return weights[0] == 1 ? means[0] : min + (means[0] - min) * target / center;
+                }
+                double previous = cumulative - weights[i - 1] / 2;
+                return means[i - 1] + (means[i] - means[i - 1]) * (target - previous) / (center - previous);
+            }
+            cumulative += weights[i];
+        }
+        int last = centroids - 1;
+        double center = count - weights[last] / 2;
+        return weights[last] == 1 ? means[last]
+                : means[last] + (max - means[last]) * (target - center) / (count - center);
+    }
+
+    /**
+     * Gets the number of values added.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the smallest value added.
+     *
+     * @return the min, NaN if nothing was added
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the largest value added.
+     *
+     * @return the max, NaN if nothing was added
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the number of centroids.
+     *
+     * @return the centroid count
+     */
+    public int centroidCount() {
+        flush();
+        return centroids;
+    }
+}
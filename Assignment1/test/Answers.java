@@ -0,0 +1,75 @@
+package test;
+
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the six queries of an analyzer over {@code resources/local.csv}
+ * against {@code resources/local_answer}, the way {@link LocalAnalyzerTest} does.
+ */
+final class Answers {
+    private Answers() {
+    }
+
+    static void assertLocalAnswers(OnlineCoursesAnalyzer analyzer) {
+        assertEquals(expected("Q1.txt"), mapToString(analyzer.getPtcpCountByInst()));
+        assertEquals(expected("Q2.txt"), mapToString(analyzer.getPtcpCountByInstAndSubject()));
+        assertTrue(compareMapWithoutOrder(analyzer.getCourseListOfInstructor(), expected("Q3.txt")));
+        assertEquals(expected("Q4_1.txt"), listToString(analyzer.getCourses(10, "hours")));
+        assertEquals(expected("Q4_2.txt"), listToString(analyzer.getCourses(15, "participants")));
+        assertEquals(expected("Q5_1.txt"), listToString(analyzer.searchCourses("computer", 20.0, 700)));
+        assertEquals(expected("Q5_2.txt"), listToString(analyzer.searchCourses("SCIENCE", 25.0, 400)));
+        assertEquals(expected("Q6_1.txt"), listToString(analyzer.recommendCourses(25, 1, 1)));
+        assertEquals(expected("Q6_2.txt"), listToString(analyzer.recommendCourses(30, 0, 1)));
+        assertEquals(expected("Q6_3.txt"), listToString(analyzer.recommendCourses(35, 1, 0)));
+    }
+
+    static String expected(String file) {
+        try {
+            return Files.readString(Paths.get("resources", "local_answer", file), StandardCharsets.UTF_8)
+                    .replace("\r", "").strip();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String mapToString(Map<?, ?> map) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            sb.append(entry.getKey()).append(" == ").append(entry.getValue()).append("\n");
+        }
+        return sb.toString().strip();
+    }
+
+    static String listToString(List<String> list) {
+        return String.join("\n", list).strip();
+    }
+
+    static boolean compareMapWithoutOrder(Map<?, ?> map, String expected) {
+        List<Item<String, String>> expectedList = new ArrayList<>();
+        for (String row : expected.split("\n")) {
+            String[] strings = row.split(" == ");
+            expectedList.add(new Item<>(strings[0], strings[1]));
+        }
+        if (map.size() != expectedList.size()) {
+            return false;
+        }
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!expectedList.contains(new Item<>(entry.getKey().toString(), entry.getValue().toString()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,258 @@
+package test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import src.ApproximateCourseReport;
+import src.CountMinSketch;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.TextColumn;
+import src.HyperLogLog;
+import src.OnlineCoursesAnalyzer;
+import src.SpaceSaving;
+import src.TDigest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the documented error bounds of the sketches on generated streams,
+ * and the approximate report against the exact answers.
+ */
+public class ApproximateReportTest {
+    private static final int SCALE = 50;
+    private static Path dataset;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        dataset = Datasets.scaledLocalCsv(SCALE);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        Files.deleteIfExists(dataset);
+        Datasets.deleteTempFiles();
+    }
+
+    @Test
+    void testHyperLogLogBound() {
+        for (int n : new int[]{10, 1000, 50_000, 1_000_000}) {
+            HyperLogLog all = new HyperLogLog();
+            HyperLogLog odd = new HyperLogLog();
+            for (int i = 0; i < n; i++) {
+                all.add("course-" + i);
+                all.add("course-" + i);
+                if (i % 2 == 1) {
+                    odd.add("course-" + i);
+                }
+            }
+            assertEquals(n, all.estimate(), n * 3 * all.standardError(), "n = " + n);
+            HyperLogLog even = new HyperLogLog();
+            for (int i = 0; i < n; i += 2) {
+                even.add("course-" + i);
+            }
+            even.merge(odd);
+            assertEquals(all.estimate(), even.estimate());
+        }
+    }
+
+    @Test
+    void testCountMinBound() {
+        Random random = new Random(7);
+        CountMinSketch sketch = new CountMinSketch(1024, 5);
+        Map<String, Long> exact = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            String item = "instructor-" + zipf(random, 20_000);
+            long weight = 1 + random.nextInt(100);
+            sketch.add(item, weight);
+            exact.merge(item, weight, Long::sum);
+        }
+        int over = 0;
+        for (Map.Entry<String, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertTrue(estimate >= entry.getValue(), entry.getKey());
+            if (estimate > entry.getValue() + sketch.errorBound()) {
+                over++;
+            }
+        }
+        assertTrue(over <= exact.size() * Math.exp(-5), over + " of " + exact.size() + " over the bound");
+        assertEquals(exact.values().stream().mapToLong(Long::longValue).sum(), sketch.getTotal());
+    }
+
+    @Test
+    void testSpaceSavingBound() {
+        Random random = new Random(11);
+        int capacity = 64;
+        SpaceSaving summary = new SpaceSaving(capacity);
+        Map<String, Long> exact = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            String item = "institution-" + zipf(random, 5_000);
+            long weight = 1 + random.nextInt(10);
+            summary.add(item, weight);
+            exact.merge(item, weight, Long::sum);
+        }
+        long total = summary.getTotal();
+        Map<String, Long> top = summary.top(capacity);
+        exact.forEach((item, weight) -> {
+            if (weight > total / capacity) {
+                assertTrue(top.containsKey(item), item);
+            }
+            long count = summary.count(item);
+            if (count > 0) {
+                assertTrue(count >= weight && count - summary.error(item) <= weight, item);
+                assertTrue(summary.error(item) <= total / capacity, item);
+            } else {
+                assertTrue(weight <= summary.minCount(), item);
+            }
+        });
+        List<Long> counts = List.copyOf(top.values());
+        for (int i = 1; i < counts.size(); i++) {
+            assertTrue(counts.get(i - 1) >= counts.get(i));
+        }
+    }
+
+    @Test
+    void testTDigestBound() {
+        Random random = new Random(3);
+        int n = 200_000;
+        for (String distribution : List.of("uniform", "normal", "exponential", "repeated")) {
+            TDigest digest = new TDigest();
+            double[] values = new double[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = switch (distribution) {
+                    case "uniform" -> random.nextDouble();
+                    case "normal" -> random.nextGaussian();
+                    case "exponential" -> -Math.log(1 - random.nextDouble());
+                    default -> random.nextInt(40);
+                };
+                digest.add(values[i]);
+            }
+            Arrays.sort(values);
+            assertQuantiles(values, digest::quantile, distribution);
+            assertEquals(values[0], digest.getMin());
+            assertEquals(values[n - 1], digest.getMax());
+            assertTrue(digest.centroidCount() <= TDigest.DEFAULT_COMPRESSION, distribution);
+        }
+        assertTrue(Double.isNaN(new TDigest().quantile(0.5)));
+    }
+
+    @Test
+    void testReportMatchesExact() throws IOException {
+        ApproximateCourseReport report = ApproximateCourseReport.read(dataset.toString());
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        CourseTable table = analyzer.getTable();
+        assertEquals(table.size(), report.getRows());
+
+        double bound = 3 * new HyperLogLog().standardError();
+        int titles = table.dictionary(TextColumn.TITLE).size();
+        assertEquals(titles, report.getDistinctTitles(), titles * bound);
+        Map<String, Long> instructorCourses = new HashMap<>();
+        Set<String> instructors = new HashSet<>();
+        for (int row = 0; row < table.size(); row++) {
+            String[] names = table.getText(TextColumn.INSTRUCTORS, row).split(", ");
+            for (String instructor : new LinkedHashSet<>(List.of(names))) {
+                instructors.add(instructor);
+                instructorCourses.merge(instructor, 1L, Long::sum);
+            }
+        }
+        assertEquals(instructors.size(), report.getDistinctInstructors(), instructors.size() * bound);
+
+        Map<String, Integer> participants = analyzer.getPtcpCountByInst();
+        Map<String, Long> top = report.getTopInstitutions(participants.size());
+        assertEquals(participants.size(), top.size());
+        participants.forEach((institution, total) -> {
+            assertEquals(Long.valueOf(total), top.get(institution), institution);
+            assertTrue(report.estimateParticipants(institution) >= total, institution);
+        });
+
+        long courseInstructors = instructorCourses.values().stream().mapToLong(Long::longValue).sum();
+        report.getTopInstructors(ApproximateCourseReport.HEAVY_HITTERS).forEach((instructor, count) -> {
+            long exact = instructorCourses.get(instructor);
+            assertTrue(count >= exact && count - exact <= courseInstructors / ApproximateCourseReport.HEAVY_HITTERS,
+                    instructor);
+        });
+        instructorCourses.forEach((instructor, count) ->
+                assertTrue(report.estimateCourses(instructor) >= count, instructor));
+
+        for (DoubleColumn column : List.of(DoubleColumn.TOTAL_HOURS, DoubleColumn.MEDIAN_AGE,
+                DoubleColumn.PERCENT_AUDITED)) {
+            double[] values = new double[table.size()];
+            for (int row = 0; row < table.size(); row++) {
+                values[row] = table.getDouble(column, row);
+            }
+            Arrays.sort(values);
+            assertQuantiles(values, q -> report.getQuantile(column, q), column.toString());
+        }
+        assertThrows(IllegalArgumentException.class, () -> report.getQuantile(DoubleColumn.PERCENT_MALE, 0.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> report.getTopInstitutions(ApproximateCourseReport.HEAVY_HITTERS + 1));
+    }
+
+    @Test
+    void testRepeatedInstructorCountsOnce() throws IOException {
+        List<String> lines = Datasets.localLines();
+        Path file = Datasets.csv(List.of(lines.get(0), lines.get(1),
+                lines.get(1).replace("Khurram Afridi", "\"Khurram Afridi, Khurram Afridi\"")));
+        ApproximateCourseReport report = ApproximateCourseReport.read(file.toString());
+        assertEquals(Map.of("Khurram Afridi", 2L), report.getTopInstructors(10));
+        assertEquals(2, report.estimateCourses("Khurram Afridi"));
+        assertEquals(1, report.getDistinctInstructors());
+    }
+
+    /**
+     * Checks that every estimated quantile of sorted values is off in rank by
+     * at most 0.005 plus half the share of the most repeated value.
+     */
+    private static void assertQuantiles(double[] sorted, DoubleUnaryOperator quantile,
+                                        String label) {
+        int n = sorted.length;
+        int longestRun = 1;
+        for (int i = 1, run = 1; i < n; i++) {
+            run = sorted[i] == sorted[i - 1] ? run + 1 : 1;
+            longestRun = Math.max(longestRun, run);
+        }
+        double bound = 0.005 + longestRun / 2.0 / n;
+        for (double q : new double[]{0, 0.001, 0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 1}) {
+            double estimate = quantile.applyAsDouble(q);
+            double below = (double) lowerBound(sorted, estimate) / n;
+            double atOrBelow = (double) lowerBound(sorted, Math.nextUp(estimate)) / n;
+            double error = q < below ? below - q : q > atOrBelow ? q - atOrBelow : 0;
+            assertTrue(error <= bound, label + " q = " + q + ": rank error " + error + " > " + bound);
+        }
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Draws from {@code [0, n)} with the probability of {@code i} falling
+     * like {@code 1 / (i + 1)}.
+     */
+    private static int zipf(Random random, int n) {
+        return (int) Math.min(n - 1, Math.floor(Math.exp(random.nextDouble() * Math.log(n + 1)) - 1));
+    }
+}
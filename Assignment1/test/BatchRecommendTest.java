@@ -0,0 +1,66 @@
+package test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import src.OnlineCoursesAnalyzer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@code recommendCoursesBatch} returns, for every profile, what
+ * {@code recommendCourses} returns for it alone.
+ */
+public class BatchRecommendTest {
+    private static final int PROFILES = 2000;
+    private OnlineCoursesAnalyzer analyzer;
+    private int[] ages;
+    private int[] genders;
+    private int[] degrees;
+
+    @BeforeEach
+    void setUp() {
+        analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+        Random random = new Random(3);
+        ages = new int[PROFILES];
+        genders = new int[PROFILES];
+        degrees = new int[PROFILES];
+        for (int i = 0; i < PROFILES; i++) {
+            ages[i] = random.nextInt(80);
+            genders[i] = random.nextInt(2);
+            degrees[i] = random.nextInt(2);
+        }
+    }
+
+    @Test
+    void testBatchMatchesSingleCalls() {
+        List<List<String>> expected = new ArrayList<>();
+        for (int i = 0; i < PROFILES; i++) {
+            expected.add(analyzer.recommendCourses(ages[i], genders[i], degrees[i]));
+        }
+        assertEquals(expected, analyzer.recommendCoursesBatch(ages, genders, degrees));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            analyzer.setExecutionPool(pool);
+            assertEquals(expected, analyzer.recommendCoursesBatch(ages, genders, degrees));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testLocalAnswers() {
+        List<List<String>> batch = analyzer.recommendCoursesBatch(new int[]{25, 30, 35}, new int[]{1, 0, 1},
+                new int[]{1, 1, 0});
+        assertEquals(Answers.expected("Q6_1.txt"), Answers.listToString(batch.get(0)));
+        assertEquals(Answers.expected("Q6_2.txt"), Answers.listToString(batch.get(1)));
+        assertEquals(Answers.expected("Q6_3.txt"), Answers.listToString(batch.get(2)));
+        assertTrue(analyzer.recommendCoursesBatch(new int[0], new int[0], new int[0]).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> analyzer.recommendCoursesBatch(new int[2], new int[1], new int[2]));
+    }
+}
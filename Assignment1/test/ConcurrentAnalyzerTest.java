@@ -0,0 +1,122 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the six queries on one analyzer from many threads at once, alone and
+ * while courses are being added, and checks every answer.
+ */
+public class ConcurrentAnalyzerTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 30;
+    private static final int DELTAS = 6;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Datasets.deleteTempFiles();
+    }
+
+    @Test
+    void testConcurrentReaders() throws Exception {
+        for (long capacity : new long[]{0, 100_000, 40}) {
+            OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+            analyzer.setCacheCapacity(capacity);
+            run(THREADS, thread -> () -> {
+                for (int round = 0; round < ROUNDS; round++) {
+                    Answers.assertLocalAnswers(analyzer);
+                }
+                return null;
+            });
+        }
+    }
+
+    @Test
+    void testReadersDuringAppends() throws Exception {
+        List<String> lines = Datasets.localLines();
+        int baseRows = 100;
+        int step = (lines.size() - 1 - baseRows + DELTAS - 1) / DELTAS;
+        List<Path> deltas = new ArrayList<>();
+        List<List<Object>> versions = new ArrayList<>();
+        Path base = Datasets.csv(lines, 1, 1 + baseRows);
+        versions.add(Datasets.answers(new OnlineCoursesAnalyzer(base.toString())));
+        for (int from = 1 + baseRows; from < lines.size(); from += step) {
+            deltas.add(Datasets.csv(lines, from, Math.min(lines.size(), from + step)));
+            Path prefix = Datasets.csv(lines, 1, Math.min(lines.size(), from + step));
+            versions.add(Datasets.answers(new OnlineCoursesAnalyzer(prefix.toString())));
+        }
+        List<Set<Object>> valid = new ArrayList<>();
+        for (int query = 0; query < versions.get(0).size(); query++) {
+            Set<Object> results = new HashSet<>();
+            for (List<Object> version : versions) {
+                results.add(version.get(query));
+            }
+            valid.add(results);
+        }
+
+        for (long capacity : new long[]{0, 100_000}) {
+            OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(base.toString());
+            analyzer.setCacheCapacity(capacity);
+            CountDownLatch appended = new CountDownLatch(1);
+            run(THREADS, thread -> () -> {
+                if (thread == 0) {
+                    for (Path delta : deltas) {
+                        analyzer.addCourses(delta.toString());
+                        Thread.yield();
+                    }
+                    appended.countDown();
+                    return null;
+                }
+                do {
+                    List<Object> answers = Datasets.answers(analyzer);
+                    for (int query = 0; query < answers.size(); query++) {
+                        assertTrue(valid.get(query).contains(answers.get(query)), "query " + query);
+                    }
+                } while (appended.getCount() > 0);
+                return null;
+            });
+            assertEquals(lines.size() - 1, analyzer.getTable().size());
+            Answers.assertLocalAnswers(analyzer);
+        }
+    }
+
+    private static void run(int threads, Function<Integer, Callable<Void>> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(executor.submit(task.apply(thread)));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Error error) {
+                        throw error;
+                    }
+                    throw (Exception) e.getCause();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
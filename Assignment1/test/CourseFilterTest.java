@@ -0,0 +1,162 @@
+package test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import src.CourseFilter;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+import src.RowBitmap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link RowBitmap} against {@link BitSet} and the rows selected by
+ * {@link CourseFilter} combinations against testing every row.
+ */
+public class CourseFilterTest {
+    private static final int SCALE = 300;
+    private static Path dataset;
+    private static OnlineCoursesAnalyzer analyzer;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        dataset = Datasets.scaledLocalCsv(SCALE);
+        analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        Files.deleteIfExists(dataset);
+    }
+
+    @Test
+    void testBitmapOperations() {
+        Random random = new Random(42);
+        double[] densities = {0.0001, 0.01, 0.05, 0.3, 0.9};
+        for (double a : densities) {
+            for (double b : densities) {
+                BitSet x = randomBits(random, 300_000, a);
+                BitSet y = randomBits(random, 300_000, b);
+                RowBitmap bx = toBitmap(x);
+                RowBitmap by = toBitmap(y);
+                assertBitmap(x, bx);
+                BitSet and = (BitSet) x.clone();
+                and.and(y);
+                assertBitmap(and, bx.and(by));
+                BitSet or = (BitSet) x.clone();
+                or.or(y);
+                assertBitmap(or, bx.or(by));
+            }
+        }
+        BitSet range = new BitSet();
+        range.set(1000, 140_000);
+        assertBitmap(range, RowBitmap.range(1000, 140_000));
+        assertBitmap(new BitSet(), RowBitmap.range(5, 5));
+        assertEquals(RowBitmap.of(3, 1, 2), RowBitmap.of(1, 2, 3, 3));
+        assertTrue(RowBitmap.empty().isEmpty());
+    }
+
+    @Test
+    void testFiltersMatchScan() {
+        CourseTable table = analyzer.getTable();
+        int harvard = table.dictionary(TextColumn.INSTITUTION).find("HarvardX");
+        long from = LocalDate.of(2013, 1, 1).toEpochDay();
+        long to = LocalDate.of(2014, 6, 30).toEpochDay();
+        assertRows(CourseFilter.institution("HarvardX"),
+                row -> table.getId(TextColumn.INSTITUTION, row) == harvard);
+        assertRows(CourseFilter.institution("HarvardX", "MITx"), row -> true);
+        assertRows(CourseFilter.institution("nowhere"), row -> false);
+        assertRows(CourseFilter.all(), row -> true);
+        assertRows(CourseFilter.year(2014, 2015),
+                row -> table.getInt(IntColumn.YEAR, row) >= 2014 && table.getInt(IntColumn.YEAR, row) <= 2015);
+        assertRows(CourseFilter.honorCode(1), row -> table.getInt(IntColumn.HONOR_CODE, row) == 1);
+        assertRows(CourseFilter.launchedBetween(LocalDate.of(2013, 1, 1), LocalDate.of(2014, 6, 30)),
+                row -> table.getInt(IntColumn.LAUNCH_DAY, row) >= from && table.getInt(IntColumn.LAUNCH_DAY, row) <= to);
+        assertRows(CourseFilter.subjectContains("SCIENCE").and(CourseFilter.atLeast("percentAudited", 25.0))
+                        .and(CourseFilter.atMost("hours", 400)),
+                row -> subject(table, row).contains("science")
+                        && table.getDouble(DoubleColumn.PERCENT_AUDITED, row) >= 25.0
+                        && table.getDouble(DoubleColumn.TOTAL_HOURS, row) <= 400);
+        assertRows(CourseFilter.institution("MITx").and(CourseFilter.year(2016, 2016))
+                        .or(CourseFilter.subjectContains("history").and(CourseFilter.between("percentMale", 30, 50))),
+                row -> table.getId(TextColumn.INSTITUTION, row) != harvard && table.getInt(IntColumn.YEAR, row) == 2016
+                        || subject(table, row).contains("history")
+                        && table.getDouble(DoubleColumn.PERCENT_MALE, row) >= 30
+                        && table.getDouble(DoubleColumn.PERCENT_MALE, row) <= 50);
+        assertRows(CourseFilter.between("percentCertified", 5, 10).and(CourseFilter.institution("HarvardX"))
+                        .and(CourseFilter.honorCode(1)),
+                row -> table.getDouble(DoubleColumn.PERCENT_CERTIFIED, row) >= 5
+                        && table.getDouble(DoubleColumn.PERCENT_CERTIFIED, row) <= 10
+                        && table.getId(TextColumn.INSTITUTION, row) == harvard
+                        && table.getInt(IntColumn.HONOR_CODE, row) == 1);
+        assertRows(CourseFilter.atLeast("percentAudited", 90).and(CourseFilter.subjectContains("x")),
+                row -> table.getDouble(DoubleColumn.PERCENT_AUDITED, row) >= 90 && subject(table, row).contains("x"));
+    }
+
+    @Test
+    void testFindCourses() {
+        CourseTable table = analyzer.getTable();
+        Set<String> expected = new TreeSet<>();
+        for (int row = 0; row < table.size(); row++) {
+            if (table.getInt(IntColumn.YEAR, row) == 2013 && subject(table, row).contains("computer")) {
+                expected.add(table.getText(TextColumn.TITLE, row));
+            }
+        }
+        assertEquals(List.copyOf(expected),
+                analyzer.findCourses(CourseFilter.year(2013, 2013).and(CourseFilter.subjectContains("Computer"))));
+        assertEquals(CourseFilter.atMost("hours", 10), CourseFilter.atMost("totalHours", 10));
+        assertThrows(IllegalArgumentException.class, () -> CourseFilter.atLeast("popularity", 1));
+    }
+
+    private static String subject(CourseTable table, int row) {
+        return table.getText(TextColumn.SUBJECT, row).toLowerCase();
+    }
+
+    private static void assertRows(CourseFilter filter, IntPredicate expected) {
+        BitSet rows = new BitSet();
+        for (int row = 0; row < analyzer.getTable().size(); row++) {
+            if (expected.test(row)) {
+                rows.set(row);
+            }
+        }
+        assertBitmap(rows, analyzer.filter(filter));
+    }
+
+    private static BitSet randomBits(Random random, int size, double density) {
+        BitSet bits = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (random.nextDouble() < density) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    private static RowBitmap toBitmap(BitSet bits) {
+        return RowBitmap.of(bits.stream().toArray());
+    }
+
+    private static void assertBitmap(BitSet expected, RowBitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+        for (int row = expected.nextSetBit(0); row >= 0; row = expected.nextSetBit(row + 1)) {
+            assertTrue(actual.contains(row));
+            assertFalse(actual.contains(row + 1) && !expected.get(row + 1));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import src.CourseQueryServer;
+import src.LatencyHistogram;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Queries the analyzer over HTTP and checks the JSON answers against
+ * {@code resources/local_answer}, the errors and the latency histograms.
+ */
+public class CourseQueryServerTest {
+    private static final int CLIENTS = 200;
+
+    private CourseQueryServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = CourseQueryServer.start(new OnlineCoursesAnalyzer("resources/local.csv"),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testLocalAnswers() throws Exception {
+        assertEquals(object(Answers.expected("Q1.txt")), body("/ptcpCountByInst"));
+        assertEquals(object(Answers.expected("Q2.txt")), body("/ptcpCountByInstAndSubject"));
+        assertEquals(array(Answers.expected("Q4_1.txt")), body("/courses?topK=10&by=hours"));
+        assertEquals(array(Answers.expected("Q4_2.txt")), body("/courses?topK=15&by=participants"));
+        assertEquals(array(Answers.expected("Q5_1.txt")),
+                body("/searchCourses?subject=computer&percentAudited=20.0&totalHours=700"));
+        assertEquals(array(Answers.expected("Q5_2.txt")),
+                body("/searchCourses?subject=SCIENCE&percentAudited=25&totalHours=400"));
+        assertEquals(array(Answers.expected("Q6_1.txt")), body("/recommendCourses?age=25&gender=1&degree=1"));
+        assertEquals(array(Answers.expected("Q6_2.txt")), body("/recommendCourses?age=30&gender=0&degree=1"));
+        assertEquals(array(Answers.expected("Q6_3.txt")), body("/recommendCourses?age=35&gender=1&degree=0"));
+        String instructors = body("/courseListOfInstructor");
+        assertTrue(instructors.startsWith("{\"") && instructors.endsWith("]]}"), instructors);
+        assertTrue(instructors.contains("\"Anant Agarwal\":[["), instructors);
+        assertEquals("[[],[]]", body("/courseListOfInstructor?instructor=Nobody"));
+        String agarwal = body("/courseListOfInstructor?instructor=Anant%20Agarwal");
+        assertTrue(agarwal.startsWith("[[") && instructors.contains("\"Anant Agarwal\":" + agarwal), agarwal);
+    }
+
+    @Test
+    void testErrors() throws Exception {
+        assertEquals(400, get("/courses?topK=10").statusCode());
+        assertEquals(400, get("/courses?topK=ten&by=hours").statusCode());
+        assertEquals(400, get("/courses?topK=10&by=title").statusCode());
+        assertEquals(400, get("/recommendCourses?age=25&gender=1").statusCode());
+        assertEquals(404, get("/coursesByTitle").statusCode());
+        HttpResponse<String> post = client.send(HttpRequest.newBuilder(uri("/ptcpCountByInst"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, post.statusCode());
+        HttpResponse<String> missing = get("/searchCourses?subject=computer");
+        assertEquals("{\"error\":\"Missing parameter: percentAudited\"}", missing.body());
+        assertEquals("application/json; charset=utf-8", missing.headers().firstValue("Content-Type").orElse(""));
+    }
+
+    @Test
+    void testConcurrentClientsAreTimed() throws Exception {
+        String expected = array(Answers.expected("Q6_1.txt"));
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri("/recommendCourses?age=25&gender=1&degree=1"))
+                    .build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode());
+            assertEquals(expected, response.get().body());
+        }
+        LatencyHistogram latency = server.getLatencies().get("/recommendCourses");
+        assertEquals(CLIENTS, latency.getCount());
+        assertTrue(latency.getValueAtPercentile(50) > 0);
+        assertTrue(latency.getValueAtPercentile(50) <= latency.getValueAtPercentile(99));
+        assertTrue(latency.getValueAtPercentile(99) <= latency.getMax());
+        assertEquals(0, server.getLatencies().get("/courses").getCount());
+
+        String metrics = body("/metrics");
+        assertTrue(metrics.contains("\"/recommendCourses\":{\"count\":" + CLIENTS + ",\"meanMicros\":"), metrics);
+    }
+
+    private String body(String path) throws Exception {
+        HttpResponse<String> response = get(path);
+        assertEquals(200, response.statusCode(), response.body());
+        return response.body();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    private static String object(String expected) {
+        return Arrays.stream(expected.split("\n"))
+                .map(line -> line.split(" == "))
+                .map(entry -> string(entry[0]) + ":" + entry[1])
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static String array(String expected) {
+        return Arrays.stream(expected.split("\n"))
+                .map(CourseQueryServerTest::string)
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String string(String s) {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
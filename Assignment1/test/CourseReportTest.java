@@ -0,0 +1,61 @@
+package test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import src.CourseReport;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the streaming report answers Q1, Q2 and Q6 as the analyzer
+ * does, whatever the batch size.
+ */
+public class CourseReportTest {
+    private static final int SCALE = 50;
+    private static Path dataset;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        dataset = Datasets.scaledLocalCsv(SCALE);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        Files.deleteIfExists(dataset);
+    }
+
+    @Test
+    void testLocalAnswers() throws IOException {
+        for (int batchSize : new int[]{1, 7, 100, CourseReport.DEFAULT_BATCH_SIZE}) {
+            CourseReport report = CourseReport.read("resources/local.csv", batchSize);
+            assertEquals(288, report.getRows());
+            assertEquals(Answers.expected("Q1.txt"), Answers.mapToString(report.getPtcpCountByInst()));
+            assertEquals(Answers.expected("Q2.txt"), Answers.mapToString(report.getPtcpCountByInstAndSubject()));
+            assertEquals(Answers.expected("Q6_1.txt"), Answers.listToString(report.recommendCourses(25, 1, 1)));
+            assertEquals(Answers.expected("Q6_2.txt"), Answers.listToString(report.recommendCourses(30, 0, 1)));
+            assertEquals(Answers.expected("Q6_3.txt"), Answers.listToString(report.recommendCourses(35, 1, 0)));
+        }
+    }
+
+    @Test
+    void testMatchesAnalyzer() throws IOException {
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        CourseReport report = CourseReport.read(dataset.toString(), 1000);
+        assertEquals(analyzer.getTable().size(), report.getRows());
+        assertEquals(Answers.mapToString(analyzer.getPtcpCountByInst()), Answers.mapToString(report.getPtcpCountByInst()));
+        assertEquals(Answers.mapToString(analyzer.getPtcpCountByInstAndSubject()),
+                Answers.mapToString(report.getPtcpCountByInstAndSubject()));
+        for (int age = 18; age <= 60; age += 7) {
+            assertEquals(analyzer.recommendCourses(age, age % 2, 1), report.recommendCourses(age, age % 2, 1));
+            assertEquals(analyzer.recommendCourses(age, 1 - age % 2, 0), report.recommendCourses(age, 1 - age % 2, 0));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> report.getPtcpCountByInst().clear());
+        assertThrows(IllegalArgumentException.class, () -> CourseReport.read(dataset.toString(), 0));
+    }
+}
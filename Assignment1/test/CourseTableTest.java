@@ -0,0 +1,79 @@
+package test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the columnar table against the CSV, and that repeated text values
+ * are stored once in the dictionaries of their columns.
+ */
+public class CourseTableTest {
+    private static final int SCALE = 200;
+    private static Path dataset;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        dataset = Datasets.scaledLocalCsv(SCALE);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        Files.deleteIfExists(dataset);
+    }
+
+    @Test
+    void testTableMatchesCsv() {
+        CourseTable table = new OnlineCoursesAnalyzer("resources/local.csv").getTable();
+        assertEquals(288, table.size());
+        assertEquals("MITx", table.getText(TextColumn.INSTITUTION, 0));
+        assertEquals("6.002x", table.getText(TextColumn.NUMBER, 0));
+        assertEquals("Science, Technology, Engineering, and Mathematics", table.getText(TextColumn.SUBJECT, 0));
+        assertEquals("Eric Grimson, John Guttag, Chris Terman", table.getText(TextColumn.INSTRUCTORS, 1));
+        assertEquals(36105, table.getInt(IntColumn.PARTICIPANTS, 0));
+        assertEquals(15.04, table.getDouble(DoubleColumn.PERCENT_AUDITED, 0));
+        assertEquals(60.68, table.getDouble(DoubleColumn.PERCENT_DEGREE, 0));
+        assertEquals(LocalDate.of(2012, 9, 5).toEpochDay(), table.getInt(IntColumn.LAUNCH_DAY, 0));
+        assertEquals(table.getId(TextColumn.INSTITUTION, 0), table.getId(TextColumn.INSTITUTION, 1));
+        assertEquals(table.dictionary(TextColumn.INSTITUTION).find("MITx"), table.getId(TextColumn.INSTITUTION, 0));
+        assertEquals(-1, table.dictionary(TextColumn.INSTITUTION).find("nowhere"));
+    }
+
+    @Test
+    void testRepeatedValuesShareDictionaries() {
+        CourseTable local = new OnlineCoursesAnalyzer("resources/local.csv").getTable();
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        CourseTable table = analyzer.getTable();
+        assertEquals(SCALE * local.size(), table.size());
+        for (TextColumn column : TextColumn.values()) {
+            // every copy of local.csv adds rows but no values
+            assertEquals(local.dictionary(column).size(), table.dictionary(column).size(), column.toString());
+            for (int row = 0; row < table.size(); row++) {
+                int localRow = row % local.size();
+                assertEquals(local.getText(column, localRow), table.getText(column, row), column + " " + row);
+                assertEquals(table.getId(column, localRow), table.getId(column, row), column + " " + row);
+                assertSame(table.getText(column, localRow), table.getText(column, row), column + " " + row);
+            }
+        }
+        Map<String, Integer> fromRows = new HashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            fromRows.merge(table.getText(TextColumn.INSTITUTION, row), table.getInt(IntColumn.PARTICIPANTS, row),
+                    Integer::sum);
+        }
+        assertEquals(fromRows, new HashMap<>(analyzer.getPtcpCountByInst()));
+    }
+}
@@ -0,0 +1,152 @@
+package test;
+
+import src.OnlineCoursesAnalyzer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Datasets for the tests. Paths are relative to the Assignment1 directory.
+ * The temporary files written by {@link #csv} and {@link #tempFile} are
+ * deleted by {@link #deleteTempFiles}, which test classes call after each
+ * test.
+ */
+final class Datasets {
+    private static final List<Path> TEMP_FILES = Collections.synchronizedList(new ArrayList<>());
+
+    private Datasets() {
+    }
+
+    /**
+     * Reads the lines of {@code resources/local.csv}, the header first.
+     *
+     * @return the lines
+     * @throws IOException the io exception
+     */
+    static List<String> localLines() throws IOException {
+        return Files.readAllLines(Paths.get("resources", "local.csv"), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the header {@code lines.get(0)} and the lines in {@code [from, to)}
+     * to a temporary CSV file.
+     *
+     * @param lines the lines, the header first
+     * @param from  the first line
+     * @param to    the end line
+     * @return the path of the temporary file
+     * @throws IOException the io exception
+     */
+    static Path csv(List<String> lines, int from, int to) throws IOException {
+        List<String> part = new ArrayList<>(List.of(lines.get(0)));
+        part.addAll(lines.subList(from, to));
+        return csv(part);
+    }
+
+    /**
+     * Writes lines to a temporary CSV file.
+     *
+     * @param lines the lines, the header first
+     * @return the path of the temporary file
+     * @throws IOException the io exception
+     */
+    static Path csv(List<String> lines) throws IOException {
+        Path file = tempFile("courses", ".csv");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    /**
+     * Creates an empty temporary file.
+     *
+     * @param prefix the prefix
+     * @param suffix the suffix
+     * @return the path of the temporary file
+     * @throws IOException the io exception
+     */
+    static Path tempFile(String prefix, String suffix) throws IOException {
+        return track(Files.createTempFile(prefix, suffix));
+    }
+
+    /**
+     * Marks a file for deletion by {@link #deleteTempFiles}.
+     *
+     * @param file the file
+     * @return the file
+     */
+    static Path track(Path file) {
+        TEMP_FILES.add(file);
+        return file;
+    }
+
+    /**
+     * Deletes the temporary files written so far.
+     *
+     * @throws IOException the io exception
+     */
+    static void deleteTempFiles() throws IOException {
+        synchronized (TEMP_FILES) {
+            for (Path file : TEMP_FILES) {
+                Files.deleteIfExists(file);
+            }
+            TEMP_FILES.clear();
+        }
+    }
+
+    /**
+     * Gets the answers of an analyzer to a spread of Q1-Q6 arguments, to
+     * compare analyzers that should hold the same courses.
+     *
+     * @param analyzer the analyzer
+     * @return the answers
+     */
+    static List<Object> answers(OnlineCoursesAnalyzer analyzer) {
+        List<Object> answers = new ArrayList<>();
+        answers.add(new ArrayList<>(analyzer.getPtcpCountByInst().entrySet()));
+        answers.add(new ArrayList<>(analyzer.getPtcpCountByInstAndSubject().entrySet()));
+        answers.add(analyzer.getCourseListOfInstructor());
+        for (String by : new String[]{"hours", "participants", "percentAudited", "medianAge"}) {
+            answers.add(analyzer.getCourses(15, by));
+        }
+        answers.add(analyzer.getCoursesBetween("totalHours", 10, 100));
+        answers.add(analyzer.searchCourses("computer", 20.0, 700));
+        answers.add(analyzer.searchCourses("SCIENCE", 25.0, 400));
+        answers.add(analyzer.searchCourses("hi", 0, 1000));
+        for (int age = 20; age <= 40; age += 5) {
+            answers.add(analyzer.recommendCourses(age, age % 2, 1));
+            answers.add(analyzer.recommendCourses(age, 1 - age % 2, 0));
+        }
+        return answers;
+    }
+
+    /**
+     * Writes {@code resources/local.csv} with its rows repeated {@code scale} times
+     * to a temporary file.
+     *
+     * @param scale the scale
+     * @return the path of the temporary file
+     * @throws IOException the io exception
+     */
+    static Path scaledLocalCsv(int scale) throws IOException {
+        List<String> lines = localLines();
+        Path dataset = Files.createTempFile("courses-x" + scale, ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(dataset, StandardCharsets.UTF_8)) {
+            writer.write(lines.get(0));
+            writer.newLine();
+            for (int i = 0; i < scale; i++) {
+                for (String line : lines.subList(1, lines.size())) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+        return dataset;
+    }
+}
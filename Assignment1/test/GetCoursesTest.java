@@ -0,0 +1,97 @@
+package test;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import src.CourseTable;
+import src.CourseTable.NumericColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the top-k ranking of {@code getCourses} against a stable sort of all rows.
+ */
+public class GetCoursesTest {
+    private static final String[] KEYS = {"hours", "participants", "certified", "audited", "percentAudited",
+            "medianHoursCertification", "year", "honorCode", "percentCertified50", "medianAge"};
+    private static OnlineCoursesAnalyzer analyzer;
+
+    @BeforeAll
+    static void setUp() {
+        analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+    }
+
+    @Test
+    void testMatchesStableSort() {
+        CourseTable table = analyzer.getTable();
+        for (String key : KEYS) {
+            NumericColumn column = CourseTable.numericColumn(key);
+            Integer[] rows = new Integer[table.size()];
+            Arrays.setAll(rows, row -> row);
+            Arrays.sort(rows, Comparator.comparingDouble((Integer row) -> column.value(table, row)).reversed());
+            for (int topK : new int[]{0, 1, 10, 15, 100, 1000}) {
+                List<String> expected = new ArrayList<>();
+                Set<String> seen = new HashSet<>();
+                for (int i = 0; i < rows.length && expected.size() < topK; i++) {
+                    String title = table.getText(TextColumn.TITLE, rows[i]);
+                    if (seen.add(title)) {
+                        expected.add(title);
+                    }
+                }
+                assertEquals(expected, analyzer.getCourses(topK, key), key + " top " + topK);
+            }
+        }
+    }
+
+    @Test
+    void testCoursesBetween() {
+        CourseTable table = analyzer.getTable();
+        for (String key : KEYS) {
+            NumericColumn column = CourseTable.numericColumn(key);
+            List<String> all = analyzer.getCourses(Integer.MAX_VALUE, key);
+            double min = column.value(table, 0);
+            double max = column.value(table, table.size() / 2);
+            if (min > max) {
+                double swap = min;
+                min = max;
+                max = swap;
+            }
+            Integer[] rows = new Integer[table.size()];
+            Arrays.setAll(rows, row -> row);
+            Arrays.sort(rows, Comparator.comparingDouble((Integer row) -> column.value(table, row)).reversed());
+            List<String> expected = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (Integer row : rows) {
+                double value = column.value(table, row);
+                if (value >= min && value <= max && seen.add(table.getText(TextColumn.TITLE, row))) {
+                    expected.add(table.getText(TextColumn.TITLE, row));
+                }
+            }
+            assertEquals(expected, analyzer.getCoursesBetween(key, min, max), key);
+            assertEquals(new HashSet<>(all), new HashSet<>(analyzer.getCoursesBetween(key,
+                    Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY)), key);
+        }
+    }
+
+    @Test
+    void testDoesNotReorderCourses() {
+        List<String> byParticipants = analyzer.getCourses(15, "participants");
+        analyzer.getCourses(10, "hours");
+        analyzer.getCourses(10, "certified");
+        assertEquals(byParticipants, analyzer.getCourses(15, "participants"));
+        assertEquals("MITx", analyzer.getTable().getText(TextColumn.INSTITUTION, 0));
+    }
+
+    @Test
+    void testUnknownKey() {
+        assertThrows(IllegalArgumentException.class, () -> analyzer.getCourses(10, "popularity"));
+    }
+}
@@ -0,0 +1,96 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import src.OnlineCoursesAnalyzer;
+import src.QueryMetrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that appending courses with {@code addCourses} answers Q1-Q6 as a
+ * full reload of the concatenated rows does, whether or not the indexes were
+ * built before the append.
+ */
+public class IncrementalIngestTest {
+    @AfterEach
+    void tearDown() throws IOException {
+        Datasets.deleteTempFiles();
+    }
+
+    @Test
+    void testAppendMatchesLocalAnswers() throws IOException {
+        List<String> lines = Datasets.localLines();
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(Datasets.csv(lines, 1, 150).toString());
+        Datasets.answers(analyzer);
+        assertEquals(100, analyzer.addCourses(Datasets.csv(lines, 150, 250).toString()));
+        Datasets.answers(analyzer);
+        assertEquals(lines.size() - 250, analyzer.addCourses(Datasets.csv(lines, 250, lines.size()).toString()));
+        Answers.assertLocalAnswers(analyzer);
+    }
+
+    @Test
+    void testAppendMatchesReload() throws IOException {
+        List<String> lines = new ArrayList<>(Datasets.localLines());
+        List<String> rows = lines.subList(1, lines.size());
+        List<String> reversed = new ArrayList<>(rows);
+        Collections.reverse(reversed);
+        List<String> scaled = new ArrayList<>(List.of(lines.get(0)));
+        scaled.addAll(rows);
+        scaled.addAll(reversed);
+        scaled.addAll(rows);
+        OnlineCoursesAnalyzer full = new OnlineCoursesAnalyzer(Datasets.csv(scaled, 1, scaled.size()).toString());
+        OnlineCoursesAnalyzer warm = new OnlineCoursesAnalyzer(Datasets.csv(scaled, 1, 100).toString());
+        OnlineCoursesAnalyzer cold = new OnlineCoursesAnalyzer(Datasets.csv(scaled, 1, 100).toString());
+        Datasets.answers(warm);
+        for (int from = 100; from < scaled.size(); from += 173) {
+            Path delta = Datasets.csv(scaled, from, Math.min(scaled.size(), from + 173));
+            warm.addCourses(delta.toString());
+            cold.addCourses(delta.toString());
+            Datasets.answers(warm);
+        }
+        assertEquals(Datasets.answers(full), Datasets.answers(warm));
+        assertEquals(Datasets.answers(full), Datasets.answers(cold));
+    }
+
+    @Test
+    void testAppendToSnapshot() throws IOException {
+        List<String> lines = Datasets.localLines();
+        Path snapshot = Datasets.tempFile("courses-base", ".snapshot");
+        new OnlineCoursesAnalyzer(Datasets.csv(lines, 1, 200).toString()).writeSnapshot(snapshot.toString());
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(snapshot.toString());
+        Datasets.answers(analyzer);
+        analyzer.addCourses(Datasets.csv(lines, 200, lines.size()).toString());
+        Answers.assertLocalAnswers(analyzer);
+    }
+
+    @Test
+    void testAppendReadsOnlyNewRows() throws IOException {
+        List<String> lines = Datasets.localLines();
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(Datasets.csv(lines, 1, 250).toString());
+        Datasets.answers(analyzer);
+        List<QueryMetrics> metrics = new ArrayList<>();
+        analyzer.setMetricsListener(metrics::add);
+        int added = analyzer.addCourses(Datasets.csv(lines, 250, lines.size()).toString());
+        analyzer.getPtcpCountByInst();
+        analyzer.getPtcpCountByInstAndSubject();
+        analyzer.getCourses(10, "hours");
+        analyzer.recommendCourses(25, 1, 1);
+        // the new rows are parsed once, then read once by each of the eight views built so far: four
+        // sorted indexes, the subject substring index, the instructor index, the participant sums
+        // and the course profiles
+        assertEquals("addCourses", metrics.get(0).getQuery());
+        assertEquals(9L * added, metrics.get(0).getRowsScanned());
+        assertEquals(5, metrics.size());
+        for (QueryMetrics m : metrics.subList(1, metrics.size())) {
+            assertEquals(0, m.getRowsScanned(), m.getQuery());
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import src.OnlineCoursesAnalyzer;
+import src.QueryMetrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the per-instructor lookup against the full instructor map, before
+ * and after courses are added.
+ */
+public class InstructorLookupTest {
+    @AfterEach
+    void tearDown() throws IOException {
+        Datasets.deleteTempFiles();
+    }
+
+    @Test
+    void testLookupMatchesFullMap() {
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+        assertLookupsMatch(analyzer);
+        assertEquals(List.of(List.of(), List.of()), analyzer.getCourseListOfInstructor("Nobody"));
+        assertEquals(List.of(List.of(), List.of()), analyzer.getCourseListOfInstructor(""));
+    }
+
+    @Test
+    void testLookupReadsNoRows() {
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+        List<QueryMetrics> metrics = new ArrayList<>();
+        analyzer.setMetricsListener(metrics::add);
+        List<List<String>> courses = analyzer.getCourseListOfInstructor("Anant Agarwal");
+        assertFalse(courses.get(0).isEmpty() && courses.get(1).isEmpty());
+        analyzer.getCourseListOfInstructor();
+        assertEquals(2, metrics.size());
+        for (QueryMetrics m : metrics) {
+            assertEquals("getCourseListOfInstructor", m.getQuery());
+            assertEquals(0, m.getRowsScanned());
+        }
+    }
+
+    @Test
+    void testLookupAfterAppend() throws IOException {
+        List<String> lines = Datasets.localLines();
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(Datasets.csv(lines, 1, 120).toString());
+        analyzer.setCacheCapacity(100_000);
+        Map<String, List<List<String>>> before = analyzer.getCourseListOfInstructor();
+        assertLookupsMatch(analyzer);
+        analyzer.addCourses(Datasets.csv(lines, 120, lines.size()).toString());
+        assertLookupsMatch(analyzer);
+        assertTrue(analyzer.getCourseListOfInstructor().size() > before.size());
+        assertEquals(new OnlineCoursesAnalyzer("resources/local.csv").getCourseListOfInstructor(),
+                analyzer.getCourseListOfInstructor());
+    }
+
+    @Test
+    void testAppendReadsOnlyNewRows() throws IOException {
+        List<String> lines = Datasets.localLines();
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(Datasets.csv(lines, 1, 120).toString());
+        int instructors = analyzer.getCourseListOfInstructor().size();
+        List<QueryMetrics> metrics = new ArrayList<>();
+        analyzer.setMetricsListener(metrics::add);
+        int added = analyzer.addCourses(Datasets.csv(lines, 120, lines.size()).toString());
+        int addedInstructors = analyzer.getCourseListOfInstructor().size() - instructors;
+        // the new rows are parsed, then read once by each view a load builds: the subject
+        // substring index and the instructor index, which gains a group per new instructor
+        assertEquals("addCourses", metrics.get(0).getQuery());
+        assertEquals(3L * added, metrics.get(0).getRowsScanned());
+        assertEquals(addedInstructors, metrics.get(0).getGroupsBuilt());
+        assertTrue(addedInstructors > 0);
+    }
+
+    private static void assertLookupsMatch(OnlineCoursesAnalyzer analyzer) {
+        Map<String, List<List<String>>> lists = analyzer.getCourseListOfInstructor();
+        assertFalse(lists.isEmpty());
+        lists.forEach((instructor, courses) -> {
+            assertEquals(courses, analyzer.getCourseListOfInstructor(instructor), instructor);
+            assertFalse(courses.get(0).isEmpty() && courses.get(1).isEmpty(), instructor);
+        });
+    }
+}
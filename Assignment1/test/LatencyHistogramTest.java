@@ -0,0 +1,42 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import src.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the percentiles of {@link LatencyHistogram} against the exact ones.
+ */
+public class LatencyHistogramTest {
+    @Test
+    void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean());
+    }
+
+    @Test
+    void testPercentilesWithinBucketError() {
+        Random random = new Random(209);
+        long[] values = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 25);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[values.length - 1], histogram.getMax());
+        for (double percentile : new double[]{0, 1, 25, 50, 90, 99, 99.9, 100}) {
+            long exact = values[Math.max(0, (int) Math.ceil(percentile / 100 * values.length) - 1)];
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact, percentile + ": " + reported + " < " + exact);
+            assertTrue(reported <= exact + exact / 16, percentile + ": " + reported + " > " + exact);
+        }
+    }
+}
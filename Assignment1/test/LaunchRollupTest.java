@@ -0,0 +1,133 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import src.CourseFilter;
+import src.CourseTable;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the launch days decoded by the parser against the lenient
+ * {@link Date} parser, and the launch range and rollup queries against a
+ * scan of the table, before and after courses are added.
+ */
+public class LaunchRollupTest {
+    @AfterEach
+    void tearDown() throws IOException {
+        Datasets.deleteTempFiles();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testLaunchDaysMatchDateParser() throws IOException {
+        List<String> lines = Datasets.localLines();
+        String[] dates = {"9/5/2012", "02/29/2016", "02/29/2013", "12/31/1969", "13/01/2014", "04/31/2014",
+                "1/1/0099", "2014/03/01", "March 4 2015"};
+        List<String> rows = new ArrayList<>(List.of(lines.get(0)));
+        for (String date : dates) {
+            rows.add(lines.get(1).replaceFirst("\\d\\d/\\d\\d/\\d{4}", date));
+        }
+        rows.addAll(lines.subList(1, lines.size()));
+        CourseTable table = new OnlineCoursesAnalyzer(Datasets.csv(rows).toString()).getTable();
+        for (int row = 0; row < table.size(); row++) {
+            String date = row < dates.length ? dates[row] : rows.get(row + 1).split(",")[2];
+            long expected = new Date(date).toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+            assertEquals(expected, table.getInt(IntColumn.LAUNCH_DAY, row), date);
+        }
+    }
+
+    @Test
+    void testLaunchedBetweenMatchesScan() throws IOException {
+        Path dataset = Datasets.track(Datasets.scaledLocalCsv(20));
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        CourseTable table = analyzer.getTable();
+        LocalDate[][] ranges = {
+                {LocalDate.of(2013, 1, 1), LocalDate.of(2014, 6, 30)},
+                {LocalDate.of(2012, 9, 5), LocalDate.of(2012, 9, 5)},
+                {LocalDate.of(2015, 2, 14), LocalDate.of(2016, 3, 1)},
+                {LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1)},
+                {LocalDate.MIN, LocalDate.MAX},
+                {LocalDate.of(2014, 6, 30), LocalDate.of(2013, 1, 1)},
+                {LocalDate.of(1990, 1, 1), LocalDate.of(1999, 12, 31)},
+        };
+        for (LocalDate[] range : ranges) {
+            assertEquals(titlesLaunchedBetween(table, range[0], range[1]),
+                    analyzer.getCoursesLaunchedBetween(range[0], range[1]), range[0] + ".." + range[1]);
+        }
+    }
+
+    @Test
+    void testRollupsAfterAppend() throws IOException {
+        List<String> lines = Datasets.localLines();
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(Datasets.csv(lines, 1, 150).toString());
+        analyzer.setCacheCapacity(100_000);
+        assertRollupsMatchScan(analyzer);
+        analyzer.addCourses(Datasets.csv(lines, 150, lines.size()).toString());
+        assertRollupsMatchScan(analyzer);
+        assertEquals(new OnlineCoursesAnalyzer("resources/local.csv").getPtcpCountByLaunchMonth(),
+                analyzer.getPtcpCountByLaunchMonth());
+        LocalDate from = LocalDate.of(2013, 1, 1);
+        LocalDate to = LocalDate.of(2014, 6, 30);
+        assertEquals(titlesLaunchedBetween(analyzer.getTable(), from, to),
+                analyzer.getCoursesLaunchedBetween(from, to));
+    }
+
+    @Test
+    void testEmptyDataset() throws IOException {
+        List<String> lines = Datasets.localLines();
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(Datasets.csv(lines, 1, 1).toString());
+        LocalDate from = LocalDate.of(2013, 1, 1);
+        LocalDate to = LocalDate.of(2014, 6, 30);
+        assertEquals(List.of(), analyzer.getCoursesLaunchedBetween(from, to));
+        assertEquals(List.of(), analyzer.findCourses(CourseFilter.launchedBetween(from, to)));
+        assertEquals(Map.of(), analyzer.getPtcpCountByLaunchMonth());
+        assertEquals(Map.of(), analyzer.getPtcpCountByLaunchYear());
+    }
+
+    private static void assertRollupsMatchScan(OnlineCoursesAnalyzer analyzer) {
+        CourseTable table = analyzer.getTable();
+        Map<YearMonth, Long> byMonth = new TreeMap<>();
+        Map<Integer, Long> byYear = new TreeMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            LocalDate launch = LocalDate.ofEpochDay(table.getInt(IntColumn.LAUNCH_DAY, row));
+            long participants = table.getInt(IntColumn.PARTICIPANTS, row);
+            byMonth.merge(YearMonth.from(launch), participants, Long::sum);
+            byYear.merge(launch.getYear(), participants, Long::sum);
+        }
+        assertEquals(List.copyOf(byMonth.entrySet()), List.copyOf(analyzer.getPtcpCountByLaunchMonth().entrySet()));
+        assertEquals(List.copyOf(byYear.entrySet()), List.copyOf(analyzer.getPtcpCountByLaunchYear().entrySet()));
+    }
+
+    private static List<String> titlesLaunchedBetween(CourseTable table, LocalDate from, LocalDate to) {
+        List<long[]> launches = new ArrayList<>();
+        for (int row = 0; row < table.size(); row++) {
+            long day = table.getInt(IntColumn.LAUNCH_DAY, row);
+            if (day >= from.toEpochDay() && day <= to.toEpochDay()) {
+                launches.add(new long[]{day, row});
+            }
+        }
+        launches.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        Set<String> titles = new LinkedHashSet<>();
+        for (long[] launch : launches) {
+            titles.add(table.getText(TextColumn.TITLE, (int) launch[1]));
+        }
+        return new ArrayList<>(titles);
+    }
+}
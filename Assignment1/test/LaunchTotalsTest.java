@@ -0,0 +1,132 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import src.CourseTable;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.LaunchTotals;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the launch rollups against sums over the rows of the table, for
+ * every drill-down, before and after courses are added.
+ */
+public class LaunchTotalsTest {
+    @AfterEach
+    void tearDown() throws IOException {
+        Datasets.deleteTempFiles();
+    }
+
+    @Test
+    void testRollupsMatchScan() throws IOException {
+        Path dataset = Datasets.track(Datasets.scaledLocalCsv(100));
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+        assertRollupsMatchScan(analyzer);
+        assertTrue(analyzer.getLaunchTotalsByMonth("Nobody", null).isEmpty());
+        assertTrue(analyzer.getLaunchTotalsByYear(null, "Nothing").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> analyzer.getLaunchTotalsBy(TextColumn.TITLE,
+                YearMonth.of(2012, 1), YearMonth.of(2016, 12)));
+    }
+
+    @Test
+    void testRollupsAfterAppend() throws IOException {
+        List<String> lines = Datasets.localLines();
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(Datasets.csv(lines, 1, 100).toString());
+        analyzer.setCacheCapacity(100_000);
+        assertRollupsMatchScan(analyzer);
+        analyzer.addCourses(Datasets.csv(lines, 100, lines.size()).toString());
+        assertRollupsMatchScan(analyzer);
+        OnlineCoursesAnalyzer whole = new OnlineCoursesAnalyzer("resources/local.csv");
+        assertEquals(whole.getLaunchTotalsByMonth(null, null), analyzer.getLaunchTotalsByMonth(null, null));
+        assertEquals(whole.getLaunchTotalsBy(TextColumn.SUBJECT, YearMonth.of(2013, 1), YearMonth.of(2014, 12)),
+                analyzer.getLaunchTotalsBy(TextColumn.SUBJECT, YearMonth.of(2013, 1), YearMonth.of(2014, 12)));
+    }
+
+    private static void assertRollupsMatchScan(OnlineCoursesAnalyzer analyzer) {
+        CourseTable table = analyzer.getTable();
+        List<String> institutions = values(table, TextColumn.INSTITUTION);
+        List<String> subjects = values(table, TextColumn.SUBJECT);
+        for (String institution : institutions) {
+            for (String subject : subjects) {
+                String label = institution + "/" + subject;
+                assertEquals(List.copyOf(scan(table, institution, subject, YearMonth::from).entrySet()),
+                        List.copyOf(analyzer.getLaunchTotalsByMonth(institution, subject).entrySet()), label);
+                assertEquals(List.copyOf(scan(table, institution, subject, LocalDate::getYear).entrySet()),
+                        List.copyOf(analyzer.getLaunchTotalsByYear(institution, subject).entrySet()), label);
+            }
+        }
+        YearMonth[][] ranges = {
+                {YearMonth.of(2012, 1), YearMonth.of(2016, 12)},
+                {YearMonth.of(2013, 7), YearMonth.of(2013, 7)},
+                {YearMonth.of(2014, 3), YearMonth.of(2015, 2)},
+                {YearMonth.of(2015, 1), YearMonth.of(2014, 1)},
+        };
+        for (YearMonth[] range : ranges) {
+            for (TextColumn dimension : List.of(TextColumn.INSTITUTION, TextColumn.SUBJECT)) {
+                assertEquals(List.copyOf(scanBy(table, dimension, range[0], range[1]).entrySet()),
+                        List.copyOf(analyzer.getLaunchTotalsBy(dimension, range[0], range[1]).entrySet()),
+                        dimension + " " + range[0] + ".." + range[1]);
+            }
+        }
+    }
+
+    private static List<String> values(CourseTable table, TextColumn column) {
+        List<String> values = new ArrayList<>();
+        for (int id = 0; id < table.dictionary(column).size(); id++) {
+            values.add(table.dictionary(column).get(id));
+        }
+        values.add(null);
+        return values;
+    }
+
+    private static <K extends Comparable<K>> Map<K, LaunchTotals> scan(CourseTable table, String institution,
+                                                                      String subject, Function<LocalDate, K> period) {
+        Map<K, long[]> sums = new TreeMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            if ((institution == null || institution.equals(table.getText(TextColumn.INSTITUTION, row)))
+                    && (subject == null || subject.equals(table.getText(TextColumn.SUBJECT, row)))) {
+                LocalDate launch = LocalDate.ofEpochDay(table.getInt(IntColumn.LAUNCH_DAY, row));
+                add(sums.computeIfAbsent(period.apply(launch), key -> new long[4]), table, row);
+            }
+        }
+        return toTotals(sums);
+    }
+
+    private static Map<String, LaunchTotals> scanBy(CourseTable table, TextColumn dimension,
+                                                    YearMonth from, YearMonth to) {
+        Map<String, long[]> sums = new TreeMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            YearMonth month = YearMonth.from(LocalDate.ofEpochDay(table.getInt(IntColumn.LAUNCH_DAY, row)));
+            if (!month.isBefore(from) && !month.isAfter(to)) {
+                add(sums.computeIfAbsent(table.getText(dimension, row), key -> new long[4]), table, row);
+            }
+        }
+        return toTotals(sums);
+    }
+
+    private static void add(long[] sums, CourseTable table, int row) {
+        sums[0]++;
+        sums[1] += table.getInt(IntColumn.PARTICIPANTS, row);
+        sums[2] += table.getInt(IntColumn.AUDITED, row);
+        sums[3] += table.getInt(IntColumn.CERTIFIED, row);
+    }
+
+    private static <K> Map<K, LaunchTotals> toTotals(Map<K, long[]> sums) {
+        Map<K, LaunchTotals> totals = new TreeMap<>();
+        sums.forEach((key, s) -> totals.put(key, new LaunchTotals(s[0], s[1], s[2], s[3])));
+        return totals;
+    }
+}
@@ -0,0 +1,82 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the memory-mapped parallel loader against the sequential one on a
+ * file of several chunks, with CRLF line breaks and quoted fields holding
+ * line breaks and quotes across every chunk boundary.
+ */
+public class MappedLoaderTest {
+    private static final int CHUNK = 1 << 20;
+    private static final int CHUNKS = 6;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Datasets.deleteTempFiles();
+    }
+
+    @Test
+    void testMatchesSequentialLoader() throws IOException {
+        List<String> lines = Datasets.localLines();
+        StringBuilder csv = new StringBuilder(lines.get(0)).append("\r\n");
+        int spanning = 0;
+        for (int row = 0; csv.length() < CHUNKS * CHUNK; row++) {
+            String line = lines.get(1 + row % (lines.size() - 1));
+            int boundary = (csv.length() / CHUNK + 1) * CHUNK;
+            if (boundary - csv.length() < 2 * line.length()) {
+                // a quoted institution of about 4 KB around the boundary, with line breaks and a quote on both sides
+                String padding = "x".repeat(2 * line.length());
+                csv.append("\"MIT\r\n\"\"").append(padding).append("\r\n").append(padding).append("\nx\"")
+                        .append(line, line.indexOf(','), line.length()).append("\r\n");
+                spanning++;
+            } else {
+                csv.append(line).append("\r\n");
+            }
+        }
+        Path dataset = Datasets.tempFile("courses-mapped", ".csv");
+        Files.writeString(dataset, csv, StandardCharsets.UTF_8);
+
+        CourseTable sequential = new OnlineCoursesAnalyzer(dataset.toString()).getTable();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        CourseTable mapped;
+        try {
+            mapped = new OnlineCoursesAnalyzer(dataset.toString(), pool).getTable();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(sequential.size(), mapped.size());
+        int quoted = 0;
+        for (int row = 0; row < sequential.size(); row++) {
+            for (TextColumn column : TextColumn.values()) {
+                assertEquals(sequential.getText(column, row), mapped.getText(column, row), column + " " + row);
+            }
+            for (IntColumn column : IntColumn.values()) {
+                assertEquals(sequential.getInt(column, row), mapped.getInt(column, row), column + " " + row);
+            }
+            for (DoubleColumn column : DoubleColumn.values()) {
+                assertEquals(sequential.getDouble(column, row), mapped.getDouble(column, row), column + " " + row);
+            }
+            if (mapped.getText(TextColumn.INSTITUTION, row).startsWith("\"MIT\r\n\"\"x")) {
+                quoted++;
+            }
+        }
+        assertEquals(CHUNKS, spanning);
+        assertEquals(spanning, quoted);
+    }
+}
@@ -0,0 +1,73 @@
+package test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the aggregation queries give the same output, in the same
+ * order, on a pool as on the calling thread.
+ */
+public class ParallelAggregationTest {
+    private static final int SCALE = 200;
+    private static Path dataset;
+    private static OnlineCoursesAnalyzer analyzer;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        dataset = Datasets.scaledLocalCsv(SCALE);
+        analyzer = new OnlineCoursesAnalyzer(dataset.toString());
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        Files.deleteIfExists(dataset);
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        List<?> byInst = entries(analyzer.getPtcpCountByInst());
+        List<?> byInstAndSubject = entries(analyzer.getPtcpCountByInstAndSubject());
+        Map<String, List<List<String>>> courseLists = analyzer.getCourseListOfInstructor();
+        for (int parallelism : new int[]{2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                // a new analyzer, whose instructor index and participant sums are built on the pool
+                OnlineCoursesAnalyzer pooled = new OnlineCoursesAnalyzer(dataset.toString(), pool);
+                pooled.setExecutionPool(pool);
+                assertEquals(byInst, entries(pooled.getPtcpCountByInst()));
+                assertEquals(byInstAndSubject, entries(pooled.getPtcpCountByInstAndSubject()));
+                assertEquals(courseLists, pooled.getCourseListOfInstructor());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void testParallelLocalAnswers() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            OnlineCoursesAnalyzer local = new OnlineCoursesAnalyzer("resources/local.csv");
+            local.setExecutionPool(pool);
+            Answers.assertLocalAnswers(local);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<?> entries(Map<String, Integer> map) {
+        return new ArrayList<>(map.entrySet());
+    }
+}
@@ -0,0 +1,141 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import src.CourseFilter;
+import src.OnlineCoursesAnalyzer;
+import src.QueryCacheStats;
+import src.QueryMetrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the result cache of the analyzer: hits and misses, unmodifiable
+ * results, LRU eviction by weight and invalidation when courses are added.
+ */
+public class QueryCacheTest {
+    @AfterEach
+    void tearDown() throws IOException {
+        Datasets.deleteTempFiles();
+    }
+
+    @Test
+    void testHitsServeLocalAnswers() {
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+        assertEquals(0, analyzer.getCacheStats().getMisses());
+        analyzer.setCacheCapacity(100_000);
+        Answers.assertLocalAnswers(analyzer);
+        QueryCacheStats first = analyzer.getCacheStats();
+        assertEquals(0, first.getHits());
+        assertEquals(10, first.getMisses());
+        assertEquals(10, first.getEntries());
+
+        List<QueryMetrics> metrics = new ArrayList<>();
+        analyzer.setMetricsListener(metrics::add);
+        Answers.assertLocalAnswers(analyzer);
+        QueryCacheStats second = analyzer.getCacheStats();
+        assertEquals(10, second.getHits());
+        assertEquals(10, second.getMisses());
+        assertEquals(0, second.getEvictions());
+        assertEquals(0.5, second.getHitRate());
+        assertEquals(10, metrics.size());
+        for (QueryMetrics m : metrics) {
+            assertEquals(0, m.getRowsScanned());
+        }
+        assertSame(analyzer.getPtcpCountByInst(), analyzer.getPtcpCountByInst());
+        assertSame(analyzer.findCourses(CourseFilter.institution("MITx")),
+                analyzer.findCourses(CourseFilter.institution("MITx")));
+        QueryCacheStats third = analyzer.getCacheStats();
+        assertEquals(13, third.getHits());
+        assertEquals(11, third.getMisses());
+    }
+
+    @Test
+    void testResultsAreUnmodifiable() {
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+        analyzer.setCacheCapacity(100_000);
+        Map<String, Integer> byInst = analyzer.getPtcpCountByInst();
+        assertThrows(UnsupportedOperationException.class, () -> byInst.put("x", 1));
+        Map<String, List<List<String>>> lists = analyzer.getCourseListOfInstructor();
+        List<List<String>> courses = lists.values().iterator().next();
+        assertThrows(UnsupportedOperationException.class, () -> courses.get(0).add("x"));
+        assertThrows(UnsupportedOperationException.class, () -> courses.set(0, List.of()));
+        List<String> top = analyzer.getCourses(10, "hours");
+        assertThrows(UnsupportedOperationException.class, () -> top.remove(0));
+        assertThrows(UnsupportedOperationException.class,
+                () -> analyzer.recommendCourses(25, 1, 1).clear());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+        analyzer.setCacheCapacity(25);
+        analyzer.getCourses(10, "hours");
+        analyzer.getCourses(10, "participants");
+        analyzer.getCourses(10, "hours");
+        analyzer.getCourses(10, "certified");
+        QueryCacheStats stats = analyzer.getCacheStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(2, stats.getEntries());
+        assertEquals(22, stats.getWeight());
+        analyzer.getCourses(10, "hours");
+        assertEquals(2, analyzer.getCacheStats().getHits());
+        analyzer.getCourses(10, "participants");
+        assertEquals(2, analyzer.getCacheStats().getHits());
+
+        analyzer.getCourses(100, "hours");
+        assertTrue(analyzer.getCacheStats().getWeight() <= 25);
+        analyzer.setCacheCapacity(0);
+        assertEquals(0, analyzer.getCacheStats().getEntries());
+    }
+
+    @Test
+    void testManyEntries() {
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+        int capacity = 20_000;
+        int puts = 100_000;
+        analyzer.setCacheCapacity(capacity);
+        List<String> hot = analyzer.getCourses(10, "hours");
+        for (int i = 0; i < puts; i++) {
+            // a range no course falls in: a result of weight 1 under a new key
+            assertEquals(List.of(), analyzer.getCoursesBetween("totalHours", -1 - i, -1 - i));
+            if (i % 100 == 0) {
+                assertSame(hot, analyzer.getCourses(10, "hours"));
+            }
+        }
+        QueryCacheStats stats = analyzer.getCacheStats();
+        assertEquals(puts / 100, stats.getHits());
+        assertEquals(puts + 1, stats.getMisses());
+        assertTrue(stats.getWeight() <= capacity);
+        assertEquals(capacity - hot.size(), stats.getEntries());
+        assertEquals(puts + 1 - stats.getEntries(), stats.getEvictions());
+    }
+
+    @Test
+    void testAddCoursesInvalidates() throws IOException {
+        List<String> lines = Datasets.localLines();
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(Datasets.csv(lines, 1, 150).toString());
+        analyzer.setCacheCapacity(100_000);
+        analyzer.getPtcpCountByInst();
+        analyzer.getCourseListOfInstructor();
+        analyzer.getCourses(10, "hours");
+        analyzer.searchCourses("computer", 20.0, 700);
+        analyzer.recommendCourses(25, 1, 1);
+        int entries = analyzer.getCacheStats().getEntries();
+        assertEquals(5, entries);
+        analyzer.addCourses(Datasets.csv(lines, 150, lines.size()).toString());
+        QueryCacheStats stats = analyzer.getCacheStats();
+        assertEquals(entries, stats.getInvalidations());
+        assertEquals(0, stats.getEntries());
+        assertEquals(0, stats.getWeight());
+        Answers.assertLocalAnswers(analyzer);
+        Answers.assertLocalAnswers(analyzer);
+        assertEquals(10, analyzer.getCacheStats().getHits() - stats.getHits());
+    }
+}
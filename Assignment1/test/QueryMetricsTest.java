@@ -0,0 +1,99 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+import src.QueryMetrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the metrics reported to a {@code QueryMetricsListener} and that the
+ * queries write nothing to standard output.
+ */
+public class QueryMetricsTest {
+    @Test
+    void testMetricsPerQuery() {
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+        int rows = analyzer.getTable().size();
+        List<QueryMetrics> metrics = new ArrayList<>();
+        analyzer.setMetricsListener(metrics::add);
+
+        analyzer.recommendCourses(25, 1, 1);
+        analyzer.recommendCourses(30, 0, 1);
+        assertEquals(2, metrics.size());
+        QueryMetrics first = metrics.get(0);
+        QueryMetrics second = metrics.get(1);
+        assertEquals("recommendCourses", first.getQuery());
+        assertEquals(rows, first.getRowsScanned());
+        assertTrue(first.getGroupsBuilt() > 0);
+        assertEquals(0, second.getRowsScanned());
+        assertEquals(0, second.getGroupsBuilt());
+        for (QueryMetrics m : metrics) {
+            assertTrue(m.getScoringNanos() >= 0 && m.getSortNanos() >= 0);
+            assertTrue(m.getTotalNanos() >= m.getScoringNanos() + m.getSortNanos());
+        }
+
+        metrics.clear();
+        analyzer.getPtcpCountByInst();
+        analyzer.getPtcpCountByInstAndSubject();
+        analyzer.getCourseListOfInstructor();
+        analyzer.getCourses(10, "hours");
+        analyzer.searchCourses("computer", 20.0, 700);
+        analyzer.recommendCoursesBatch(new int[]{25}, new int[]{1}, new int[]{1});
+        assertEquals(List.of("getPtcpCountByInst", "getPtcpCountByInstAndSubject", "getCourseListOfInstructor",
+                "getCourses", "searchCourses", "recommendCoursesBatch"), metrics.stream().map(QueryMetrics::getQuery).toList());
+        // the first query sums the participants by institution and subject, which the second reads
+        assertEquals(rows, metrics.get(0).getRowsScanned());
+        assertEquals(2 + metrics.get(1).getGroupsBuilt(), metrics.get(0).getGroupsBuilt());
+        assertEquals(0, metrics.get(1).getRowsScanned());
+        assertEquals(rows, metrics.get(3).getRowsScanned());
+
+        metrics.clear();
+        analyzer.setMetricsListener(null);
+        analyzer.recommendCourses(35, 1, 0);
+        assertTrue(metrics.isEmpty());
+    }
+
+    @Test
+    void testFailedQueryIsReported() {
+        OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+        int rows = analyzer.getTable().size();
+        List<QueryMetrics> metrics = new ArrayList<>();
+        analyzer.setMetricsListener(metrics::add);
+        YearMonth from = YearMonth.of(2012, 1);
+        YearMonth to = YearMonth.of(2016, 12);
+        assertThrows(IllegalArgumentException.class, () -> analyzer.getLaunchTotalsBy(TextColumn.TITLE, from, to));
+        analyzer.getLaunchTotalsBy(TextColumn.SUBJECT, from, to);
+        analyzer.getCourses(10, "hours");
+        assertEquals(List.of("getLaunchTotalsBy", "getLaunchTotalsBy", "getCourses"),
+                metrics.stream().map(QueryMetrics::getQuery).toList());
+        // the failed query built the rollup cube before it threw
+        assertEquals(rows, metrics.get(0).getRowsScanned());
+        assertEquals(0, metrics.get(1).getRowsScanned());
+        assertEquals(rows, metrics.get(2).getRowsScanned());
+    }
+
+    @Test
+    void testQueriesDoNotPrint() {
+        PrintStream out = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+            analyzer.recommendCourses(25, 1, 1);
+            analyzer.recommendCoursesBatch(new int[]{30}, new int[]{0}, new int[]{1});
+            analyzer.searchCourses("SCIENCE", 25.0, 400);
+        } finally {
+            System.setOut(out);
+        }
+        assertEquals("", captured.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,88 @@
+package test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@code recommendCourses} against regrouping the rows by number and
+ * sorting every group, as the analyzer used to.
+ */
+public class RecommendCoursesTest {
+    private static Path dataset;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        dataset = Datasets.scaledLocalCsv(3);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        Files.deleteIfExists(dataset);
+    }
+
+    @Test
+    void testMatchesRegrouping() {
+        for (String path : new String[]{"resources/local.csv", dataset.toString()}) {
+            OnlineCoursesAnalyzer analyzer = new OnlineCoursesAnalyzer(path);
+            for (int age = 0; age <= 90; age += 3) {
+                for (int gender = 0; gender <= 1; gender++) {
+                    for (int degree = 0; degree <= 1; degree++) {
+                        assertEquals(regroup(analyzer.getTable(), age, gender, degree),
+                                analyzer.recommendCourses(age, gender, degree), age + " " + gender + " " + degree);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<String> regroup(CourseTable table, int age, int gender, int degree) {
+        Map<String, double[]> groups = new LinkedHashMap<>();
+        Map<String, String> titles = new LinkedHashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            String number = table.getText(TextColumn.NUMBER, row);
+            // count, launch day, median age, male, degree
+            double[] group = groups.computeIfAbsent(number, key -> new double[5]);
+            int launchDay = table.getInt(IntColumn.LAUNCH_DAY, row);
+            if (group[0] == 0 || launchDay > group[1]) {
+                group[1] = launchDay;
+                titles.put(number, table.getText(TextColumn.TITLE, row));
+            }
+            group[2] = (group[2] * group[0] + table.getDouble(DoubleColumn.MEDIAN_AGE, row)) / (group[0] + 1);
+            group[3] = (group[3] * group[0] + table.getDouble(DoubleColumn.PERCENT_MALE, row)) / (group[0] + 1);
+            group[4] = (group[4] * group[0] + table.getDouble(DoubleColumn.PERCENT_DEGREE, row)) / (group[0] + 1);
+            group[0]++;
+        }
+        List<Map.Entry<String, Double>> scored = new ArrayList<>();
+        groups.forEach((number, group) -> scored.add(Map.entry(titles.get(number),
+                Math.pow((double) age - group[2], 2) + Math.pow(gender * 100 - group[3], 2)
+                        + Math.pow(degree * 100 - group[4], 2))));
+        scored.sort(Map.Entry.<String, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())));
+        List<String> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < scored.size() && result.size() < 10; i++) {
+            if (seen.add(scored.get(i).getKey())) {
+                result.add(scored.get(i).getKey());
+            }
+        }
+        return result;
+    }
+}
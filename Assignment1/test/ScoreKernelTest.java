@@ -0,0 +1,56 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import src.ScoreKernel;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the vector score kernel, when the JVM has its module, gives
+ * the same scores as the scalar kernel and as the {@code Math.pow} formula
+ * {@code recommendCourses} started from.
+ */
+public class ScoreKernelTest {
+    @Test
+    void testKernelsMatchPowFormula() {
+        Random random = new Random(7);
+        for (int courses : new int[]{0, 1, 3, 8, 17, 290, 1003}) {
+            double[] features = new double[3 * courses];
+            for (int course = 0; course < courses; course++) {
+                features[course] = 15 + random.nextDouble() * 40;
+                features[courses + course] = random.nextDouble() * 100;
+                features[2 * courses + course] = random.nextDouble() * 100;
+            }
+            for (int age = 0; age <= 90; age += 9) {
+                for (int gender = 0; gender <= 1; gender++) {
+                    for (int degree = 0; degree <= 1; degree++) {
+                        double[] expected = new double[courses];
+                        for (int course = 0; course < courses; course++) {
+                            expected[course] = Math.pow((double) age - features[course], 2)
+                                    + Math.pow(gender * 100 - features[courses + course], 2)
+                                    + Math.pow(degree * 100 - features[2 * courses + course], 2);
+                        }
+                        assertArrayEquals(expected, score(ScoreKernel.scalar(), features, courses, age, gender, degree));
+                        assertArrayEquals(expected, score(ScoreKernel.preferred(), features, courses, age, gender, degree));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testVectorKernelFollowsModule() {
+        boolean hasModule = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        boolean compiled = ScoreKernel.class.getClassLoader().getResource("src/VectorScoreKernel.class") != null;
+        assertEquals(hasModule && compiled, ScoreKernel.vector().isPresent());
+        assertSame(ScoreKernel.vector().orElse(ScoreKernel.scalar()), ScoreKernel.preferred());
+    }
+
+    private static double[] score(ScoreKernel kernel, double[] features, int courses, int age, int gender, int degree) {
+        double[] scores = new double[courses];
+        kernel.score(features, courses, age, gender * 100, degree * 100, scores);
+        return scores;
+    }
+}
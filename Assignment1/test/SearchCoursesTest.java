@@ -0,0 +1,58 @@
+package test;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the indexed subject search of {@code searchCourses} against
+ * lowercasing and scanning every subject.
+ */
+public class SearchCoursesTest {
+    private static final String[] QUERIES = {"computer", "SCIENCE", "Science, Technology", "sci", "Sc", "s", "",
+            "humanities", "HISTORY, RELIGION", "and", ", ", "ence", "mathematics", "engineering", "xyz", "scienc e",
+            "gOvErNmEnT"};
+    private static OnlineCoursesAnalyzer analyzer;
+
+    @BeforeAll
+    static void setUp() {
+        analyzer = new OnlineCoursesAnalyzer("resources/local.csv");
+    }
+
+    @Test
+    void testMatchesScan() {
+        CourseTable table = analyzer.getTable();
+        for (String query : QUERIES) {
+            for (double percentAudited : new double[]{0, 20.0, 25.0, 50.0}) {
+                for (double totalHours : new double[]{0, 100, 400, 700, Double.POSITIVE_INFINITY}) {
+                    Set<String> expected = new TreeSet<>();
+                    for (int row = 0; row < table.size(); row++) {
+                        if (table.getText(TextColumn.SUBJECT, row).toLowerCase().contains(query.toLowerCase())
+                                && table.getDouble(DoubleColumn.PERCENT_AUDITED, row) >= percentAudited
+                                && table.getDouble(DoubleColumn.TOTAL_HOURS, row) <= totalHours) {
+                            expected.add(table.getText(TextColumn.TITLE, row));
+                        }
+                    }
+                    assertEquals(List.copyOf(expected), analyzer.searchCourses(query, percentAudited, totalHours),
+                            query + " " + percentAudited + " " + totalHours);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLocalAnswers() {
+        assertEquals(Answers.expected("Q5_1.txt"), Answers.listToString(analyzer.searchCourses("computer", 20.0, 700)));
+        assertEquals(Answers.expected("Q5_2.txt"), Answers.listToString(analyzer.searchCourses("SCIENCE", 25.0, 400)));
+        assertTrue(analyzer.searchCourses("no such subject", 0, Double.POSITIVE_INFINITY).isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+package test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import src.CourseTable;
+import src.CourseTable.DoubleColumn;
+import src.CourseTable.IntColumn;
+import src.CourseTable.TextColumn;
+import src.OnlineCoursesAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trips {@code resources/local.csv} through a binary snapshot.
+ */
+public class SnapshotTest {
+    private static Path snapshot;
+    private static OnlineCoursesAnalyzer fromCsv;
+    private static OnlineCoursesAnalyzer fromSnapshot;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        fromCsv = new OnlineCoursesAnalyzer("resources/local.csv");
+        snapshot = Files.createTempFile("courses", ".snapshot");
+        fromCsv.writeSnapshot(snapshot.toString());
+        fromSnapshot = new OnlineCoursesAnalyzer(snapshot.toString());
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Test
+    void testCellsSurviveRoundTrip() {
+        CourseTable expected = fromCsv.getTable();
+        CourseTable actual = fromSnapshot.getTable();
+        assertEquals(expected.size(), actual.size());
+        for (int row = 0; row < expected.size(); row++) {
+            for (TextColumn column : TextColumn.values()) {
+                assertEquals(expected.getText(column, row), actual.getText(column, row));
+            }
+            for (IntColumn column : IntColumn.values()) {
+                assertEquals(expected.getInt(column, row), actual.getInt(column, row));
+            }
+            for (DoubleColumn column : DoubleColumn.values()) {
+                assertEquals(expected.getDouble(column, row), actual.getDouble(column, row));
+            }
+        }
+    }
+
+    @Test
+    void testSnapshotAnswers() {
+        Answers.assertLocalAnswers(fromSnapshot);
+    }
+
+    @Test
+    void testSnapshotOfSnapshot() throws IOException {
+        Path copy = Files.createTempFile("courses-copy", ".snapshot");
+        try {
+            fromSnapshot.writeSnapshot(copy.toString());
+            assertEquals(Files.size(snapshot), Files.size(copy));
+            assertEquals(-1, Files.mismatch(snapshot, copy));
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package src;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A {@link ScoreKernel} that scores as many courses per step as the
+ * preferred double vector has lanes. It subtracts, multiplies and adds in
+ * the same order as the scalar loop and does not fuse multiply-adds, so
+ * the scores are identical. Only loaded through {@link ScoreKernels}.
+ * <p>
+ * This is the one class that needs {@code jdk.incubator.vector} to compile,
+ * so it has a source root of its own, compiled after {@code src} with
+ * {@code --add-modules jdk.incubator.vector}; without it the scalar kernel
+ * is used.
+ */
+final class VectorScoreKernel implements ScoreKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void score(double[] features, int courses, int from, int to,
+                      double age, double male, double degree, double[] scores) {
+        DoubleVector ages = DoubleVector.broadcast(SPECIES, age);
+        DoubleVector males = DoubleVector.broadcast(SPECIES, male);
+        DoubleVector degrees = DoubleVector.broadcast(SPECIES, degree);
+        int bound = from + SPECIES.loopBound(to - from);
+        int course = from;
+        for (; course < bound; course += SPECIES.length()) {
+            DoubleVector da = ages.sub(DoubleVector.fromArray(SPECIES, features, course));
+            DoubleVector dm = males.sub(DoubleVector.fromArray(SPECIES, features, courses + course));
+            DoubleVector dd = degrees.sub(DoubleVector.fromArray(SPECIES, features, 2 * courses + course));
+            da.mul(da).add(dm.mul(dm)).add(dd.mul(dd)).intoArray(scores, course);
+        }
+        ScoreKernels.scoreScalar(features, courses, course, to, age, male, degree, scores);
+    }
+}